@@ -0,0 +1,49 @@
+package com.github.jsonparser;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * The benchmark of the batch converter over many small documents, e.g. api payloads. A batch of documents is
+ * converted with a growing concurrency limit, so the scaling up to 10k concurrent conversions on one JVM can be
+ * read from the documents per second.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchConverterBenchmark {
+
+    @Param({"10000"})
+    public int documents;
+
+    @Param({"1", "8", "64", "1024", "10000"})
+    public int concurrency;
+
+    private List<String> payloads;
+    private BatchConverter batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        String payload = Datasets.generate(4, 2, 8, 2);
+        payloads = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) payloads.add(payload);
+        batch = BatchConverter.builder().maxConcurrency(concurrency).build();
+    }
+
+    /**
+     * @return Returns the results of a batch, the score times the documents is the documents per second.
+     */
+    @Benchmark
+    public List<BatchConverter.Result> convertAll() {
+        return batch.convertAll(payloads);
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.jsonparser;
+
+import java.util.Random;
+
+/**
+ * The generated json documents the benchmarks run over. A document is a top-level array of records, each
+ * record is a json object with a number of primitive members (width), a chain of nested objects (depth) and
+ * an array of nested records (array fan-out), which becomes one csv row per array element.
+ * The documents are generated from a fixed seed, so every run measures the same input.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class Datasets {
+
+    private static final long SEED = 42L;
+
+    private Datasets() {
+    }
+
+    /**
+     * This method generates the document of a representative shape. At scale 1 the shapes hold about the same
+     * number of primitive fields, 64k to 80k, so a shape is 1 to 2 MB of json and no shape dominates the run:
+     * flat - 10000 records of 8 fields,
+     * wide - 1000 records of 64 fields,
+     * nested - 2000 records of 8 fields in 4 nested objects,
+     * fanOut - 1000 records of 8 fields in 2 nested objects with an array of 8 nested records.
+     * The number of records is multiplied by the scale, e.g. 10 for 10 to 20 MB of json.
+     *
+     * @param shape - The name of the shape e.g. flat
+     * @param scale - The factor of the number of records, at least 1
+     * @return Returns the json document.
+     */
+    public static String generate(String shape, int scale) {
+        if (scale < 1) throw new IllegalArgumentException("The dataset scale must be at least 1.");
+        switch (shape) {
+            case "flat":
+                return generate(10000 * scale, 1, 8, 0);
+            case "wide":
+                return generate(1000 * scale, 1, 64, 0);
+            case "nested":
+                return generate(2000 * scale, 4, 8, 0);
+            case "fanOut":
+                return generate(1000 * scale, 2, 8, 8);
+            default:
+                throw new IllegalArgumentException("Unknown dataset shape " + shape);
+        }
+    }
+
+    /**
+     * @param records - The number of records in the top-level array
+     * @param depth   - The nesting depth of a record, at least 1
+     * @param width   - The number of primitive members of each json object
+     * @param fanOut  - The number of nested records in the array of each record
+     * @return Returns the json document.
+     */
+    public static String generate(int records, int depth, int width, int fanOut) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) json.append(',');
+            record(json, random, depth, width, fanOut);
+        }
+        return json.append(']').toString();
+    }
+
+    private static void record(StringBuilder json, Random random, int depth, int width, int fanOut) {
+        json.append('{');
+        for (int i = 0; i < width; i++) {
+            if (i > 0) json.append(',');
+            json.append("\"field").append(i).append("\":");
+            primitive(json, random, i);
+        }
+        if (depth > 1) {
+            json.append(",\"child\":");
+            record(json, random, depth - 1, width, 0);
+        }
+        if (fanOut > 0) {
+            json.append(",\"items\":[");
+            for (int i = 0; i < fanOut; i++) {
+                if (i > 0) json.append(',');
+                record(json, random, Math.max(1, depth - 1), width, 0);
+            }
+            json.append(']');
+        }
+        json.append('}');
+    }
+
+    private static void primitive(StringBuilder json, Random random, int column) {
+        switch (column % 5) {
+            case 0:
+                json.append("\"value ").append(random.nextInt(1000)).append('"');
+                break;
+            case 1:
+                json.append(random.nextInt());
+                break;
+            case 2:
+                json.append(random.nextInt(100000) / 100.0);
+                break;
+            case 3:
+                json.append(random.nextBoolean());
+                break;
+            default:
+                json.append(random.nextInt(4) == 0 ? "null" : "\"a, \\\"quoted\\\" value\"");
+                break;
+        }
+    }
+}
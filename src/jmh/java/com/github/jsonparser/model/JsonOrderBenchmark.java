@@ -0,0 +1,46 @@
+package com.github.jsonparser.model;
+
+import com.github.jsonparser.Datasets;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link JsonOrder#orderJson(JsonElement)}, which rebuilds each json record in order. The json
+ * reader visits the members in the same order without rebuilding them, that visit is measured by the buildCsv
+ * benchmark of the json reader.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonOrderBenchmark {
+
+    // The representative dataset shapes, see Datasets#generate(String, int).
+    @Param({"flat", "wide", "nested", "fanOut"})
+    public String shape;
+
+    // The factor of the number of records of a shape.
+    @Param({"1", "10"})
+    public int scale;
+
+    private JsonArray array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        array = com.google.gson.JsonParser.parseString(Datasets.generate(shape, scale)).getAsJsonArray();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public JsonElement orderJson() {
+        JsonElement last = null;
+        for (JsonElement ele : array) last = JsonOrder.orderJson(ele);
+        return last;
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.Datasets;
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.google.gson.JsonElement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * The benchmarks of the json reader hot paths: the header/column discovery, the row flattening and the whole
+ * json to csv conversion.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonReaderBenchmark {
+
+    // The representative dataset shapes, see Datasets#generate(String, int).
+    @Param({"flat", "wide", "nested", "fanOut"})
+    public String shape;
+
+    // The factor of the number of records of a shape.
+    @Param({"1", "10"})
+    public int scale;
+
+    private String json;
+    private JsonElement element;
+    private ColumnIndex columns;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LogManager.getLogManager().reset();
+        json = Datasets.generate(shape, scale);
+        element = com.google.gson.JsonParser.parseString(json);
+        columns = JsonReader.columns(json, null);
+    }
+
+    @Benchmark
+    public List<Object[]> headerDiscovery() {
+        return JsonReader.json2Header(json);
+    }
+
+    @Benchmark
+    public List<Object[]> buildCsv() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(columns.headers().toArray());
+        rows.add(JsonReader.buildCsv(new Object[columns.size()], element, columns.root(), RecordList.of(rows)));
+        return rows;
+    }
+
+    @Benchmark
+    public String parse2Csv() throws JsonParsingException {
+        return JsonParser.parse2Csv(json);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.jsonparser.writer;
+
+import com.github.jsonparser.Datasets;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.reader.JsonReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+
+/**
+ * The benchmarks of writing the csv records, to a writer and in UTF-8 to an output stream. The output is
+ * discarded, so only the csv encoding is measured.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvWriterBenchmark {
+
+    private static final Writer NULL_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static final OutputStream NULL_STREAM = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+        }
+    };
+
+    // The representative dataset shapes, see Datasets#generate(String, int).
+    @Param({"flat", "wide", "nested", "fanOut"})
+    public String shape;
+
+    // The factor of the number of records of a shape.
+    @Param({"1", "10"})
+    public int scale;
+
+    private List<Object[]> rows;
+
+    @Setup(Level.Trial)
+    public void setup() throws JsonParsingException {
+        LogManager.getLogManager().reset();
+        String json = Datasets.generate(shape, scale);
+        rows = JsonReader.parse(json, JsonReader.json2Sheet(json));
+    }
+
+    @Benchmark
+    public void write() throws JsonParsingException {
+        CsvWriter.write(rows, NULL_WRITER);
+    }
+
+    @Benchmark
+    public void writeUtf8() throws JsonParsingException {
+        CsvWriter.write(rows, NULL_STREAM, ",");
+    }
+}
@@ -0,0 +1,256 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.reader.RowSink;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An asynchronous conversion of json chunks to csv records, for callers which must not block e.g. the event
+ * loop of a reactive service. The json is offered chunk by chunk as it arrives and is converted incrementally
+ * on an executor thread, so a record is handed to the sink as soon as it is final instead of once the whole
+ * document is read, i.e. once the few records after it which could still drop it as a duplicate are parsed.
+ * Both sides are back-pressured:
+ * 1. {@link #offer(ByteBuffer)} accepts a chunk right away while the input buffer has room, or else returns a
+ * future which completes once the chunk is accepted, the next chunk is offered after it.
+ * 2. The records are only handed to the sink as they are requested with {@link #request(long)}, the converting
+ * thread waits for demand instead of buffering records.
+ * e.g.
+ * <pre>
+ * AsyncConversion conversion = converter.parseNdJson2CsvAsync(executor, row -&gt; ...);
+ * conversion.request(Long.MAX_VALUE);
+ * conversion.offer(chunk).thenRun(...);
+ * conversion.complete();
+ * conversion.completion().whenComplete(...);
+ * </pre>
+ * A conversion is meant for a single producer of chunks, the sink is called on the converting thread.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class AsyncConversion {
+
+    // The default number of chunks buffered before an offered chunk has to wait.
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final CompletableFuture<Void> ACCEPTED = CompletableFuture.completedFuture(null);
+
+    private final int capacity;
+    private final RowSink sink;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final Deque<byte[]> chunks = new ArrayDeque<>();
+    private byte[] pending;
+    private CompletableFuture<Void> pendingAccepted;
+    private boolean ended;
+    private long demand;
+    private boolean cancelled;
+
+    private AsyncConversion(int capacity, RowSink sink) {
+        this.capacity = capacity;
+        this.sink = sink;
+    }
+
+    /**
+     * The conversion of the json read from the offered chunks to csv records.
+     */
+    @FunctionalInterface
+    interface Stage {
+        void run(Reader reader, RowSink sink) throws IOException, JsonParsingException;
+    }
+
+    /**
+     * This method starts the conversion on the executor, it waits for the first chunk there.
+     *
+     * @param executor - The executor of the converting thread
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @param stage    - The conversion
+     * @return Returns the started conversion.
+     */
+    static AsyncConversion start(Executor executor, RowSink sink, Stage stage) {
+        AsyncConversion conversion = new AsyncConversion(DEFAULT_CAPACITY, sink);
+        executor.execute(() -> conversion.run(stage));
+        return conversion;
+    }
+
+    /**
+     * This method offers the next json chunk in UTF-8, the bytes of the buffer are copied.
+     *
+     * @param chunk - The json chunk, from its position to its limit
+     * @return Returns a future which completes once the chunk is accepted, the next chunk must not be offered before.
+     */
+    public CompletableFuture<Void> offer(ByteBuffer chunk) {
+        if (chunk == null) throw new IllegalArgumentException("The chunk must not be null.");
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.get(bytes);
+        synchronized (this) {
+            if (ended) throw new IllegalStateException("The input is already complete.");
+            if (pending != null) throw new IllegalStateException("The previous chunk is not accepted yet.");
+            if (cancelled || completion.isDone()) return ACCEPTED;
+            if (bytes.length == 0) return ACCEPTED;
+            if (chunks.size() < capacity) {
+                chunks.add(bytes);
+                notifyAll();
+                return ACCEPTED;
+            }
+            pending = bytes;
+            pendingAccepted = new CompletableFuture<>();
+            return pendingAccepted;
+        }
+    }
+
+    /**
+     * This method ends the input, the conversion completes once the offered chunks are converted.
+     */
+    public synchronized void complete() {
+        ended = true;
+        notifyAll();
+    }
+
+    /**
+     * This method adds demand for the next records, they are handed to the sink as they are parsed.
+     *
+     * @param n - The number of records including the header/column row, at least 1, Long.MAX_VALUE for no back-pressure
+     */
+    public synchronized void request(long n) {
+        if (n < 1) throw new IllegalArgumentException("The number of records must be at least 1.");
+        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        notifyAll();
+    }
+
+    /**
+     * This method stops the conversion, the completion is cancelled and no more records are handed to the sink.
+     */
+    public void cancel() {
+        completion.cancel(false);
+        CompletableFuture<Void> accepted;
+        synchronized (this) {
+            cancelled = true;
+            chunks.clear();
+            accepted = release();
+            notifyAll();
+        }
+        if (accepted != null) accepted.complete(null);
+    }
+
+    /**
+     * @return Returns the future which completes once all records are handed to the sink, or exceptionally with
+     * a {@link JsonParsingException} if the json can not be converted.
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    private void run(Stage stage) {
+        try {
+            stage.run(new InputStreamReader(new ChunkInput(), StandardCharsets.UTF_8), this::emit);
+            completion.complete(null);
+        } catch (JsonParsingException e) {
+            completion.completeExceptionally(e);
+        } catch (IOException | RuntimeException e) {
+            completion.completeExceptionally(failure(e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : e));
+        } finally {
+            // the chunks offered after a failure are accepted and dropped
+            CompletableFuture<Void> accepted;
+            synchronized (this) {
+                cancelled = true;
+                chunks.clear();
+                accepted = release();
+            }
+            if (accepted != null) accepted.complete(null);
+        }
+    }
+
+    private void emit(Object[] row) throws IOException {
+        synchronized (this) {
+            try {
+                while (demand == 0 && !cancelled) wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for demand.");
+            }
+            if (cancelled) throw new CancellationException();
+            if (demand != Long.MAX_VALUE) demand--;
+        }
+        sink.write(row);
+    }
+
+    /**
+     * @return Returns the future of the pending chunk to complete, null if there is none.
+     */
+    private CompletableFuture<Void> release() {
+        CompletableFuture<Void> accepted = pendingAccepted;
+        pending = null;
+        pendingAccepted = null;
+        return accepted;
+    }
+
+    private static JsonParsingException failure(Exception e) {
+        try {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        } catch (JsonParsingException parsing) {
+            return parsing;
+        }
+        return null;
+    }
+
+    /**
+     * The offered chunks as the input stream of the converting thread.
+     */
+    private final class ChunkInput extends InputStream {
+
+        private byte[] chunk;
+        private int position;
+
+        @Override
+        public int read() throws IOException {
+            return next() ? chunk[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!next()) return -1;
+            int count = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        private boolean next() throws IOException {
+            if (chunk != null && position < chunk.length) return true;
+            CompletableFuture<Void> accepted = null;
+            synchronized (AsyncConversion.this) {
+                try {
+                    while (chunks.isEmpty() && !ended && !cancelled) AsyncConversion.this.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for json chunks.");
+                }
+                if (cancelled) throw new CancellationException();
+                chunk = chunks.poll();
+                position = 0;
+                if (pending != null) {
+                    chunks.add(pending);
+                    accepted = release();
+                }
+            }
+            if (accepted != null) accepted.complete(null);
+            return chunk != null;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class converts many small json documents to csv concurrently, e.g. the payloads of api calls. Each
+ * document is converted as a task of its own on the executor, by default a new virtual thread per document where
+ * the JVM has them, or else the common fork-join pool. At most the concurrency limit of documents are converted
+ * at the same time, the other submitted documents wait in a queue without blocking the caller. The result or the
+ * error of each document is kept apart, so one malformed document does not fail the others.
+ * e.g.
+ * <pre>
+ * BatchConverter batch = BatchConverter.builder().maxConcurrency(256).build();
+ * List&lt;BatchConverter.Result&gt; results = batch.convertAll(payloads);
+ * CompletableFuture&lt;String&gt; csv = batch.submit(payload);
+ * </pre>
+ * The batch converter is thread safe and can be shared.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class BatchConverter {
+
+    // The default number of documents converted at the same time.
+    public static final int DEFAULT_MAX_CONCURRENCY = 1024;
+
+    private final JsonCsvConverter converter;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private BatchConverter(Builder builder) {
+        this.converter = builder.converter;
+        this.executor = builder.executor != null ? builder.executor : defaultExecutor();
+        this.maxConcurrency = builder.maxConcurrency;
+    }
+
+    /**
+     * @return Returns a new builder with the default converter, executor and concurrency limit.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * This method submits a json document, it is converted once a slot of the concurrency limit is free.
+     *
+     * @param json - The input json string
+     * @return Returns the future of the csv string, it completes exceptionally with the {@link JsonParsingException}
+     * of a document which can not be converted.
+     */
+    public CompletableFuture<String> submit(String json) {
+        Task task = new Task(json);
+        queue.add(task);
+        drain();
+        return task.csv;
+    }
+
+    /**
+     * This method converts the json documents and waits for all of them.
+     *
+     * @param jsons - The input json strings
+     * @return Returns the result of each document in the order of the documents.
+     */
+    public List<Result> convertAll(Collection<String> jsons) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(jsons.size());
+        for (String json : jsons) futures.add(submit(json));
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            results.add(future.handle((csv, e) -> new Result(csv, e == null ? null : error(e))).join());
+        }
+        return results;
+    }
+
+    /**
+     * @return Returns the number of documents being converted right now.
+     */
+    public int running() {
+        return running.get();
+    }
+
+    /**
+     * @return Returns the number of submitted documents waiting for a slot of the concurrency limit.
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    /**
+     * This method starts queued tasks while a slot of the concurrency limit is free.
+     */
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) return;
+            if (!running.compareAndSet(current, current + 1)) continue;
+            Task task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                running.decrementAndGet();
+                task.csv.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static JsonParsingException error(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof JsonParsingException) return (JsonParsingException) cause;
+        try {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, new Exception(cause));
+        } catch (JsonParsingException parsing) {
+            return parsing;
+        }
+        return null;
+    }
+
+    /**
+     * @return Returns the virtual thread per task executor of the JVM if it has one, or else the common pool.
+     */
+    private static Executor defaultExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) virtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    /**
+     * The conversion of a single document.
+     */
+    private final class Task implements Runnable {
+
+        private final String json;
+        private final CompletableFuture<String> csv = new CompletableFuture<>();
+
+        private Task(String json) {
+            this.json = json;
+        }
+
+        @Override
+        public void run() {
+            try {
+                csv.complete(converter.parse2Csv(json));
+            } catch (JsonParsingException | RuntimeException e) {
+                csv.completeExceptionally(error(e));
+            } finally {
+                running.decrementAndGet();
+                drain();
+            }
+        }
+    }
+
+    /**
+     * The result of a document converted with {@link #convertAll(Collection)}.
+     */
+    public static final class Result {
+
+        private final String csv;
+        private final JsonParsingException error;
+
+        private Result(String csv, JsonParsingException error) {
+            this.csv = csv;
+            this.error = error;
+        }
+
+        /**
+         * @return Returns true if the document is converted.
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * @return Returns the csv string, null if the document can not be converted.
+         */
+        public String csv() {
+            return csv;
+        }
+
+        /**
+         * @return Returns the error of a document which can not be converted, null if it is converted.
+         */
+        public JsonParsingException error() {
+            return error;
+        }
+    }
+
+    /**
+     * The builder of a {@link BatchConverter}.
+     */
+    public static final class Builder {
+
+        private JsonCsvConverter converter = JsonCsvConverter.getDefault();
+        private Executor executor;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+        private Builder() {
+        }
+
+        /**
+         * @param converter - The converter of each document, null for the default converter
+         * @return Returns this builder.
+         */
+        public Builder converter(JsonCsvConverter converter) {
+            this.converter = converter == null ? JsonCsvConverter.getDefault() : converter;
+            return this;
+        }
+
+        /**
+         * The executor of the document conversions, null for the default which starts a virtual thread per
+         * document where the JVM has them, or else uses the common fork-join pool.
+         *
+         * @param executor - The executor e.g. Executors.newFixedThreadPool(8)
+         * @return Returns this builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrency - The number of documents converted at the same time, at least 1
+         * @return Returns this builder.
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) throw new IllegalArgumentException("The concurrency limit must be at least 1.");
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @return Returns the batch converter.
+         */
+        public BatchConverter build() {
+            return new BatchConverter(this);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.BlockingPipe;
+import com.github.jsonparser.util.Codec;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.writer.CsvRowWriter;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class converts a compressed json stream to a compressed csv stream in three stages which overlap: a
+ * decoder thread decompresses the json, the calling thread flattens it to csv records and an encoder thread
+ * compresses the csv. The stages are connected by {@link BlockingPipe}s, so a stage which gets ahead blocks
+ * instead of buffering the whole document. The streams of the caller are not closed, the csv stream is flushed.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+final class CompressedPipeline {
+
+    private CompressedPipeline() {
+    }
+
+    /**
+     * The flattening stage, it reads the decompressed json and writes the csv records.
+     */
+    @FunctionalInterface
+    interface Stage {
+        void run(Reader reader, CsvRowWriter csv) throws IOException, JsonParsingException;
+    }
+
+    /**
+     * @param in          - The json input stream
+     * @param inputCodec  - The codec of the json input stream
+     * @param out         - The csv output stream
+     * @param outputCodec - The codec of the csv output stream
+     * @param delimiter   - The delimiter key
+     * @param stage       - The flattening stage
+     * @throws JsonParsingException
+     */
+    static void run(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec, String delimiter,
+                    Stage stage) throws JsonParsingException {
+        BlockingPipe json = new BlockingPipe();
+        BlockingPipe csv = new BlockingPipe();
+        Worker decoder = new Worker("json-decoder", () -> decode(in, inputCodec, json));
+        Worker encoder = new Worker("csv-encoder", () -> encode(csv, outputCodec, out));
+        decoder.start();
+        encoder.start();
+        Exception failure = null;
+        try (CsvRowWriter rows = new CsvRowWriter(csv.output(), delimiter)) {
+            stage.run(new InputStreamReader(json.input(), StandardCharsets.UTF_8), rows);
+        } catch (IOException | JsonParsingException e) {
+            failure = e;
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();
+        }
+        if (failure == null) {
+            try {
+                csv.output().close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        } else {
+            csv.fail(new IOException("The csv is not complete."));
+        }
+        json.cancel();
+        IOException decoded = decoder.await();
+        IOException encoded = encoder.await();
+        if (failure instanceof JsonParsingException) throw (JsonParsingException) failure;
+        // a failure of the decoder or encoder is the cause of the pipe failure seen by the calling thread
+        IOException cause = decoded != null ? decoded : encoded != null ? encoded : (IOException) failure;
+        if (cause != null) ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, cause);
+    }
+
+    private static void decode(InputStream in, Codec codec, BlockingPipe json) throws IOException {
+        try (InputStream decoded = codec.decode(new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // the input stream of the caller is not closed
+            }
+        })) {
+            byte[] buffer = new byte[BlockingPipe.DEFAULT_CHUNK_SIZE];
+            int count;
+            while ((count = decoded.read(buffer)) >= 0) json.output().write(buffer, 0, count);
+            json.output().close();
+        } catch (IOException | RuntimeException e) {
+            IOException failure = e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+            json.fail(failure);
+            throw failure;
+        }
+    }
+
+    private static void encode(BlockingPipe csv, Codec codec, OutputStream out) throws IOException {
+        try {
+            try (OutputStream encoded = codec.encode(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // the output stream of the caller is only flushed
+                    out.flush();
+                }
+            })) {
+                byte[] buffer = new byte[BlockingPipe.DEFAULT_CHUNK_SIZE];
+                int count;
+                while ((count = csv.input().read(buffer)) >= 0) encoded.write(buffer, 0, count);
+            }
+        } catch (IOException | RuntimeException e) {
+            csv.input().close();
+            throw e;
+        }
+    }
+
+    /**
+     * A decoder or encoder stage on its own thread.
+     */
+    private static final class Worker extends Thread {
+
+        private final Task task;
+        private volatile IOException failure;
+
+        private Worker(String name, Task task) {
+            super(name);
+            this.task = task;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * @return Returns the failure of the stage once it is done, null if it succeeded.
+         */
+        private IOException await() {
+            boolean interrupted = false;
+            while (isAlive()) {
+                try {
+                    join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            return failure;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,1229 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.model.ColumnarSheet;
+import com.github.jsonparser.reader.ConversionLimits;
+import com.github.jsonparser.reader.CsvSchema;
+import com.github.jsonparser.reader.JsonPathColumns;
+import com.github.jsonparser.reader.JsonReader;
+import com.github.jsonparser.reader.JsonStreamReader;
+import com.github.jsonparser.reader.JsonTableReader;
+import com.github.jsonparser.reader.NdJsonReader;
+import com.github.jsonparser.reader.Projection;
+import com.github.jsonparser.reader.RowSink;
+import com.github.jsonparser.reader.SchemaCache;
+import com.github.jsonparser.reader.SpilledRecords;
+import com.github.jsonparser.reader.TableSink;
+import com.github.jsonparser.reader.Utf8Reader;
+import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.util.Codec;
+import com.github.jsonparser.util.ConversionListener;
+import com.github.jsonparser.util.ConversionListener.Phase;
+import com.github.jsonparser.util.ConversionStats;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.util.ValidationUtil;
+import com.github.jsonparser.writer.CsvRowWriter;
+import com.github.jsonparser.writer.CsvWriter;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.mapper.MappingProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * This class converts a Json document to csv format with a fixed separator, delimiter and json provider.
+ * The converter is immutable and does not change any global state, so a single instance can be created once
+ * and shared between threads. The {@link JsonParser} methods delegate to a converter.
+ * With an executor, the elements of a top-level json array are flattened in parallel and the rows are kept
+ * in the original order, the csv is the same as the one built on the calling thread.
+ * The async methods convert json offered in chunks without blocking the caller, see {@link AsyncConversion}.
+ * The conversions do not log, their timings and counts are handed to a {@link ConversionListener} if one is set.
+ * The size of the conversions can be bounded, see {@link ConversionLimits}.
+ * e.g.
+ * <pre>
+ * JsonCsvConverter converter = JsonCsvConverter.builder().separator("/").delimiter("|").build();
+ * String csv = converter.parse2Csv(json);
+ * JsonCsvConverter parallel = JsonCsvConverter.builder().executor(ForkJoinPool.commonPool()).build();
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 17/02/2020
+ */
+public final class JsonCsvConverter {
+
+    private static final JsonCsvConverter DEFAULT = builder().build();
+
+    private final String separator;
+    private final String delimiter;
+    private final Configuration configuration;
+    private final Executor executor;
+    private final int sampleLines;
+    private final SchemaCache schemaCache;
+    private final ConversionListener listener;
+    private final ConversionLimits limits;
+
+    private JsonCsvConverter(Builder builder) {
+        this.separator = builder.separator;
+        this.delimiter = builder.delimiter;
+        this.executor = builder.executor;
+        this.sampleLines = builder.sampleLines;
+        this.schemaCache = builder.schemaCache;
+        this.listener = builder.listener;
+        this.limits = builder.limits;
+        this.configuration = builder.jsonProvider == null ? null
+                : JsonReader.configuration(builder.jsonProvider, builder.mappingProvider);
+    }
+
+    /**
+     * @return Returns the converter with the default separator "_" and delimiter ",".
+     */
+    public static JsonCsvConverter getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return Returns a new builder with the default separator "_" and delimiter ",".
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the header/column separator key.
+     */
+    public String getSeparator() {
+        return separator;
+    }
+
+    /**
+     * @return Returns the delimiter key.
+     */
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * This method process the json input string and returns a csv string.
+     *
+     * @param json - The input json string
+     * @return Returns a csv string.
+     * @throws JsonParsingException
+     */
+    public String parse2Csv(String json) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        String csv = CsvWriter.write2String(json2Sheet(json, measure), delimiter);
+        report(measure, Phase.WRITE, csv.length());
+        return csv;
+    }
+
+    /**
+     * This method process the json input string and writes to csv file path provided.
+     *
+     * @param json        - The input json string
+     * @param csvFilePath - The output csv file path with name
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, String csvFilePath) throws JsonParsingException {
+        ValidationUtil.rejectNull(csvFilePath, "csv file path");
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write2csv(json2Sheet(json, measure), csvFilePath, delimiter);
+        report(measure, Phase.WRITE, size(measure, Paths.get(csvFilePath)));
+    }
+
+    /**
+     * This method process the json input string and writes csv output to writer {@link Writer}.
+     *
+     * @param json   - The input json string
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, measure), writer, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the output stream, the stream is
+     * flushed but not closed.
+     *
+     * @param json - The input json string
+     * @param out  - The output stream to write the csv e.g. FileOutputStream, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, OutputStream out) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, measure), out, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the channel, the channel is not closed.
+     *
+     * @param json    - The input json string
+     * @param channel - The channel to write the csv e.g. FileChannel, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, WritableByteChannel channel) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, measure), channel, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the file, the file is created or replaced.
+     *
+     * @param json    - The input json string
+     * @param csvPath - The output csv file path
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, Path csvPath) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, measure), csvPath, delimiter);
+        report(measure, Phase.WRITE, size(measure, csvPath));
+    }
+
+    /**
+     * This method streams the json from reader and writes csv output to writer {@link Writer} in a single pass
+     * without building the whole document in memory.
+     *
+     * @param reader - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Reader reader, Writer writer) throws JsonParsingException {
+        spill(reader, writer, measure("parse2Csv"));
+    }
+
+    /**
+     * This method streams the json from the UTF-8 bytes and writes csv output to writer {@link Writer} in a single
+     * pass. The bytes are decoded as they are read, without building a string of the whole document.
+     *
+     * @param json   - The input json bytes in UTF-8
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(byte[] json, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        parse2Csv(ByteBuffer.wrap(json), writer);
+    }
+
+    /**
+     * This method streams the json from the UTF-8 bytes of the buffer and writes csv output to writer
+     * {@link Writer} in a single pass, see {@link #parse2Csv(byte[], Writer)}. The buffer is not changed.
+     *
+     * @param json   - The input json bytes in UTF-8 from the position to the limit, e.g. a direct or mapped buffer
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(ByteBuffer json, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        Measure measure = measure("parse2Csv");
+        if (measure != null) measure.stats.inputSize(json.remaining());
+        spill(Utf8Reader.of(json), writer, measure);
+    }
+
+    /**
+     * This method streams the json from the UTF-8 input stream and writes csv output to writer {@link Writer} in
+     * a single pass, see {@link #parse2Csv(Reader, Writer)}. The stream is not closed.
+     *
+     * @param in     - The input json stream in UTF-8 e.g. FileInputStream, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(InputStream in, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(in, "input stream");
+        spill(new InputStreamReader(in, StandardCharsets.UTF_8), writer, measure("parse2Csv"));
+    }
+
+    /**
+     * This method converts a json file in UTF-8 and writes csv output to writer {@link Writer} in two passes over
+     * the file. The first pass discovers the headers/columns, the second pass writes each row as soon as it is
+     * complete, so the memory does not grow with the number of rows. The file is memory-mapped and decoded from
+     * the mapped bytes.
+     *
+     * @param path   - The input json file path
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Path path, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        JsonStreamReader.json2Sheet(path, separator, null, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        input(measure, path);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 to a csv file in UTF-8 in two passes over the json file, see
+     * {@link #parse2Csv(Path, Writer)}. The csv file is created or replaced.
+     *
+     * @param path    - The input json file path
+     * @param csvPath - The output csv file path
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Path path, Path csvPath) throws JsonParsingException {
+        ValidationUtil.rejectNull(csvPath, "csv file path");
+        Measure measure = measure("parse2Csv");
+        try (FileChannel channel = CsvWriter.newChannel(csvPath); CsvRowWriter csv = new CsvRowWriter(channel, delimiter)) {
+            JsonStreamReader.json2Sheet(path, separator, null, rows(measure, csv::writeRow), limits);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, csvPath), e);
+        }
+        input(measure, path);
+        report(measure, Phase.FLATTEN, size(measure, csvPath));
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line and writes each csv row to
+     * writer {@link Writer} as soon as it is complete. The headers/columns are discovered from the first lines,
+     * see {@link Builder#sampleLines(int)}.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parseNdJson2Csv(Reader reader, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parseNdJson2Csv");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        NdJsonReader.json2Sheet(reader, null, sampleLines, configuration, separator, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method converts a newline delimited json (NDJSON / JSON Lines) file in UTF-8 line by line and writes
+     * each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param path   - The input json lines file path
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parseNdJson2Csv(Path path, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(path, "path");
+        try (Reader reader = Utf8Reader.map(path)) {
+            parseNdJson2Csv(reader, writer);
+        } catch (NoSuchFileException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, path), e);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line with the column/header from
+     * xsd schema json string and writes each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param reader    - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param xsdSchema - The xsd schema json string
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parseNdJson2CsvWithXsd(Reader reader, String xsdSchema, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(xsdSchema, "xsd schema");
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parseNdJson2CsvWithXsd");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        NdJsonReader.json2Sheet(reader, xsdSchema, sampleLines, configuration, separator, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method streams a compressed json document and writes the compressed csv to the output stream, e.g.
+     * gzip json to gzip csv with {@link Codec#GZIP}. The decompression, the flattening and the compression run
+     * on separate threads connected by bounded buffers, so the three stages overlap. The rows are spilled as in
+     * {@link #parse2Csv(Reader, Writer)}. The streams are not closed, the output stream is flushed.
+     *
+     * @param in          - The json input stream in UTF-8
+     * @param inputCodec  - The codec of the json input stream e.g. Codec.GZIP, Codec.NONE
+     * @param out         - The csv output stream, written in UTF-8
+     * @param outputCodec - The codec of the csv output stream e.g. Codec.GZIP, Codec.NONE
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec) throws JsonParsingException {
+        rejectStreams(in, inputCodec, out, outputCodec);
+        Measure measure = measure("parse2Csv");
+        CompressedPipeline.run(in, inputCodec, out, outputCodec, delimiter, (reader, csv) -> {
+            try (SpilledRecords records = JsonStreamReader.json2Sheet(reader, separator, null, limits)) {
+                spilled(measure, records);
+                for (Object[] row : records) csv.writeRow(row);
+            }
+        });
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method converts compressed newline delimited json (NDJSON / JSON Lines) line by line and writes the
+     * compressed csv to the output stream, see {@link #parse2Csv(InputStream, Codec, OutputStream, Codec)}.
+     * The headers/columns are discovered from the first lines, see {@link Builder#sampleLines(int)}.
+     *
+     * @param in          - The json lines input stream in UTF-8
+     * @param inputCodec  - The codec of the json lines input stream e.g. Codec.GZIP, Codec.NONE
+     * @param out         - The csv output stream, written in UTF-8
+     * @param outputCodec - The codec of the csv output stream e.g. Codec.GZIP, Codec.NONE
+     * @throws JsonParsingException
+     */
+    public void parseNdJson2Csv(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec) throws JsonParsingException {
+        rejectStreams(in, inputCodec, out, outputCodec);
+        Measure measure = measure("parseNdJson2Csv");
+        CompressedPipeline.run(in, inputCodec, out, outputCodec, delimiter, (reader, csv) ->
+                NdJsonReader.json2Sheet(reader, null, sampleLines, configuration, separator, rows(measure, csv::writeRow), limits));
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method starts an asynchronous conversion of a json document offered in chunks, see
+     * {@link AsyncConversion}. The headers/columns are discovered from the first elements of a top-level json array,
+     * see {@link Builder#sampleLines(int)}, and the records are then handed to the sink as the elements are parsed.
+     * The records of a json object are handed to the sink once the object is read, see
+     * {@link JsonStreamReader#json2Sheet(Reader, String, Projection, int, RowSink, ConversionLimits)}.
+     *
+     * @param executor - The executor of the converting thread, it is blocked while waiting for chunks or demand
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @return Returns the started conversion.
+     * @throws JsonParsingException
+     */
+    public AsyncConversion parse2CsvAsync(Executor executor, RowSink sink) throws JsonParsingException {
+        ValidationUtil.rejectNull(executor, "executor");
+        ValidationUtil.rejectNull(sink, "sink");
+        return AsyncConversion.start(executor, sink, (reader, rows) ->
+                JsonStreamReader.json2Sheet(reader, separator, null, sampleLines, rows, limits));
+    }
+
+    /**
+     * This method starts an asynchronous conversion of newline delimited json (NDJSON / JSON Lines) offered in
+     * chunks, see {@link AsyncConversion}. The records of a line are handed to the sink once the headers/columns
+     * are discovered from the first lines, see {@link Builder#sampleLines(int)}.
+     *
+     * @param executor - The executor of the converting thread, it is blocked while waiting for chunks or demand
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @return Returns the started conversion.
+     * @throws JsonParsingException
+     */
+    public AsyncConversion parseNdJson2CsvAsync(Executor executor, RowSink sink) throws JsonParsingException {
+        ValidationUtil.rejectNull(executor, "executor");
+        ValidationUtil.rejectNull(sink, "sink");
+        return AsyncConversion.start(executor, sink, (reader, rows) ->
+                NdJsonReader.json2Sheet(reader, null, sampleLines, configuration, separator, rows, limits));
+    }
+
+    /**
+     * This method starts an asynchronous conversion of newline delimited json (NDJSON / JSON Lines) offered in
+     * chunks with the headers/columns of a pre-declared schema, see {@link AsyncConversion}. With a strict schema
+     * the records of a line are handed to the sink as soon as the next few lines are parsed, without sampling.
+     *
+     * @param schema   - The compiled csv schema
+     * @param executor - The executor of the converting thread, it is blocked while waiting for chunks or demand
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @return Returns the started conversion.
+     * @throws JsonParsingException
+     */
+    public AsyncConversion parseNdJson2CsvAsync(CsvSchema schema, Executor executor, RowSink sink) throws JsonParsingException {
+        ValidationUtil.rejectNull(schema, "schema");
+        ValidationUtil.rejectNull(executor, "executor");
+        ValidationUtil.rejectNull(sink, "sink");
+        return AsyncConversion.start(executor, sink, (reader, rows) ->
+                NdJsonReader.json2Sheet(reader, schema, sampleLines, configuration, rows, limits));
+    }
+
+    /**
+     * This method process the input json with the headers/columns of a pre-declared schema, without parsing a
+     * xsd schema json. The header/column names use the separator of the schema.
+     *
+     * @param json   - The input json string
+     * @param schema - The compiled csv schema
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public String parse2Csv(String json, CsvSchema schema) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        String csv = CsvWriter.write2String(json2Sheet(json, schema, measure), delimiter);
+        report(measure, Phase.WRITE, csv.length());
+        return csv;
+    }
+
+    /**
+     * This method process the input json with the headers/columns of a pre-declared schema and writes csv output
+     * to writer {@link Writer}.
+     *
+     * @param json   - The input json string
+     * @param schema - The compiled csv schema
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, CsvSchema schema, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, schema, measure), writer, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line with the headers/columns of
+     * a pre-declared schema and writes each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param schema - The compiled csv schema
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parseNdJson2Csv(Reader reader, CsvSchema schema, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parseNdJson2Csv");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        NdJsonReader.json2Sheet(reader, schema, sampleLines, configuration, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of the projection only. The subtrees outside of
+     * the projection are skipped while the json is parsed, see {@link Projection}.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public String parse2Csv(String json, Projection projection) throws JsonParsingException {
+        Measure measure = measure("parse2Csv");
+        String csv = CsvWriter.write2String(json2Sheet(json, projection, measure), delimiter);
+        report(measure, Phase.WRITE, csv.length());
+        return csv;
+    }
+
+    /**
+     * This method process the input json with the headers/columns of the projection only and writes csv output
+     * to writer {@link Writer}, see {@link #parse2Csv(String, Projection)}.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @param writer     - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, Projection projection, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        CsvWriter.write(json2Sheet(json, projection, measure), writer, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method streams the json from reader with the headers/columns of the projection only and writes csv
+     * output to writer {@link Writer} in a single pass, see {@link #parse2Csv(Reader, Writer)}. The subtrees
+     * outside of the projection are skipped without being materialized.
+     *
+     * @param reader     - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param projection - The projection of the headers/columns
+     * @param writer     - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Reader reader, Projection projection, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(projection, "projection");
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        try (SpilledRecords records = JsonStreamReader.json2Sheet(reader, separator, projection, limits)) {
+            spilled(measure, records);
+            CsvWriter.write(records, writer, delimiter);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 with the headers/columns of the projection only and writes csv
+     * output to writer {@link Writer} in two passes over the file, see {@link #parse2Csv(Path, Writer)}.
+     *
+     * @param path       - The input json file path
+     * @param projection - The projection of the headers/columns
+     * @param writer     - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Path path, Projection projection, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(projection, "projection");
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2Csv");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        JsonStreamReader.json2Sheet(path, separator, projection, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        input(measure, path);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of json path expressions, all of them are
+     * evaluated in a single pass over the json, see {@link JsonPathColumns}.
+     *
+     * @param json    - The input json string
+     * @param columns - The compiled json path columns
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public String parse2Csv(String json, JsonPathColumns columns) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        StringWriter writer = new StringWriter();
+        parse2Csv(new StringReader(json), columns, writer, measure("parse2Csv"), json.length());
+        return writer.toString();
+    }
+
+    /**
+     * This method process the input json with the headers/columns of json path expressions and writes csv output
+     * to writer {@link Writer}, see {@link #parse2Csv(String, JsonPathColumns)}.
+     *
+     * @param json    - The input json string
+     * @param columns - The compiled json path columns
+     * @param writer  - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(String json, JsonPathColumns columns, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        parse2Csv(new StringReader(json), columns, writer, measure("parse2Csv"), json.length());
+    }
+
+    /**
+     * This method streams the json from reader with the headers/columns of json path expressions and writes each
+     * csv row to writer {@link Writer} as soon as its record is read, see {@link JsonPathColumns}.
+     *
+     * @param reader  - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param columns - The compiled json path columns
+     * @param writer  - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Reader reader, JsonPathColumns columns, Writer writer) throws JsonParsingException {
+        parse2Csv(reader, columns, writer, measure("parse2Csv"), -1);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 with the headers/columns of json path expressions in a single
+     * pass over the memory-mapped file and writes csv output to writer {@link Writer}.
+     *
+     * @param path    - The input json file path
+     * @param columns - The compiled json path columns
+     * @param writer  - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2Csv(Path path, JsonPathColumns columns, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(path, "path");
+        Measure measure = measure("parse2Csv");
+        try (Reader reader = Utf8Reader.map(path)) {
+            parse2Csv(reader, columns, writer, measure, size(measure, path));
+        } catch (NoSuchFileException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, path), e);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method process the input json to normalized csv tables, one per json array path with generated keys,
+     * instead of repeating the columns of the enclosing element on each row of a nested array, see
+     * {@link JsonTableReader}.
+     *
+     * @param json - The input json string
+     * @return Returns the string representation of the csv of each table by table path, in discovery order.
+     * @throws JsonParsingException
+     */
+    public Map<String, String> parse2Tables(String json) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        Measure measure = measure("parse2Tables");
+        Tables tables = new Tables(null);
+        try {
+            JsonTableReader.json2Tables(new StringReader(json), separator, tables(measure, tables), limits);
+            tables.close();
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+        Map<String, String> csv = new LinkedHashMap<>();
+        tables.strings.forEach((table, writer) -> csv.put(table, writer.toString()));
+        if (measure != null) measure.stats.inputSize(json.length());
+        report(measure, Phase.FLATTEN, -1);
+        return csv;
+    }
+
+    /**
+     * This method streams the json from reader to normalized csv tables in a single pass and writes each table
+     * to its sink, see {@link JsonTableReader}.
+     *
+     * @param reader - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param sinks  - The destinations of the csv records of the tables, the header/column row first
+     * @throws JsonParsingException
+     */
+    public void parse2Tables(Reader reader, TableSink sinks) throws JsonParsingException {
+        Measure measure = measure("parse2Tables");
+        JsonTableReader.json2Tables(reader, separator, tables(measure, sinks), limits);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 to normalized csv tables in a single pass over the json file and
+     * writes each table to a csv file in UTF-8 in the directory, see {@link JsonTableReader}. The file of the
+     * records is root.csv and the file of a json array path is named by the header/column name of the path
+     * e.g. orders_items.csv, the files are created or replaced.
+     *
+     * @param path      - The input json file path
+     * @param directory - The existing output directory of the csv files
+     * @throws JsonParsingException
+     */
+    public void parse2Tables(Path path, Path directory) throws JsonParsingException {
+        ValidationUtil.rejectNull(path, "path");
+        ValidationUtil.rejectNull(directory, "directory");
+        Measure measure = measure("parse2Tables");
+        try (Reader reader = Utf8Reader.map(path); Tables tables = new Tables(directory)) {
+            JsonTableReader.json2Tables(reader, separator, tables(measure, tables), limits);
+        } catch (NoSuchFileException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, e.getFile()), e);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+        input(measure, path);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    /**
+     * This method process the json input string and returns the columnar representation, with the values of
+     * each column in a typed array instead of a row of json primitives.
+     *
+     * @param json - The input json string
+     * @return Returns the columnar sheet.
+     * @throws JsonParsingException
+     */
+    public ColumnarSheet parse2Columns(String json) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        Measure measure = measure("parse2Columns");
+        ColumnarSheet sheet = JsonReader.json2Columns(json, null, configuration, separator);
+        columnar(measure, sheet, json.length());
+        report(measure, Phase.FLATTEN, -1);
+        return sheet;
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line to the columnar
+     * representation, the rows are stored in the columns as the lines are read.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @return Returns the columnar sheet.
+     * @throws JsonParsingException
+     */
+    public ColumnarSheet parseNdJson2Columns(Reader reader) throws JsonParsingException {
+        Measure measure = measure("parseNdJson2Columns");
+        ColumnarSheet.Builder builder = ColumnarSheet.builder();
+        NdJsonReader.json2Sheet(reader, null, sampleLines, configuration, separator, builder);
+        ColumnarSheet sheet = builder.build();
+        columnar(measure, sheet, -1);
+        report(measure, Phase.FLATTEN, -1);
+        return sheet;
+    }
+
+    /**
+     * This method process the xsd json input string and returns a csv string with header/column row.
+     *
+     * @param json - The input xsd json string
+     * @return Returns a csv string.
+     * @throws JsonParsingException
+     */
+    public String parseXsd2Csv(String json) throws JsonParsingException {
+        Measure measure = measure("parseXsd2Csv");
+        String csv = CsvWriter.write2String(xsd2Header(json, measure), delimiter);
+        report(measure, Phase.WRITE, csv.length());
+        return csv;
+    }
+
+    /**
+     * This method process the xsd json input string and writes to csv file path provided.
+     *
+     * @param json        - The input xsd json string
+     * @param csvFilePath - The output csv file path with name
+     * @throws JsonParsingException
+     */
+    public void parseXsd2Csv(String json, String csvFilePath) throws JsonParsingException {
+        ValidationUtil.rejectNull(csvFilePath, "csv file path");
+        Measure measure = measure("parseXsd2Csv");
+        CsvWriter.write2csv(xsd2Header(json, measure), csvFilePath, delimiter);
+        report(measure, Phase.WRITE, size(measure, Paths.get(csvFilePath)));
+    }
+
+    /**
+     * This method process the xsd json input string and writes csv output to writer {@link Writer}.
+     *
+     * @param json   - The input xsd json string
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parseXsd2Csv(String json, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parseXsd2Csv");
+        CsvWriter.write(xsd2Header(json, measure), writer, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    /**
+     * This method process the input json and used the column/header from xsd schema json string.
+     *
+     * @param json      - The input json string
+     * @param xsdSchema - The xsd schema json string
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public String parse2CsvWithXsd(String json, String xsdSchema) throws JsonParsingException {
+        Measure measure = measure("parse2CsvWithXsd");
+        String csv = CsvWriter.write2String(json2Sheet(json, xsdSchema, measure), delimiter);
+        report(measure, Phase.WRITE, csv.length());
+        return csv;
+    }
+
+    /**
+     * This method process the input json and used the column/header from xsd schema json string to create csv.
+     *
+     * @param json        - The input json string
+     * @param xsdSchema   - The xsd schema json string
+     * @param csvFilePath - The output csv file path with name
+     * @throws JsonParsingException
+     */
+    public void parse2CsvWithXsd(String json, String xsdSchema, String csvFilePath) throws JsonParsingException {
+        ValidationUtil.rejectNull(csvFilePath, "csv file path");
+        Measure measure = measure("parse2CsvWithXsd");
+        CsvWriter.write2csv(json2Sheet(json, xsdSchema, measure), csvFilePath, delimiter);
+        report(measure, Phase.WRITE, size(measure, Paths.get(csvFilePath)));
+    }
+
+    /**
+     * This method process the input json and used the column/header from xsd schema json string to create csv.
+     *
+     * @param json      - The input json string
+     * @param xsdSchema - The xsd schema json string
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public void parse2CsvWithXsd(String json, String xsdSchema, Writer writer) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        Measure measure = measure("parse2CsvWithXsd");
+        CsvWriter.write(json2Sheet(json, xsdSchema, measure), writer, delimiter);
+        report(measure, Phase.WRITE, -1);
+    }
+
+    private static void rejectStreams(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec) throws JsonParsingException {
+        ValidationUtil.rejectNull(in, "input stream");
+        ValidationUtil.rejectNull(inputCodec, "input codec");
+        ValidationUtil.rejectNull(out, "output stream");
+        ValidationUtil.rejectNull(outputCodec, "output codec");
+    }
+
+    /**
+     * This method spills the records of the streamed json and writes them to the writer.
+     *
+     * @param reader  - The input json reader
+     * @param writer  - The writer object to write the csv
+     * @param measure - The measurement, null to measure nothing
+     * @throws JsonParsingException
+     */
+    private void spill(Reader reader, Writer writer, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        try (SpilledRecords records = JsonStreamReader.json2Sheet(reader, separator, null, limits)) {
+            spilled(measure, records);
+            CsvWriter.write(records, writer, delimiter);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+        report(measure, Phase.WRITE, -1);
+    }
+
+    private static void flush(CsvRowWriter csv) throws JsonParsingException {
+        try {
+            csv.flush();
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    private List<Object[]> json2Sheet(String json, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        List<Object[]> records = limits == null
+                ? JsonReader.json2Sheet(json, null, configuration, executor, schemaCache, stats(measure))
+                : JsonReader.json2Sheet(json, null, configuration, executor, schemaCache, stats(measure), limits);
+        return records(measure, json, JsonReader.parse(json, records, separator));
+    }
+
+    private List<Object[]> json2Sheet(String json, String xsdSchema, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        ValidationUtil.rejectNull(xsdSchema, "xsd schema");
+        List<Object[]> records = limits == null
+                ? JsonReader.json2Sheet(json, xsdSchema, configuration, executor, schemaCache, stats(measure))
+                : JsonReader.json2Sheet(json, xsdSchema, configuration, executor, schemaCache, stats(measure), limits);
+        return records(measure, json, JsonReader.parse(json, records, separator));
+    }
+
+    private List<Object[]> json2Sheet(String json, CsvSchema schema, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        ValidationUtil.rejectNull(schema, "schema");
+        List<Object[]> records = limits == null
+                ? JsonReader.json2SheetWithSchema(json, schema, configuration, executor, stats(measure))
+                : JsonReader.json2SheetWithSchema(json, schema, configuration, executor, stats(measure), limits);
+        return records(measure, json, JsonReader.parse(json, records, schema.separator()));
+    }
+
+    private List<Object[]> json2Sheet(String json, Projection projection, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        ValidationUtil.rejectNull(projection, "projection");
+        List<Object[]> records = limits == null
+                ? JsonReader.json2SheetWithProjection(json, projection, executor, stats(measure))
+                : JsonReader.json2SheetWithProjection(json, projection, executor, stats(measure), limits);
+        return records(measure, json, JsonReader.parse(json, records, separator));
+    }
+
+    private void parse2Csv(Reader reader, JsonPathColumns columns, Writer writer, Measure measure, long inputSize)
+            throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+        JsonStreamReader.json2Sheet(reader, columns, rows(measure, csv::writeRow), limits);
+        flush(csv);
+        if (measure != null) measure.stats.inputSize(inputSize);
+        report(measure, Phase.FLATTEN, -1);
+    }
+
+    private List<Object[]> xsd2Header(String json, Measure measure) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Header(json, configuration), separator);
+        if (measure != null) measure.stats.time(Phase.HEADER_DISCOVERY, measure.time);
+        return records(measure, json, records);
+    }
+
+    /**
+     * @param operation - The name of the conversion e.g. parse2Csv
+     * @return Returns the measurement of a new conversion, null without a listener so nothing is measured.
+     */
+    private Measure measure(String operation) {
+        return listener == null ? null : new Measure(new ConversionStats(operation));
+    }
+
+    private static ConversionStats stats(Measure measure) {
+        return measure == null ? null : measure.stats;
+    }
+
+    /**
+     * This method counts the records of a json string conversion and starts the next phase.
+     *
+     * @param measure - The measurement, null to measure nothing
+     * @param json    - The input json string
+     * @param records - The csv records with the header/column row
+     * @return Returns the csv records.
+     */
+    private static List<Object[]> records(Measure measure, String json, List<Object[]> records) {
+        if (measure != null) {
+            measure.rows = records.size() - 1;
+            measure.columns = records.get(0).length;
+            measure.stats.inputSize(json.length());
+            measure.time = System.nanoTime();
+        }
+        return records;
+    }
+
+    /**
+     * This method counts the spilled records of a streamed conversion and starts the write phase.
+     *
+     * @param measure - The measurement, null to measure nothing
+     * @param records - The spilled csv records
+     */
+    private static void spilled(Measure measure, SpilledRecords records) {
+        if (measure == null) return;
+        measure.rows = records.size();
+        measure.columns = records.columns();
+        measure.stats.time(Phase.FLATTEN, measure.time);
+        measure.time = System.nanoTime();
+    }
+
+    private static void columnar(Measure measure, ColumnarSheet sheet, long inputSize) {
+        if (measure == null) return;
+        measure.rows = sheet.rowCount();
+        measure.columns = sheet.headers().size();
+        measure.stats.inputSize(inputSize);
+    }
+
+    /**
+     * @param measure - The measurement, null to measure nothing
+     * @param sinks   - The destinations of the csv tables
+     * @return Returns the sinks which count the records and headers/columns of all tables, the sinks themselves
+     * without a measurement.
+     */
+    private static TableSink tables(Measure measure, TableSink sinks) {
+        if (measure == null) return sinks;
+        measure.rows = 0;
+        return table -> {
+            RowSink sink = sinks.open(table);
+            boolean[] header = {true};
+            return row -> {
+                if (header[0]) measure.columns += row.length;
+                else measure.rows++;
+                header[0] = false;
+                sink.write(row);
+            };
+        };
+    }
+
+    /**
+     * @param table - The path of a normalized table e.g. /orders/items
+     * @return Returns the csv file name of the table e.g. orders_items.csv
+     */
+    private String tableFileName(String table) {
+        String name = table.equals(JsonTableReader.ROOT) ? "root" : table.substring(1).replace("/", separator);
+        return name.replaceAll("[\\\\/:*?\"<>|]", "_") + ".csv";
+    }
+
+    /**
+     * @param measure - The measurement, null to measure nothing
+     * @param sink    - The destination of the csv records
+     * @return Returns the sink which counts the records, the sink itself without a measurement.
+     */
+    private static RowSink rows(Measure measure, RowSink sink) {
+        if (measure == null) return sink;
+        measure.sink = sink;
+        return measure;
+    }
+
+    private static void input(Measure measure, Path path) {
+        if (measure != null) measure.stats.inputSize(size(measure, path));
+    }
+
+    private static long size(Measure measure, Path path) {
+        if (measure == null) return -1;
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * This method ends the last phase of a conversion and hands the statistics to the listener.
+     *
+     * @param measure    - The measurement, null to measure nothing
+     * @param phase      - The last phase
+     * @param outputSize - The csv size, -1 if it is not known
+     */
+    private void report(Measure measure, Phase phase, long outputSize) {
+        if (measure == null) return;
+        ConversionStats stats = measure.stats;
+        stats.time(phase, measure.time);
+        stats.records(Math.max(measure.rows, 0), measure.columns);
+        stats.outputSize(outputSize);
+        stats.finish();
+        listener.converted(stats);
+    }
+
+    /**
+     * The measurement of a single conversion, it counts the records handed to the sink of a streamed conversion.
+     */
+    private static final class Measure implements RowSink {
+
+        private final ConversionStats stats;
+        private RowSink sink;
+        private long time = System.nanoTime();
+        private long rows = -1;
+        private int columns;
+
+        private Measure(ConversionStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            if (rows++ < 0) columns = row.length;
+            sink.write(row);
+        }
+    }
+
+    /**
+     * The csv writers of the normalized tables, one at a time, to csv strings or to csv files in a directory.
+     */
+    private final class Tables implements TableSink, Closeable {
+
+        // The output directory, null to write the tables to strings.
+        private final Path directory;
+        private final Map<String, StringWriter> strings = new LinkedHashMap<>();
+        private FileChannel channel;
+        private CsvRowWriter csv;
+
+        private Tables(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        public RowSink open(String table) throws IOException {
+            close();
+            if (directory == null) {
+                StringWriter writer = new StringWriter();
+                strings.put(table, writer);
+                csv = new CsvRowWriter(writer, delimiter);
+            } else {
+                channel = CsvWriter.newChannel(directory.resolve(tableFileName(table)));
+                csv = new CsvRowWriter(channel, delimiter);
+            }
+            return csv::writeRow;
+        }
+
+        /**
+         * This method completes the csv of the last opened table.
+         *
+         * @throws IOException
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (csv != null) csv.close();
+            } finally {
+                csv = null;
+                if (channel != null) channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * The builder of an immutable {@link JsonCsvConverter}.
+     */
+    public static final class Builder {
+
+        private String separator = AppConstants.DEFAULT_SEPARATOR;
+        private String delimiter = AppConstants.DEFAULT_DELIMITER;
+        private JsonProvider jsonProvider;
+        private MappingProvider mappingProvider;
+        private Executor executor;
+        private int sampleLines = NdJsonReader.DEFAULT_SAMPLE_LINES;
+        private SchemaCache schemaCache;
+        private ConversionListener listener;
+        private ConversionLimits limits;
+
+        private Builder() {
+        }
+
+        /**
+         * @param separator - The custom header/column separator key, null for the default "_"
+         * @return Returns this builder.
+         */
+        public Builder separator(String separator) {
+            this.separator = separator == null ? AppConstants.DEFAULT_SEPARATOR : separator;
+            return this;
+        }
+
+        /**
+         * @param delimiter - The custom delimiter key, null for the default ","
+         * @return Returns this builder.
+         */
+        public Builder delimiter(String delimiter) {
+            this.delimiter = delimiter == null ? AppConstants.DEFAULT_DELIMITER : delimiter;
+            return this;
+        }
+
+        /**
+         * The json path providers used to discover the headers/columns, null for the default Jackson providers.
+         *
+         * @param jsonProvider    - The json provider
+         * @param mappingProvider - The mapping provider
+         * @return Returns this builder.
+         */
+        public Builder providers(JsonProvider jsonProvider, MappingProvider mappingProvider) {
+            this.jsonProvider = jsonProvider;
+            this.mappingProvider = mappingProvider;
+            return this;
+        }
+
+        /**
+         * The executor to flatten the elements of a top-level json array in parallel e.g. ForkJoinPool.commonPool(),
+         * null for the default which builds the csv on the calling thread. Streamed json is not affected.
+         *
+         * @param executor - The executor
+         * @return Returns this builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * The number of first json lines the headers/columns of newline delimited json are discovered from,
+         * values of later lines outside of these headers/columns are not part of the csv. The asynchronous
+         * conversion of a json document discovers them from the same number of first top-level array elements.
+         * The default is 1000.
+         *
+         * @param sampleLines - The number of sample lines, at least 1
+         * @return Returns this builder.
+         */
+        public Builder sampleLines(int sampleLines) {
+            if (sampleLines < 1) throw new IllegalArgumentException("The sample lines must be at least 1.");
+            this.sampleLines = sampleLines;
+            return this;
+        }
+
+        /**
+         * The cache of the headers/columns by document shape, so that documents of a shape seen before skip the
+         * header/column discovery, null for the default which discovers them for each document. The cache must
+         * only be shared with converters using the same json path providers. Streamed json is not affected.
+         *
+         * @param schemaCache - The schema cache e.g. new SchemaCache(256)
+         * @return Returns this builder.
+         */
+        public Builder schemaCache(SchemaCache schemaCache) {
+            this.schemaCache = schemaCache;
+            return this;
+        }
+
+        /**
+         * The listener of the statistics of each conversion e.g. the time of each phase and the number of rows,
+         * null for the default which measures nothing. The asynchronous conversions are not measured.
+         *
+         * @param listener - The conversion listener
+         * @return Returns this builder.
+         */
+        public Builder listener(ConversionListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * The limits of the rows, headers/columns, nesting depth and output size of each conversion, which fail
+         * or truncate the conversion when they are exceeded, null for the default without limits. The
+         * normalized tables are limited table by table, see {@link ConversionLimits}.
+         *
+         * @param limits - The conversion limits
+         * @return Returns this builder.
+         */
+        public Builder limits(ConversionLimits limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        /**
+         * @return Returns the converter.
+         */
+        public JsonCsvConverter build() {
+            return new JsonCsvConverter(this);
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.github.jsonparser;
 
 import com.github.jsonparser.exception.JsonParsingException;
-import com.github.jsonparser.reader.JsonReader;
-import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.model.ColumnarSheet;
+import com.github.jsonparser.reader.CsvSchema;
+import com.github.jsonparser.reader.JsonPathColumns;
+import com.github.jsonparser.reader.JsonTableReader;
+import com.github.jsonparser.reader.Projection;
+import com.github.jsonparser.reader.RowSink;
+import com.github.jsonparser.util.Codec;
 import com.github.jsonparser.util.ValidationUtil;
-import com.github.jsonparser.writer.CsvWriter;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Writer;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 /**
@@ -18,6 +30,20 @@ import java.util.logging.Logger;
  * 1. String
  * 2. File
  * 3. Writer
+ * 4. OutputStream, WritableByteChannel or file Path in UTF-8
+ * Json and csv streams can be compressed e.g. with gzip, see {@link Codec}.
+ * Json offered in chunks can be converted without blocking the caller, see {@link AsyncConversion}.
+ * The json can also be read from a {@link Reader}, in which case it is converted in a single streaming pass,
+ * or from UTF-8 bytes, a byte buffer or an input stream in the same way without building a json string,
+ * or from a json file {@link Path}, which is memory-mapped and read twice without keeping the rows in memory.
+ * Newline delimited json (NDJSON / JSON Lines) is converted line by line, the csv rows are written as the lines are read.
+ * The parallel methods flatten the records of a top-level json array on the common fork-join pool.
+ * The json can also be converted to a {@link ColumnarSheet}, which keeps the values in typed arrays per column.
+ * A pre-declared {@link CsvSchema} fixes the headers/columns up front, the conversion skips their discovery.
+ * A {@link Projection} selects the headers/columns to convert, the other subtrees are skipped while parsing.
+ * {@link JsonPathColumns} define the headers/columns as json path expressions, evaluated in a single pass.
+ * The nested arrays can also be written as normalized tables with generated keys, see {@link JsonTableReader}.
+ * The methods are thread safe, they delegate to a {@link JsonCsvConverter}.
  *
  * @author Ram Alapure
  * @version 1.0
@@ -27,6 +53,8 @@ public class JsonParser {
 
     public static final Logger log = Logger.getLogger(JsonParser.class.getName());
 
+    private static final JsonCsvConverter PARALLEL = JsonCsvConverter.builder().executor(ForkJoinPool.commonPool()).build();
+
     private JsonParser() {
     }
 
@@ -38,9 +66,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static String parse2Csv(String json) throws JsonParsingException {
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json));
-        return CsvWriter.write2String(records);
+        return JsonCsvConverter.getDefault().parse2Csv(json);
     }
 
 
@@ -52,10 +78,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parse2Csv(String json, String csvFilePath) throws JsonParsingException {
-        ValidationUtil.rejectNull(csvFilePath, "csv file path");
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json));
-        CsvWriter.write2csv(records, csvFilePath);
+        JsonCsvConverter.getDefault().parse2Csv(json, csvFilePath);
     }
 
     /**
@@ -66,10 +89,65 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parse2Csv(String json, Writer writer) throws JsonParsingException {
-        ValidationUtil.rejectNull(writer, "writer");
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json));
-        CsvWriter.write(records, writer);
+        JsonCsvConverter.getDefault().parse2Csv(json, writer);
+    }
+
+    /**
+     * This method process the json input string and returns a csv string. The elements of a top-level json array
+     * are flattened in parallel, the csv is the same as the one returned by {@link #parse2Csv(String)}.
+     *
+     * @param json - The input json string
+     * @return Returns a csv string.
+     * @throws JsonParsingException
+     */
+    public static String parse2CsvParallel(String json) throws JsonParsingException {
+        return PARALLEL.parse2Csv(json);
+    }
+
+    /**
+     * This method process the json input string and writes csv output to writer {@link Writer}. The elements of
+     * a top-level json array are flattened in parallel, the csv is the same as the sequential one.
+     *
+     * @param json   - The input json string
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2CsvParallel(String json, Writer writer) throws JsonParsingException {
+        PARALLEL.parse2Csv(json, writer);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the output stream, the stream is
+     * flushed but not closed.
+     *
+     * @param json - The input json string
+     * @param out  - The output stream to write the csv e.g. FileOutputStream, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, OutputStream out) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, out);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the channel, the channel is not closed.
+     *
+     * @param json    - The input json string
+     * @param channel - The channel to write the csv e.g. FileChannel, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, WritableByteChannel channel) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, channel);
+    }
+
+    /**
+     * This method process the json input string and writes the csv in UTF-8 to the file, the file is created or replaced.
+     *
+     * @param json    - The input json string
+     * @param csvPath - The output csv file path
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, Path csvPath) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, csvPath);
     }
 
     /**
@@ -82,11 +160,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static String parse2Csv(String json, String separator, String delimiter) throws JsonParsingException {
-        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
-        if (delimiter == null) delimiter = AppConstants.DEFAULT_DELIMITER;
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, separator);
-        return CsvWriter.write2String(records, delimiter);
+        return converter(separator, delimiter).parse2Csv(json);
     }
 
     /**
@@ -98,11 +172,7 @@ public class JsonParser {
      */
     public static void parse2Csv(String json, String csvFilePath, String separator, String delimiter) throws JsonParsingException {
         ValidationUtil.rejectNull(csvFilePath, "csv file path");
-        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
-        if (delimiter == null) delimiter = AppConstants.DEFAULT_DELIMITER;
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, separator);
-        CsvWriter.write2csv(records, csvFilePath, delimiter);
+        converter(separator, delimiter).parse2Csv(json, csvFilePath);
     }
 
     /**
@@ -116,11 +186,289 @@ public class JsonParser {
      */
     public static void parse2Csv(String json, Writer writer, String separator, String delimiter) throws JsonParsingException {
         ValidationUtil.rejectNull(writer, "writer");
-        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
-        if (delimiter == null) delimiter = AppConstants.DEFAULT_DELIMITER;
-        log.info("Received request to parse json to csv.");
-        List<Object[]> records = JsonReader.parse(json, separator);
-        CsvWriter.write(records, writer, delimiter);
+        converter(separator, delimiter).parse2Csv(json, writer);
+    }
+
+    /**
+     * This method streams the json from reader and writes csv output to writer {@link Writer} in a single pass
+     * without building the whole document in memory.
+     *
+     * @param reader - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Reader reader, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(reader, writer);
+    }
+
+    /**
+     * This method streams the json from reader and writes csv output to writer {@link Writer} in a single pass
+     * without building the whole document in memory.
+     *
+     * @param reader    - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @param separator - The custom header/column separator key
+     * @param delimiter - The custom delimiter key
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Reader reader, Writer writer, String separator, String delimiter) throws JsonParsingException {
+        ValidationUtil.rejectNull(writer, "writer");
+        converter(separator, delimiter).parse2Csv(reader, writer);
+    }
+
+    /**
+     * This method streams the json from the UTF-8 bytes and writes csv output to writer {@link Writer} in a single
+     * pass, without building a string of the whole document.
+     *
+     * @param json   - The input json bytes in UTF-8
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(byte[] json, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, writer);
+    }
+
+    /**
+     * This method streams the json from the UTF-8 bytes of the buffer and writes csv output to writer
+     * {@link Writer} in a single pass, without building a string of the whole document.
+     *
+     * @param json   - The input json bytes in UTF-8 from the position to the limit, e.g. a direct or mapped buffer
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(ByteBuffer json, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, writer);
+    }
+
+    /**
+     * This method streams the json from the UTF-8 input stream and writes csv output to writer {@link Writer} in
+     * a single pass, the stream is not closed.
+     *
+     * @param in     - The input json stream in UTF-8 e.g. FileInputStream, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(InputStream in, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(in, writer);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of the projection only, the subtrees outside
+     * of the projection are skipped while the json is parsed.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public static String parse2Csv(String json, Projection projection) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2Csv(json, projection);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of the projection only and writes csv output
+     * to writer {@link Writer}.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @param writer     - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, Projection projection, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, projection, writer);
+    }
+
+    /**
+     * This method streams the json from reader with the headers/columns of the projection only and writes csv
+     * output to writer {@link Writer} in a single pass.
+     *
+     * @param reader     - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param projection - The projection of the headers/columns
+     * @param writer     - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Reader reader, Projection projection, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(reader, projection, writer);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of json path expressions, all of them are
+     * evaluated in a single pass over the json.
+     *
+     * @param json    - The input json string
+     * @param columns - The compiled json path columns
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public static String parse2Csv(String json, JsonPathColumns columns) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2Csv(json, columns);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of json path expressions and writes csv output
+     * to writer {@link Writer}.
+     *
+     * @param json    - The input json string
+     * @param columns - The compiled json path columns
+     * @param writer  - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, JsonPathColumns columns, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, columns, writer);
+    }
+
+    /**
+     * This method streams the json from reader with the headers/columns of json path expressions and writes each
+     * csv row to writer {@link Writer} as soon as its record is read.
+     *
+     * @param reader  - The input json reader e.g. FileReader, InputStreamReader, etc.
+     * @param columns - The compiled json path columns
+     * @param writer  - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Reader reader, JsonPathColumns columns, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(reader, columns, writer);
+    }
+
+    /**
+     * This method process the input json to normalized csv tables, one per json array path with generated keys,
+     * instead of repeating the columns of the enclosing element on each row of a nested array.
+     *
+     * @param json - The input json string
+     * @return Returns the string representation of the csv of each table by table path, in discovery order.
+     * @throws JsonParsingException
+     */
+    public static Map<String, String> parse2Tables(String json) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2Tables(json);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 to normalized csv tables in a single pass over the json file and
+     * writes each table to a csv file in the directory.
+     *
+     * @param path      - The input json file path
+     * @param directory - The existing output directory of the csv files
+     * @throws JsonParsingException
+     */
+    public static void parse2Tables(Path path, Path directory) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Tables(path, directory);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 and writes csv output to writer {@link Writer} in two passes over
+     * the file, the headers/columns are discovered first and then each row is written as soon as it is complete.
+     * The file is memory-mapped, its text is never on the heap as a whole.
+     *
+     * @param path   - The input json file path
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Path path, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(path, writer);
+    }
+
+    /**
+     * This method converts a json file in UTF-8 to a csv file in UTF-8 in two passes over the json file, the csv
+     * file is created or replaced.
+     *
+     * @param path    - The input json file path
+     * @param csvPath - The output csv file path
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(Path path, Path csvPath) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(path, csvPath);
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line and writes each csv row to
+     * writer {@link Writer} as soon as it is complete. The headers/columns are discovered from the first 1000 lines.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parseNdJson2Csv(Reader reader, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parseNdJson2Csv(reader, writer);
+    }
+
+    /**
+     * This method converts a newline delimited json (NDJSON / JSON Lines) file in UTF-8 line by line and writes
+     * each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param path   - The input json lines file path
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parseNdJson2Csv(Path path, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parseNdJson2Csv(path, writer);
+    }
+
+    /**
+     * This method streams a compressed json document and writes the compressed csv to the output stream, the
+     * decompression, flattening and compression overlap on separate threads. The streams are not closed.
+     *
+     * @param in          - The json input stream in UTF-8
+     * @param inputCodec  - The codec of the json input stream e.g. Codec.GZIP, Codec.NONE
+     * @param out         - The csv output stream, written in UTF-8
+     * @param outputCodec - The codec of the csv output stream e.g. Codec.GZIP, Codec.NONE
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(in, inputCodec, out, outputCodec);
+    }
+
+    /**
+     * This method converts compressed newline delimited json (NDJSON / JSON Lines) line by line and writes the
+     * compressed csv to the output stream, the decompression, flattening and compression overlap on separate
+     * threads. The streams are not closed.
+     *
+     * @param in          - The json lines input stream in UTF-8
+     * @param inputCodec  - The codec of the json lines input stream e.g. Codec.GZIP, Codec.NONE
+     * @param out         - The csv output stream, written in UTF-8
+     * @param outputCodec - The codec of the csv output stream e.g. Codec.GZIP, Codec.NONE
+     * @throws JsonParsingException
+     */
+    public static void parseNdJson2Csv(InputStream in, Codec inputCodec, OutputStream out, Codec outputCodec) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parseNdJson2Csv(in, inputCodec, out, outputCodec);
+    }
+
+    /**
+     * This method starts an asynchronous conversion of a json document offered in chunks, the records of a
+     * top-level json array are handed to the sink as its elements are parsed, see {@link AsyncConversion}.
+     *
+     * @param executor - The executor of the converting thread
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @return Returns the started conversion.
+     * @throws JsonParsingException
+     */
+    public static AsyncConversion parse2CsvAsync(Executor executor, RowSink sink) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2CsvAsync(executor, sink);
+    }
+
+    /**
+     * This method starts an asynchronous conversion of newline delimited json (NDJSON / JSON Lines) offered in
+     * chunks, the records of a line are handed to the sink as it is parsed, see {@link AsyncConversion}.
+     *
+     * @param executor - The executor of the converting thread
+     * @param sink     - The destination of the csv records, the header/column row first
+     * @return Returns the started conversion.
+     * @throws JsonParsingException
+     */
+    public static AsyncConversion parseNdJson2CsvAsync(Executor executor, RowSink sink) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parseNdJson2CsvAsync(executor, sink);
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line with the column/header from
+     * xsd schema json string and writes each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param reader    - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param xsdSchema - The xsd schema json string
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parseNdJson2CsvWithXsd(Reader reader, String xsdSchema, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parseNdJson2CsvWithXsd(reader, xsdSchema, writer);
     }
 
     /**
@@ -131,9 +479,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static String parseXsd2Csv(String json) throws JsonParsingException {
-        log.info("Received request to parse xsd json string to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Header(json));
-        return CsvWriter.write2String(records);
+        return JsonCsvConverter.getDefault().parseXsd2Csv(json);
     }
 
     /**
@@ -144,10 +490,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parseXsd2Csv(String json, String csvFilePath) throws JsonParsingException {
-        ValidationUtil.rejectNull(csvFilePath, "csv file path");
-        log.info("Received request to parse xsd json string to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Header(json));
-        CsvWriter.write2csv(records, csvFilePath);
+        JsonCsvConverter.getDefault().parseXsd2Csv(json, csvFilePath);
     }
 
     /**
@@ -158,10 +501,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parseXsd2Csv(String json, Writer writer) throws JsonParsingException {
-        ValidationUtil.rejectNull(writer, "writer");
-        log.info("Received request to parse xsd json string to csv.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Header(json));
-        CsvWriter.write(records, writer);
+        JsonCsvConverter.getDefault().parseXsd2Csv(json, writer);
     }
 
     /**
@@ -173,10 +513,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static String parse2CsvWithXsd(String json, String xsdSchema) throws JsonParsingException {
-        ValidationUtil.rejectNull(xsdSchema, "xsd schema");
-        log.info("Received request to parse json string to csv with xsd.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json, xsdSchema));
-        return CsvWriter.write2String(records);
+        return JsonCsvConverter.getDefault().parse2CsvWithXsd(json, xsdSchema);
     }
 
     /**
@@ -188,10 +525,7 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parse2CsvWithXsd(String json, String xsdSchema, String csvFilePath) throws JsonParsingException {
-        ValidationUtil.rejectNull(xsdSchema, "xsd schema");
-        log.info("Received request to parse json string to csv with xsd.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json, xsdSchema));
-        CsvWriter.write2csv(records, csvFilePath);
+        JsonCsvConverter.getDefault().parse2CsvWithXsd(json, xsdSchema, csvFilePath);
     }
 
     /**
@@ -203,11 +537,77 @@ public class JsonParser {
      * @throws JsonParsingException
      */
     public static void parse2CsvWithXsd(String json, String xsdSchema, Writer writer) throws JsonParsingException {
-        ValidationUtil.rejectNull(xsdSchema, "xsd schema");
-        ValidationUtil.rejectNull(writer, "writer");
-        log.info("Received request to parse json string to csv with xsd.");
-        List<Object[]> records = JsonReader.parse(json, JsonReader.json2Sheet(json, xsdSchema));
-        CsvWriter.write(records, writer);
+        JsonCsvConverter.getDefault().parse2CsvWithXsd(json, xsdSchema, writer);
+    }
+
+    /**
+     * This method process the json input string and returns the columnar representation.
+     *
+     * @param json - The input json string
+     * @return Returns the columnar sheet.
+     * @throws JsonParsingException
+     */
+    public static ColumnarSheet parse2Columns(String json) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2Columns(json);
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line to the columnar representation.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @return Returns the columnar sheet.
+     * @throws JsonParsingException
+     */
+    public static ColumnarSheet parseNdJson2Columns(Reader reader) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parseNdJson2Columns(reader);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of a pre-declared schema.
+     *
+     * @param json   - The input json string
+     * @param schema - The compiled csv schema
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public static String parse2Csv(String json, CsvSchema schema) throws JsonParsingException {
+        return JsonCsvConverter.getDefault().parse2Csv(json, schema);
+    }
+
+    /**
+     * This method process the input json with the headers/columns of a pre-declared schema and writes csv output
+     * to writer {@link Writer}.
+     *
+     * @param json   - The input json string
+     * @param schema - The compiled csv schema
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parse2Csv(String json, CsvSchema schema, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parse2Csv(json, schema, writer);
+    }
+
+    /**
+     * This method converts newline delimited json (NDJSON / JSON Lines) line by line with the headers/columns of
+     * a pre-declared schema and writes each csv row to writer {@link Writer} as soon as it is complete.
+     *
+     * @param reader - The input json lines reader e.g. FileReader, InputStreamReader, etc.
+     * @param schema - The compiled csv schema
+     * @param writer - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @throws JsonParsingException
+     */
+    public static void parseNdJson2Csv(Reader reader, CsvSchema schema, Writer writer) throws JsonParsingException {
+        JsonCsvConverter.getDefault().parseNdJson2Csv(reader, schema, writer);
+    }
+
+
+    /**
+     * @param separator - The custom header/column separator key, null for default
+     * @param delimiter - The custom delimiter key, null for default
+     * @return Returns the converter for the separator and delimiter.
+     */
+    private static JsonCsvConverter converter(String separator, String delimiter) {
+        return JsonCsvConverter.builder().separator(separator).delimiter(delimiter).build();
     }
 
 }
\ No newline at end of file
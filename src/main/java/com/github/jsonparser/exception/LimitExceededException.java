@@ -0,0 +1,46 @@
+package com.github.jsonparser.exception;
+
+import com.github.jsonparser.util.ExceptionConstants;
+
+/**
+ * Signals that a conversion exceeds one of its configured limits, e.g. the maximum number of csv rows.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class LimitExceededException extends JsonParsingException {
+
+    private static final long serialVersionUID = -2164873305611409573L;
+
+    private final String limit;
+    private final long value;
+
+    /**
+     * Constructs an {@code LimitExceededException} with the name and the value
+     * of the exceeded limit.
+     *
+     * @param limit The name of the limit e.g. rows
+     * @param value The value of the limit
+     */
+    public LimitExceededException(String limit, long value) {
+        super(String.format(ExceptionConstants.STR_LIMIT_EXCEPTION, value, limit));
+        this.limit = limit;
+        this.value = value;
+    }
+
+    /**
+     * @return Returns the name of the exceeded limit e.g. rows
+     */
+    public String getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Returns the value of the exceeded limit.
+     */
+    public long getValue() {
+        return value;
+    }
+
+}
@@ -0,0 +1,417 @@
+package com.github.jsonparser.model;
+
+import com.github.jsonparser.reader.RowSink;
+import com.google.gson.JsonPrimitive;
+
+import java.util.*;
+
+/**
+ * The columnar 2D representation of a json document. The header/column row is kept apart from the values and
+ * each column stores its values in a typed array: integral numbers as long, other numbers as double, booleans
+ * as bits and text as int codes into a dictionary of the distinct values of the column. Missing values are
+ * kept in a bitmap. A column of mixed types is stored as text, the numbers and booleans in it are marked so
+ * they are written exactly as in the row representation. The values can be read column by column without
+ * boxing and the csv written from a sheet is the same as the one written from the rows.
+ * e.g.
+ * <pre>
+ * ColumnarSheet sheet = JsonParser.parse2Columns(json);
+ * ColumnarSheet.Column price = sheet.column(sheet.headers().indexOf("price"));
+ * for (int row = 0; row &lt; sheet.rowCount(); row++) if (!price.isNull(row)) total += price.getDouble(row);
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class ColumnarSheet {
+
+    /**
+     * The storage type of a column.
+     */
+    public enum Type {
+        /**
+         * The column has no values.
+         */
+        EMPTY,
+        /**
+         * The values are integral numbers, see {@link Column#getLong(int)}.
+         */
+        LONG,
+        /**
+         * The values are numbers, see {@link Column#getDouble(int)}.
+         */
+        DOUBLE,
+        /**
+         * The values are booleans, see {@link Column#getBoolean(int)}.
+         */
+        BOOLEAN,
+        /**
+         * The values are dictionary encoded text, see {@link Column#getCode(int)}.
+         */
+        STRING
+    }
+
+    private final List<String> headers;
+    private final Column[] columns;
+    private final int rowCount;
+
+    private ColumnarSheet(List<String> headers, Column[] columns, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @return Returns a new builder, the first row written to it is the header/column row.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the header/column names.
+     */
+    public List<String> headers() {
+        return headers;
+    }
+
+    /**
+     * @return Returns the number of csv records without the header/column row.
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Returns the number of headers/columns.
+     */
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param index - The column index
+     * @return Returns the column values.
+     */
+    public Column column(int index) {
+        return columns[index];
+    }
+
+    /**
+     * The values of a single column.
+     */
+    public static final class Column {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Type type = Type.EMPTY;
+        private final BitSet present = new BitSet();
+        private long[] longs;
+        private double[] doubles;
+        private BitSet booleans;
+        private int[] codes;
+        private List<String> dictionary;
+        // The dictionary codes of numbers and booleans in a text column, written without quotes.
+        private BitSet raw;
+        private Map<String, Integer> textCodes;
+        private Map<String, Integer> rawCodes;
+
+        private Column() {
+        }
+
+        /**
+         * @return Returns the storage type of the column.
+         */
+        public Type type() {
+            return type;
+        }
+
+        /**
+         * @param row - The row index
+         * @return Returns true if the row has no value in this column.
+         */
+        public boolean isNull(int row) {
+            return !present.get(row);
+        }
+
+        /**
+         * @param row - The row index of a present value
+         * @return Returns the value of a {@link Type#LONG} column.
+         */
+        public long getLong(int row) {
+            check(Type.LONG);
+            return longs[row];
+        }
+
+        /**
+         * @param row - The row index of a present value
+         * @return Returns the value of a {@link Type#DOUBLE} or {@link Type#LONG} column.
+         */
+        public double getDouble(int row) {
+            if (type == Type.LONG) return longs[row];
+            check(Type.DOUBLE);
+            return doubles[row];
+        }
+
+        /**
+         * @param row - The row index of a present value
+         * @return Returns the value of a {@link Type#BOOLEAN} column.
+         */
+        public boolean getBoolean(int row) {
+            check(Type.BOOLEAN);
+            return booleans.get(row);
+        }
+
+        /**
+         * @param row - The row index of a present value
+         * @return Returns the dictionary code of the value of a {@link Type#STRING} column.
+         */
+        public int getCode(int row) {
+            check(Type.STRING);
+            return codes[row];
+        }
+
+        /**
+         * @return Returns the distinct values of a {@link Type#STRING} column by dictionary code.
+         */
+        public List<String> dictionary() {
+            check(Type.STRING);
+            return dictionary;
+        }
+
+        /**
+         * @param row - The row index
+         * @return Returns the value as the csv text, or null if the row has no value in this column.
+         */
+        public String getString(int row) {
+            if (isNull(row)) return null;
+            switch (type) {
+                case LONG:
+                    return Long.toString(longs[row]);
+                case DOUBLE:
+                    return Double.toString(doubles[row]);
+                case BOOLEAN:
+                    return booleans.get(row) ? "true" : "false";
+                default:
+                    return dictionary.get(codes[row]);
+            }
+        }
+
+        /**
+         * @param row - The row index of a present value
+         * @return Returns true if the value is text, false if it is a number or boolean.
+         */
+        public boolean isText(int row) {
+            return type == Type.STRING && (raw == null || !raw.get(codes[row]));
+        }
+
+        private void check(Type expected) {
+            if (type != expected)
+                throw new IllegalStateException(String.format("The column values are of type %s, not %s.", type, expected));
+        }
+
+        private void add(int row, Object value) {
+            present.set(row);
+            if (value instanceof JsonPrimitive) {
+                JsonPrimitive primitive = (JsonPrimitive) value;
+                if (primitive.isBoolean()) {
+                    addBoolean(row, primitive.getAsBoolean());
+                } else if (primitive.isNumber()) {
+                    addNumber(row, primitive.getAsNumber());
+                } else {
+                    addText(row, primitive.getAsString(), false);
+                }
+            } else {
+                addText(row, value.toString(), false);
+            }
+        }
+
+        private void addNumber(int row, Number number) {
+            if (number instanceof Long || number instanceof Integer) {
+                addLong(row, number.longValue());
+            } else if (number instanceof Double) {
+                addDouble(row, number.doubleValue());
+            } else {
+                // a number kept as written in the json, only stored as a number if it is written the same way
+                String text = number.toString();
+                if (isLong(text)) {
+                    addLong(row, Long.parseLong(text));
+                } else if (isDouble(text)) {
+                    addDouble(row, Double.parseDouble(text));
+                } else {
+                    addText(row, text, true);
+                }
+            }
+        }
+
+        private void addLong(int row, long value) {
+            if (type == Type.EMPTY) {
+                type = Type.LONG;
+                longs = new long[capacity(row)];
+            }
+            if (type == Type.LONG) {
+                if (row >= longs.length) longs = Arrays.copyOf(longs, capacity(row));
+                longs[row] = value;
+            } else {
+                addText(row, Long.toString(value), true);
+            }
+        }
+
+        private void addDouble(int row, double value) {
+            if (type == Type.EMPTY) {
+                type = Type.DOUBLE;
+                doubles = new double[capacity(row)];
+            }
+            if (type == Type.DOUBLE) {
+                if (row >= doubles.length) doubles = Arrays.copyOf(doubles, capacity(row));
+                doubles[row] = value;
+            } else {
+                addText(row, Double.toString(value), true);
+            }
+        }
+
+        private void addBoolean(int row, boolean value) {
+            if (type == Type.EMPTY) {
+                type = Type.BOOLEAN;
+                booleans = new BitSet();
+            }
+            if (type == Type.BOOLEAN) {
+                booleans.set(row, value);
+            } else {
+                addText(row, value ? "true" : "false", true);
+            }
+        }
+
+        private void addText(int row, String text, boolean number) {
+            if (type != Type.STRING) toText(row);
+            if (row >= codes.length) codes = Arrays.copyOf(codes, capacity(row));
+            codes[row] = code(text, number);
+        }
+
+        /**
+         * This method converts the values before the row to dictionary encoded text.
+         *
+         * @param row - The row of the first value which does not fit the column type
+         */
+        private void toText(int row) {
+            int[] text = new int[capacity(row)];
+            dictionary = new ArrayList<>();
+            textCodes = new HashMap<>();
+            Type previous = type;
+            type = Type.STRING;
+            for (int i = present.nextSetBit(0); i >= 0 && i < row; i = present.nextSetBit(i + 1)) {
+                switch (previous) {
+                    case LONG:
+                        text[i] = code(Long.toString(longs[i]), true);
+                        break;
+                    case DOUBLE:
+                        text[i] = code(Double.toString(doubles[i]), true);
+                        break;
+                    default:
+                        text[i] = code(booleans.get(i) ? "true" : "false", true);
+                }
+            }
+            codes = text;
+            longs = null;
+            doubles = null;
+            booleans = null;
+        }
+
+        private int code(String text, boolean number) {
+            if (number && rawCodes == null) {
+                rawCodes = new HashMap<>();
+                raw = new BitSet();
+            }
+            Map<String, Integer> codes = number ? rawCodes : textCodes;
+            Integer code = codes.get(text);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(text);
+                codes.put(text, code);
+                if (number) raw.set(code);
+            }
+            return code;
+        }
+
+        private static int capacity(int row) {
+            return Math.max(INITIAL_CAPACITY, Math.max(row + 1, row + (row >> 1)));
+        }
+
+        private void trim(int rowCount) {
+            if (longs != null) longs = Arrays.copyOf(longs, rowCount);
+            if (doubles != null) doubles = Arrays.copyOf(doubles, rowCount);
+            if (codes != null) codes = Arrays.copyOf(codes, rowCount);
+            if (dictionary != null) dictionary = Collections.unmodifiableList(new ArrayList<>(dictionary));
+            textCodes = null;
+            rawCodes = null;
+        }
+
+        private static boolean isLong(String text) {
+            int start = text.startsWith("-") ? 1 : 0;
+            if (text.length() == start || text.length() - start > 19) return false;
+            for (int i = start; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') return false;
+            }
+            try {
+                return Long.toString(Long.parseLong(text)).equals(text);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static boolean isDouble(String text) {
+            try {
+                return Double.toString(Double.parseDouble(text)).equals(text);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The builder of a {@link ColumnarSheet} from csv records. It is a {@link RowSink}, so the rows of the
+     * streaming readers are stored as they are produced, without keeping the rows in memory.
+     */
+    public static final class Builder implements RowSink {
+
+        private List<String> headers;
+        private Column[] columns;
+        private int rows;
+
+        private Builder() {
+        }
+
+        /**
+         * This method adds a csv record, the first one is the header/column row.
+         *
+         * @param row - The csv record
+         */
+        @Override
+        public void write(Object[] row) {
+            if (headers == null) {
+                List<String> names = new ArrayList<>(row.length);
+                for (Object name : row) names.add(String.valueOf(name));
+                headers = Collections.unmodifiableList(names);
+                columns = new Column[row.length];
+                for (int i = 0; i < columns.length; i++) columns[i] = new Column();
+                return;
+            }
+            if (row.length != columns.length)
+                throw new IllegalArgumentException(String.format("The row has %d values, the header/column row has %d.", row.length, columns.length));
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] != null) columns[i].add(rows, row[i]);
+            }
+            rows++;
+        }
+
+        /**
+         * @return Returns the sheet of the records written, the builder must not be used anymore.
+         */
+        public ColumnarSheet build() {
+            if (headers == null) throw new IllegalStateException("The header/column row is not written.");
+            for (Column column : columns) column.trim(rows);
+            return new ColumnarSheet(headers, columns, rows);
+        }
+    }
+}
@@ -12,6 +12,9 @@ import java.util.Map;
  * 1. JSON primitive
  * 2. JSON Object
  * 3. JSON Array
+ * The order is applied while visiting the members of the existing json object with {@link #isPrimitive},
+ * {@link #isObject} and {@link #isArray} passes and {@link #normalize(JsonPrimitive)} for the values, which keeps
+ * the json as it is. Rebuilding the json with {@link #orderJson(JsonElement)} is deprecated.
  *
  * @author Ram Alapure
  * @version 1.0
@@ -30,6 +33,15 @@ public class JsonOrder {
         gson = gsonBuilder.create();
     }
 
+    /**
+     * This method rebuilds the json object with its members in order, through a map of the members.
+     *
+     * @param ele - The json object
+     * @return Returns the ordered json object.
+     * @deprecated The conversion visits the members in order without rebuilding the json, see {@link #isPrimitive},
+     * {@link #isObject}, {@link #isArray} and {@link #normalize(JsonPrimitive)}.
+     */
+    @Deprecated
     public static JsonElement orderJson(JsonElement ele) {
         Map<String, Object> jsonPre = new LinkedHashMap<>();
         Map<String, Object> jsonArr = new LinkedHashMap<>();
@@ -40,19 +52,15 @@ public class JsonOrder {
 
         //Iterating the Map object to to get type of Object
         for (Map.Entry<String, Object> entry : origMap.entrySet()) {
-            try {
-                //adding check if value of key in json is null
-                if (entry.getValue() == null || entry.getValue().getClass().getSimpleName().equals("ArrayList")) {
-                    //if Object is of type ArrayList push it to jsonArr Map
-                    jsonArr.put(entry.getKey(), entry.getValue());
-                } else if (entry.getValue().getClass().getSimpleName().equals("LinkedTreeMap")) {
-                    jsonObj.put(entry.getKey(), entry.getValue());
-                } else {
-                    //if Object is of type Primitive push it to jsonPre.
-                    jsonPre.put(entry.getKey(), entry.getValue());
-                }
-            } catch (Exception ex) {
-                ex.printStackTrace();
+            //adding check if value of key in json is null
+            if (entry.getValue() == null || entry.getValue().getClass().getSimpleName().equals("ArrayList")) {
+                //if Object is of type ArrayList push it to jsonArr Map
+                jsonArr.put(entry.getKey(), entry.getValue());
+            } else if (entry.getValue().getClass().getSimpleName().equals("LinkedTreeMap")) {
+                jsonObj.put(entry.getKey(), entry.getValue());
+            } else {
+                //if Object is of type Primitive push it to jsonPre.
+                jsonPre.put(entry.getKey(), entry.getValue());
             }
         }
 
@@ -64,6 +72,44 @@ public class JsonOrder {
         return gson.toJsonTree(jsonPre, LinkedHashMap.class);
     }
 
+    /**
+     * @param ele - The json object member value
+     * @return Returns true if the member is ordered first, as a JSON primitive.
+     */
+    public static boolean isPrimitive(JsonElement ele) {
+        return ele.isJsonPrimitive();
+    }
+
+    /**
+     * @param ele - The json object member value
+     * @return Returns true if the member is ordered second, as a JSON object.
+     */
+    public static boolean isObject(JsonElement ele) {
+        return ele.isJsonObject();
+    }
+
+    /**
+     * @param ele - The json object member value
+     * @return Returns true if the member is ordered last, as a JSON array. Null members are dropped by the order.
+     */
+    public static boolean isArray(JsonElement ele) {
+        return ele.isJsonArray();
+    }
+
+    /**
+     * This method returns the primitive value the way {@link #orderJson(JsonElement)} writes it, numbers are read as
+     * double and an integral double is written as long.
+     *
+     * @param primitive - The json primitive inside an ordered json object
+     * @return Returns the ordered json primitive.
+     */
+    public static JsonPrimitive normalize(JsonPrimitive primitive) {
+        if (!primitive.isNumber()) return primitive;
+        double value = primitive.getAsDouble();
+        if (value == (long) value) return new JsonPrimitive((long) value);
+        return new JsonPrimitive(value);
+    }
+
     private static JsonElement serialize(Double src, Type typeOfSrc, JsonSerializationContext context) {
         if (src == src.longValue())
             return new JsonPrimitive(src.longValue());
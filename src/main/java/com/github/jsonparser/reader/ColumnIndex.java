@@ -0,0 +1,328 @@
+package com.github.jsonparser.reader;
+
+import java.util.*;
+
+/**
+ * The compiled headers/columns of a csv. The normalized header paths e.g. /address/city are kept as a trie
+ * keyed by path segment, so a json leaf is resolved to its column while the json is walked, without building
+ * the json path string and without any regex evaluation. Like the header paths, array indexes are not part
+ * of the trie except for primitives directly inside an array e.g. /phoneNumbers/0.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class ColumnIndex {
+
+    // The json root is open with an empty last segment, see segments(String, boolean).
+    private final Node root = new Node("", null, "");
+    private final List<String> headers = new ArrayList<>();
+
+    /**
+     * This method compiles the header/column list into a column index.
+     *
+     * @param headers - The header/column paths e.g. /address/city
+     * @return Returns the column index.
+     */
+    public static ColumnIndex of(List<String> headers) {
+        ColumnIndex index = new ColumnIndex();
+        for (String header : headers) {
+            Node node = index.root;
+            int start = header.startsWith("/") ? 1 : 0;
+            int end;
+            do {
+                end = header.indexOf('/', start);
+                node = node.segment(end < 0 ? header.substring(start) : header.substring(start, end));
+                start = end + 1;
+            } while (end >= 0);
+            index.register(node);
+        }
+        return index;
+    }
+
+    /**
+     * @return Returns the node of the json root.
+     */
+    Node root() {
+        return root;
+    }
+
+    /**
+     * This method assigns the next column to the node if it has none yet.
+     *
+     * @param node - The leaf node
+     * @return Returns the column of the node.
+     */
+    int register(Node node) {
+        node = node.leaf();
+        if (node.column < 0) {
+            node.column = headers.size();
+            headers.add(node.header);
+        }
+        return node.column;
+    }
+
+    /**
+     * @param header - The header/column path e.g. /address/city
+     * @return Returns the column of the header/column or -1 if not present.
+     */
+    public int column(String header) {
+        Node node = root;
+        int start = header.startsWith("/") ? 1 : 0;
+        int end;
+        do {
+            end = header.indexOf('/', start);
+            String segment = end < 0 ? header.substring(start) : header.substring(start, end);
+            node = node.children == null ? null : node.children.get(segment);
+            if (node == null) return -1;
+            start = end + 1;
+        } while (end >= 0);
+        return node.column;
+    }
+
+    /**
+     * @return Returns the number of headers/columns.
+     */
+    public int size() {
+        return headers.size();
+    }
+
+    /**
+     * @return Returns the header/column paths in column order.
+     */
+    public List<String> headers() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * @param key - The json key
+     * @return Returns true if the key is a single path segment of itself, i.e. it is not empty and has no path
+     * characters.
+     */
+    static boolean plain(String key) {
+        if (key.isEmpty()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '/' || c == '$' || c == '[' || c == ']' || c == '\'') return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method normalizes a json key appended to a path the same way as the json path normalization does for
+     * the whole path $['key']['key']... i.e. the $ signs, array indexes and brackets are removed and each run of
+     * quotes becomes a segment separator per pair of quotes. The quote which closes a key is pending until the
+     * next key, so the key can continue the last segment of the path if that quote is consumed, the last segment
+     * is then open. The path of the json root is open with an empty last segment.
+     *
+     * @param key  - The json key
+     * @param open - Whether the last segment of the path is open
+     * @return Returns the normalized segments of the key.
+     */
+    static Segments segments(String key, boolean open) {
+        List<String> segments = new ArrayList<>(2);
+        StringBuilder segment = new StringBuilder();
+        // a closed path has the closing quote of its last key pending
+        boolean quote = !open;
+        quote = normalize('\'', quote, segment, segments);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '$' || c == ']') continue;
+            if (c == '[') {
+                // an array index is removed as a whole, the $ signs are removed before
+                int end = i + 1;
+                while (end < key.length() && (key.charAt(end) >= '0' && key.charAt(end) <= '9'
+                        || key.charAt(end) == '$')) end++;
+                if (end < key.length() && key.charAt(end) == ']') i = end;
+                continue;
+            }
+            quote = normalize(c, quote, segment, segments);
+        }
+        quote = normalize('\'', quote, segment, segments);
+        segments.add(segment.toString());
+        return new Segments(segments.toArray(new String[0]), !quote);
+    }
+
+    private static boolean normalize(char c, boolean quote, StringBuilder segment, List<String> segments) {
+        if (c == '\'' && !quote) return true;
+        if (c == '\'' || c == '/') {
+            segments.add(segment.toString());
+            segment.setLength(0);
+        } else {
+            segment.append(c);
+        }
+        return false;
+    }
+
+    /**
+     * A json key normalized into path segments, see {@link #segments(String, boolean)}.
+     */
+    static final class Segments {
+
+        // The segments of the key, the first one continues the open last segment of the path, it is empty for a closed path.
+        final String[] segments;
+        // Whether the last segment stays open.
+        final boolean open;
+
+        private Segments(String[] segments, boolean open) {
+            this.segments = segments;
+            this.open = open;
+        }
+    }
+
+    /**
+     * The node of a normalized path segment, holding the column of the path if it is a header/column. A path
+     * with an open last segment, see {@link #segments(String, boolean)}, is a node of its own outside of the trie,
+     * it keeps the node of the path without the last segment and the last segment.
+     */
+    static final class Node {
+
+        // The node returned for paths that are not present, it never has children or a column.
+        static final Node EMPTY = new Node(null, null, null);
+
+        // The array indexes up to this value are resolved without a map lookup.
+        private static final int MAX_INDEX = 99999;
+
+        private final String header;
+        // The node of the path without the open last segment, null if the last segment is closed or for the root.
+        private final Node base;
+        // The open last segment, null if it is closed.
+        private final String open;
+        private Map<String, Node> children;
+        private Node[] indexes;
+        private int column = -1;
+
+        private Node(String header, Node base, String open) {
+            this.header = header;
+            this.base = base;
+            this.open = open;
+        }
+
+        /**
+         * @return Returns the header/column path of this node e.g. /address/city
+         */
+        String header() {
+            return header;
+        }
+
+        /**
+         * @return Returns the column of this path or -1 if it is not a header/column.
+         */
+        int column() {
+            if (base == null) return column;
+            Node leaf = base.children == null ? null : base.children.get(open);
+            return leaf == null ? -1 : leaf.column;
+        }
+
+        /**
+         * @param key - The json object key
+         * @return Returns the node of the key or {@link #EMPTY} if not present.
+         */
+        Node child(String key) {
+            if (this == EMPTY) return EMPTY;
+            // a segment has no path characters, so a key found as a segment is plain
+            if (base == null && !key.isEmpty()) {
+                Node node = children == null ? null : children.get(key);
+                if (node != null) return node;
+                if (plain(key)) return EMPTY;
+            }
+            return resolve(key, false);
+        }
+
+        /**
+         * @param index - The json array index of a primitive
+         * @return Returns the node of the index or {@link #EMPTY} if not present.
+         */
+        Node index(int index) {
+            if (index > MAX_INDEX || base != null) return child(Integer.toString(index));
+            return indexes != null && index < indexes.length && indexes[index] != null ? indexes[index] : EMPTY;
+        }
+
+        /**
+         * @param key - The json object key
+         * @return Returns the node of the key, it is created if not present.
+         */
+        Node add(String key) {
+            if (this == EMPTY) return EMPTY;
+            if (base == null && !key.isEmpty()) {
+                Node node = children == null ? null : children.get(key);
+                if (node != null) return node;
+                if (plain(key)) return segment(key);
+            }
+            return resolve(key, true);
+        }
+
+        /**
+         * @param index - The json array index of a primitive
+         * @return Returns the node of the index, it is created if not present.
+         */
+        Node addIndex(int index) {
+            Node node = index(index);
+            return node != EMPTY ? node : add(Integer.toString(index));
+        }
+
+        /**
+         * This method resolves a key with path characters segment by segment.
+         *
+         * @param key    - The json object key
+         * @param create - Whether the missing nodes are created
+         * @return Returns the node of the key, or {@link #EMPTY} if not present and not created.
+         */
+        private Node resolve(String key, boolean create) {
+            Segments normalized = segments(key, open != null);
+            String[] segments = normalized.segments;
+            Node node = base != null ? base : this;
+            // the first segment continues the open last segment, a closed path has none
+            String last = open != null ? open + segments[0] : null;
+            for (int i = 1; i < segments.length; i++) {
+                if (last != null) node = node.next(last, create);
+                last = segments[i];
+            }
+            if (node == EMPTY) return EMPTY;
+            if (normalized.open) return new Node(node.header + "/" + last, node, last);
+            return node.next(last, create);
+        }
+
+        /**
+         * @return Returns the trie node of this path, it is created for an open last segment if not present.
+         */
+        Node leaf() {
+            return base == null ? this : base.segment(open);
+        }
+
+        private Node next(String segment, boolean create) {
+            if (this == EMPTY) return EMPTY;
+            if (create) return segment(segment);
+            Node node = children == null ? null : children.get(segment);
+            return node == null ? EMPTY : node;
+        }
+
+        private Node segment(String segment) {
+            if (children == null) children = new HashMap<>();
+            Node node = children.get(segment);
+            if (node == null) {
+                node = new Node(header + "/" + segment, null, null);
+                children.put(segment, node);
+                int index = arrayIndex(segment);
+                if (index >= 0) {
+                    if (indexes == null) indexes = new Node[Math.max(index + 1, 8)];
+                    else if (indexes.length <= index) indexes = Arrays.copyOf(indexes, Math.max(index + 1, indexes.length * 2));
+                    indexes[index] = node;
+                }
+            }
+            return node;
+        }
+
+        private static int arrayIndex(String segment) {
+            if (segment.isEmpty() || segment.length() > 6 || (segment.charAt(0) == '0' && segment.length() > 1))
+                return -1;
+            int index = 0;
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c < '0' || c > '9') return -1;
+                index = index * 10 + c - '0';
+            }
+            return index <= MAX_INDEX ? index : -1;
+        }
+    }
+}
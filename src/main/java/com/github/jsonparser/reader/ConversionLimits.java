@@ -0,0 +1,509 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.exception.LimitExceededException;
+import com.github.jsonparser.util.ValidationUtil;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class bounds the size of a conversion, because a modest json document with arrays nested in arrays can
+ * expand to millions of csv rows. The limits are on the csv rows without the header/column row, the
+ * headers/columns, the nesting depth of the json and the output size. The output size is estimated in chars
+ * from the text of the cells of the rows without the header/column row, a delimiter per cell and no quotes.
+ * The nesting depth and the headers/columns of a json string are checked before it is flattened, from an
+ * {@link Estimate} of its array cardinalities. The rows and the output size are checked while the rows are
+ * produced, so a conversion of a json string stops flattening at two rows more than the row limit and a
+ * streamed conversion stops at the limit while the rows are read. When a limit is exceeded, the conversion either
+ * fails with a {@link LimitExceededException} or is truncated to the first rows and headers/columns within the
+ * limits, see {@link Action}. The nesting depth can not be truncated, a json document which is nested deeper
+ * always fails. The streamed conversions check it as the json is read, except for the json path columns and
+ * the normalized tables. A conversion of a json string with a row or output size limit flattens on the calling
+ * thread.
+ * e.g.
+ * <pre>
+ * ConversionLimits limits = ConversionLimits.builder()
+ *         .maxRows(1_000_000)
+ *         .maxColumns(500)
+ *         .maxDepth(32)
+ *         .maxOutputSize(256L &lt;&lt; 20)
+ *         .action(ConversionLimits.Action.FAIL)
+ *         .build();
+ * JsonCsvConverter converter = JsonCsvConverter.builder().limits(limits).build();
+ * </pre>
+ * The limits are immutable and can be shared between threads and conversions.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class ConversionLimits {
+
+    // The names of the limits, see LimitExceededException#getLimit().
+    public static final String ROWS = "rows";
+    public static final String COLUMNS = "headers/columns";
+    public static final String DEPTH = "nesting levels";
+    public static final String OUTPUT_SIZE = "chars of output";
+
+    /**
+     * What a conversion does when it exceeds a limit.
+     */
+    public enum Action {
+        /**
+         * The conversion fails with a {@link LimitExceededException}.
+         */
+        FAIL,
+        /**
+         * The csv is truncated to the first rows and headers/columns within the limits.
+         */
+        TRUNCATE
+    }
+
+    private final long maxRows;
+    private final int maxColumns;
+    private final int maxDepth;
+    private final long maxOutputSize;
+    private final Action action;
+
+    private ConversionLimits(Builder builder) {
+        this.maxRows = builder.maxRows;
+        this.maxColumns = builder.maxColumns;
+        this.maxDepth = builder.maxDepth;
+        this.maxOutputSize = builder.maxOutputSize;
+        this.action = builder.action;
+    }
+
+    /**
+     * @return Returns a new builder without limits, which fails when a limit is exceeded.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the maximum number of csv rows without the header/column row.
+     */
+    public long maxRows() {
+        return maxRows;
+    }
+
+    /**
+     * @return Returns the maximum number of headers/columns.
+     */
+    public int maxColumns() {
+        return maxColumns;
+    }
+
+    /**
+     * @return Returns the maximum nesting depth of the json.
+     */
+    public int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return Returns the maximum estimated csv size in chars.
+     */
+    public long maxOutputSize() {
+        return maxOutputSize;
+    }
+
+    /**
+     * @return Returns what a conversion does when it exceeds a limit.
+     */
+    public Action action() {
+        return action;
+    }
+
+    /**
+     * This method estimates the size of the csv of a json string from its array cardinalities, without
+     * flattening it. The json is parsed and walked twice, once to count its headers/columns and once to count
+     * its rows.
+     *
+     * @param json - The input json string
+     * @return Returns the estimate.
+     * @throws JsonParsingException
+     */
+    public static Estimate estimate(String json) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        JsonElement ele = com.google.gson.JsonParser.parseString(json);
+        return estimate(ele, JsonStreamReader.columns(ele).size());
+    }
+
+    /**
+     * This method estimates the size of the csv of a parsed json document in a single walk over the document.
+     *
+     * @param ele     - The parsed json document
+     * @param columns - The number of headers/columns
+     * @return Returns the estimate.
+     */
+    static Estimate estimate(JsonElement ele, int columns) {
+        long[] counts = new long[2];
+        count(ele, false, 1, counts);
+        // the row of the document itself
+        return new Estimate(counts[0] + 1, columns, (int) counts[1]);
+    }
+
+    /**
+     * This method counts the rows the flattening adds for the json element, a row for each object in an array
+     * unless it is replaced by the rows of an array of objects in it, and the nesting depth.
+     */
+    private static void count(JsonElement ele, boolean inArray, int depth, long[] counts) {
+        if (ele.isJsonObject()) {
+            counts[1] = Math.max(counts[1], depth);
+            if (inArray && !JsonReader.isInnerArray(ele)) counts[0]++;
+            for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet())
+                count(entry.getValue(), false, depth + 1, counts);
+        } else if (ele.isJsonArray()) {
+            counts[1] = Math.max(counts[1], depth);
+            for (JsonElement element : ele.getAsJsonArray()) count(element, true, depth + 1, counts);
+        }
+    }
+
+    /**
+     * @return Returns true if the rows must be flattened on a single thread to be checked as they are added.
+     */
+    boolean sequential() {
+        return maxRows != Long.MAX_VALUE || maxOutputSize != Long.MAX_VALUE;
+    }
+
+    /**
+     * This method checks the estimate of a json document before it is flattened. The rows of the estimate are
+     * not checked, the duplicate check may still remove some of them. An exceeded limit stops the records of the
+     * document, it is thrown once they are finished.
+     *
+     * @param estimate - The estimate of the document
+     * @param records  - The records of the document, see {@link #records()}
+     */
+    void check(Estimate estimate, List<Object[]> records) {
+        Records limited = (Records) records;
+        if (estimate.depth() > maxDepth) limited.stop(new LimitExceededException(DEPTH, maxDepth));
+        else if (estimate.columns() > maxColumns && action == Action.FAIL)
+            limited.stop(new LimitExceededException(COLUMNS, maxColumns));
+    }
+
+    /**
+     * @param depth - The nesting depth of the json read so far
+     * @throws LimitExceededException
+     */
+    void checkDepth(int depth) throws LimitExceededException {
+        if (depth > maxDepth) throw new LimitExceededException(DEPTH, maxDepth);
+    }
+
+    /**
+     * @param columns - The number of headers/columns
+     * @return Returns the number of headers/columns within the limit.
+     * @throws LimitExceededException
+     */
+    int columns(int columns) throws LimitExceededException {
+        if (columns > maxColumns && action == Action.FAIL) throw new LimitExceededException(COLUMNS, maxColumns);
+        return Math.min(columns, maxColumns);
+    }
+
+    /**
+     * @return Returns the list of csv records which checks the rows and the output size as they are added.
+     */
+    List<Object[]> records() {
+        return new Records();
+    }
+
+    /**
+     * @param records - The records of a json document
+     * @return Returns true if the records do not take any more rows, so the flattening can stop.
+     */
+    static boolean full(List<Object[]> records) {
+        return records instanceof Records && ((Records) records).exceeded != null;
+    }
+
+    /**
+     * This method checks the complete records and truncates them to the limits if so configured.
+     *
+     * @param records - The records with the header/column row, see {@link #records()}
+     * @return Returns the records.
+     * @throws LimitExceededException
+     */
+    List<Object[]> finish(List<Object[]> records) throws LimitExceededException {
+        Records limited = (Records) records;
+        if (limited.exceeded != null && (action == Action.FAIL || limited.exceeded.getLimit().equals(DEPTH)))
+            throw limited.exceeded;
+        limited.exceeded = null;
+        if (records.size() - 1 > maxRows) {
+            if (action == Action.FAIL) throw new LimitExceededException(ROWS, maxRows);
+            records.subList((int) maxRows + 1, records.size()).clear();
+        }
+        if (limited.chars > maxOutputSize) {
+            if (action == Action.FAIL) throw new LimitExceededException(OUTPUT_SIZE, maxOutputSize);
+            int end = records.size();
+            for (long chars = limited.chars; chars > maxOutputSize && end > 1; ) chars -= chars(records.get(--end));
+            records.subList(end, records.size()).clear();
+        }
+        if (!records.isEmpty() && records.get(0).length > maxColumns)
+            records.replaceAll(row -> row.length > maxColumns ? Arrays.copyOf(row, maxColumns) : row);
+        return records;
+    }
+
+    /**
+     * This method guards a sink of streamed csv records, the records are checked before they are written to the
+     * sink. The header/column row is truncated to the header/column limit.
+     *
+     * @param sink - The destination of the csv records, the header/column row first
+     * @return Returns the guarded sink.
+     */
+    Sink sink(RowSink sink) {
+        return new Sink(sink, true);
+    }
+
+    /**
+     * This method guards a sink of streamed csv records without the header/column row, which is only known
+     * once all rows are produced, see {@link #columns(int)}.
+     *
+     * @param sink - The destination of the csv records
+     * @return Returns the guarded sink.
+     */
+    Sink rows(RowSink sink) {
+        return new Sink(sink, false);
+    }
+
+    /**
+     * @return Returns the estimated csv size of the cells of the record within the header/column limit.
+     */
+    private long chars(Object[] row) {
+        int width = Math.min(row.length, maxColumns);
+        long chars = width;
+        for (int i = 0; i < width; i++) {
+            Object cell = row[i];
+            if (cell instanceof JsonPrimitive) chars += ((JsonPrimitive) cell).getAsString().length();
+            else if (cell != null) chars += cell.toString().length();
+        }
+        return chars;
+    }
+
+    /**
+     * The estimated size of the csv of a json document.
+     */
+    public static final class Estimate {
+
+        private final long rows;
+        private final int columns;
+        private final int depth;
+
+        private Estimate(long rows, int columns, int depth) {
+            this.rows = rows;
+            this.columns = columns;
+            this.depth = depth;
+        }
+
+        /**
+         * @return Returns the csv rows before the duplicate rows are removed, an upper bound of the csv rows.
+         */
+        public long rows() {
+            return rows;
+        }
+
+        /**
+         * @return Returns the number of headers/columns.
+         */
+        public int columns() {
+            return columns;
+        }
+
+        /**
+         * @return Returns the number of cells of the rows, an upper bound of the csv cells.
+         */
+        public long cells() {
+            return rows > Long.MAX_VALUE / Math.max(columns, 1) ? Long.MAX_VALUE : rows * columns;
+        }
+
+        /**
+         * @return Returns the nesting depth of the json, 0 for a primitive.
+         */
+        public int depth() {
+            return depth;
+        }
+    }
+
+    /**
+     * The csv records of a json string, the rows and the output size are checked as the rows are added. Only
+     * the most recent row can still be removed by a duplicate check, so the records stop when a row is added
+     * after one row more than the row limit. Once stopped, the records are no longer changed by the flattening.
+     */
+    private final class Records extends ArrayList<Object[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private long chars;
+        // The limit which stopped the records, null while they take rows.
+        private LimitExceededException exceeded;
+
+        private void stop(LimitExceededException exceeded) {
+            if (this.exceeded == null) this.exceeded = exceeded;
+        }
+
+        @Override
+        public boolean add(Object[] row) {
+            // the header/column row is renamed once the records are complete
+            if (isEmpty()) return super.add(row);
+            if (size() - 1 > maxRows) stop(new LimitExceededException(ROWS, maxRows));
+            else if (chars > maxOutputSize) stop(new LimitExceededException(OUTPUT_SIZE, maxOutputSize));
+            if (exceeded != null) return false;
+            chars += chars(row);
+            return super.add(row);
+        }
+
+        @Override
+        public Object[] remove(int index) {
+            if (exceeded != null) return null;
+            Object[] row = super.remove(index);
+            if (index > 0) chars -= chars(row);
+            return row;
+        }
+
+        @Override
+        public Object[] set(int index, Object[] row) {
+            Object[] old = super.set(index, row);
+            if (index > 0) chars += chars(row) - chars(old);
+            return old;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            for (int i = Math.max(fromIndex, 1); i < toIndex; i++) chars -= chars(get(i));
+            super.removeRange(fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * The sink of streamed csv records, which are complete as they are written. A sink can only fail with an
+     * io exception, so an exceeded limit stops the reader with one and the reader throws the limit instead, see
+     * {@link #rethrow()}.
+     */
+    final class Sink implements RowSink {
+
+        private final RowSink sink;
+        private long rows;
+        private long chars;
+        private int width = -1;
+        private boolean full;
+        private LimitExceededException exceeded;
+
+        private Sink(RowSink sink, boolean header) {
+            this.sink = sink;
+            if (!header) width = Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            if (width < 0) {
+                if (row.length > maxColumns && action == Action.FAIL) stop(new LimitExceededException(COLUMNS, maxColumns));
+                width = Math.min(row.length, maxColumns);
+                sink.write(row.length > width ? Arrays.copyOf(row, width) : row);
+                return;
+            }
+            if (full) return;
+            long size = chars(row);
+            if (rows >= maxRows || chars + size > maxOutputSize) {
+                if (action == Action.FAIL) {
+                    stop(rows >= maxRows ? new LimitExceededException(ROWS, maxRows)
+                            : new LimitExceededException(OUTPUT_SIZE, maxOutputSize));
+                }
+                full = true;
+                return;
+            }
+            chars += size;
+            rows++;
+            sink.write(row.length > width ? Arrays.copyOf(row, width) : row);
+        }
+
+        /**
+         * This method throws the limit the sink stopped the reader with, if any.
+         *
+         * @throws LimitExceededException
+         */
+        void rethrow() throws LimitExceededException {
+            if (exceeded != null) throw exceeded;
+        }
+
+        private void stop(LimitExceededException exceeded) throws IOException {
+            this.exceeded = exceeded;
+            throw new IOException(exceeded.getMessage());
+        }
+    }
+
+    /**
+     * The builder of immutable {@link ConversionLimits}.
+     */
+    public static final class Builder {
+
+        private long maxRows = Long.MAX_VALUE;
+        private int maxColumns = Integer.MAX_VALUE;
+        private int maxDepth = Integer.MAX_VALUE;
+        private long maxOutputSize = Long.MAX_VALUE;
+        private Action action = Action.FAIL;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxRows - The maximum number of csv rows without the header/column row, at least 1
+         * @return Returns this builder.
+         */
+        public Builder maxRows(long maxRows) {
+            if (maxRows < 1 || maxRows >= Integer.MAX_VALUE) throw new IllegalArgumentException("The row limit must be positive and below 2^31 - 1.");
+            this.maxRows = maxRows;
+            return this;
+        }
+
+        /**
+         * @param maxColumns - The maximum number of headers/columns, at least 1
+         * @return Returns this builder.
+         */
+        public Builder maxColumns(int maxColumns) {
+            if (maxColumns < 1) throw new IllegalArgumentException("The header/column limit must be positive.");
+            this.maxColumns = maxColumns;
+            return this;
+        }
+
+        /**
+         * @param maxDepth - The maximum nesting depth of the json, at least 1
+         * @return Returns this builder.
+         */
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 1) throw new IllegalArgumentException("The nesting depth limit must be positive.");
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * @param maxOutputSize - The maximum estimated csv size in chars, at least 1
+         * @return Returns this builder.
+         */
+        public Builder maxOutputSize(long maxOutputSize) {
+            if (maxOutputSize < 1) throw new IllegalArgumentException("The output size limit must be positive.");
+            this.maxOutputSize = maxOutputSize;
+            return this;
+        }
+
+        /**
+         * @param action - What a conversion does when it exceeds a limit, FAIL by default
+         * @return Returns this builder.
+         */
+        public Builder action(Action action) {
+            if (action == null) throw new IllegalArgumentException("The action must not be null.");
+            this.action = action;
+            return this;
+        }
+
+        /**
+         * @return Returns the limits.
+         */
+        public ConversionLimits build() {
+            return new ConversionLimits(this);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.util.AppConstants;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class declares the headers/columns of a csv up front, so conversions skip the header/column discovery.
+ * A schema is an ordered list of column paths in the header/column path format e.g. /address/city or
+ * /phoneNumbers/0, each with an optional type and format, and the header/column separator. It is compiled
+ * once when it is built, it is immutable and can be shared between threads and conversions.
+ * In strict mode the values of json paths outside of the schema are dropped, in lenient mode their
+ * headers/columns are discovered from each document and appended after the schema columns.
+ * A typed column converts its values to the type, a value which can not be converted is left empty.
+ * A format is applied with {@link String#format(Locale, String, Object...)} in the root locale, numbers are
+ * passed as {@link BigDecimal}, booleans as {@link Boolean} and all other values as {@link String}.
+ * e.g.
+ * <pre>
+ * CsvSchema schema = CsvSchema.builder()
+ *         .column("/id", CsvSchema.Type.NUMBER)
+ *         .column("/price", CsvSchema.Type.NUMBER, "%.2f")
+ *         .column("/address/city")
+ *         .build();
+ * String csv = JsonParser.parse2Csv(json, schema);
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class CsvSchema {
+
+    /**
+     * The type of the values of a column.
+     */
+    public enum Type {
+        /**
+         * The values are written as they are in the json.
+         */
+        ANY,
+        /**
+         * The values are written as text.
+         */
+        STRING,
+        /**
+         * Json numbers and strings holding a json number.
+         */
+        NUMBER,
+        /**
+         * Json booleans and the strings "true" and "false" in any case.
+         */
+        BOOLEAN
+    }
+
+    private final ColumnIndex columns;
+    private final Type[] types;
+    private final String[] formats;
+    private final boolean strict;
+    private final boolean typed;
+    private final String separator;
+
+    private CsvSchema(Builder builder) {
+        this.columns = ColumnIndex.of(builder.paths);
+        this.types = builder.types.toArray(new Type[0]);
+        this.formats = builder.formats.toArray(new String[0]);
+        this.strict = builder.strict;
+        this.separator = builder.separator;
+        boolean typed = false;
+        for (int i = 0; i < types.length; i++) typed |= types[i] != Type.ANY || formats[i] != null;
+        this.typed = typed;
+    }
+
+    /**
+     * @return Returns a new strict builder with the default separator "_".
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the header/column paths of the schema in column order.
+     */
+    public List<String> paths() {
+        return columns.headers();
+    }
+
+    /**
+     * @return Returns true if values outside of the schema are dropped, false if their columns are appended.
+     */
+    public boolean isStrict() {
+        return strict;
+    }
+
+    /**
+     * @return Returns the header/column separator key.
+     */
+    public String separator() {
+        return separator;
+    }
+
+    /**
+     * @return Returns the compiled headers/columns of the schema.
+     */
+    ColumnIndex columns() {
+        return columns;
+    }
+
+    /**
+     * This method appends the discovered headers/columns outside of the schema after the schema columns.
+     *
+     * @param discovered - The headers/columns discovered from a json document
+     * @return Returns the headers/columns of the schema followed by the other discovered ones.
+     */
+    ColumnIndex columns(ColumnIndex discovered) {
+        List<String> headers = new ArrayList<>(columns.headers());
+        for (String header : discovered.headers()) {
+            if (columns.column(header) < 0) headers.add(header);
+        }
+        return headers.size() == columns.size() ? columns : ColumnIndex.of(headers);
+    }
+
+    /**
+     * This method converts the values of the typed columns of the csv records.
+     *
+     * @param records - The list of processed csv records, index 0 is the header/column row
+     */
+    void format(List<Object[]> records) {
+        if (!typed) return;
+        for (int i = 1; i < records.size(); i++) format(records.get(i));
+    }
+
+    /**
+     * This method converts the values of the typed columns of a csv record.
+     *
+     * @param row - The csv record
+     * @return Returns the record.
+     */
+    Object[] format(Object[] row) {
+        if (!typed) return row;
+        for (int i = 0; i < types.length; i++) {
+            if (row[i] != null) row[i] = format(row[i], types[i], formats[i]);
+        }
+        return row;
+    }
+
+    private static Object format(Object value, Type type, String format) {
+        Object converted = convert(value, type, format != null);
+        if (converted == null || format == null) return converted;
+        if (converted instanceof JsonPrimitive) converted = ((JsonPrimitive) converted).getAsString();
+        return String.format(Locale.ROOT, format, converted);
+    }
+
+    /**
+     * @param value     - The csv cell
+     * @param type      - The column type
+     * @param formatted - Whether the value is formatted, json numbers are kept as they are otherwise
+     * @return Returns the value as the column type, or null if it can not be converted.
+     */
+    private static Object convert(Object value, Type type, boolean formatted) {
+        JsonPrimitive primitive = value instanceof JsonPrimitive ? (JsonPrimitive) value : null;
+        String text = primitive != null ? primitive.getAsString() : value.toString();
+        switch (type) {
+            case STRING:
+                return text;
+            case NUMBER:
+                if (primitive != null && primitive.isNumber() && !formatted) return primitive;
+                if (primitive != null && !primitive.isNumber() && !primitive.isString()) return null;
+                try {
+                    return new BigDecimal(text);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            case BOOLEAN:
+                if (primitive != null && primitive.isBoolean()) return primitive.getAsBoolean();
+                if (primitive != null && primitive.isNumber()) return null;
+                if ("true".equalsIgnoreCase(text)) return Boolean.TRUE;
+                if ("false".equalsIgnoreCase(text)) return Boolean.FALSE;
+                return null;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * The builder of an immutable {@link CsvSchema}.
+     */
+    public static final class Builder {
+
+        private final List<String> paths = new ArrayList<>();
+        private final List<Type> types = new ArrayList<>();
+        private final List<String> formats = new ArrayList<>();
+        private boolean strict = true;
+        private String separator = AppConstants.DEFAULT_SEPARATOR;
+
+        private Builder() {
+        }
+
+        /**
+         * @param path - The header/column path e.g. /address/city
+         * @return Returns this builder.
+         */
+        public Builder column(String path) {
+            return column(path, Type.ANY, null);
+        }
+
+        /**
+         * @param path - The header/column path e.g. /address/city
+         * @param type - The type of the column values
+         * @return Returns this builder.
+         */
+        public Builder column(String path, Type type) {
+            return column(path, type, null);
+        }
+
+        /**
+         * @param path   - The header/column path e.g. /address/city
+         * @param type   - The type of the column values
+         * @param format - The format of the column values e.g. "%.2f", null to write them as they are
+         * @return Returns this builder.
+         */
+        public Builder column(String path, Type type, String format) {
+            if (path == null || path.trim().isEmpty() || path.equals("/"))
+                throw new IllegalArgumentException("The column path must not be empty.");
+            if (type == null) throw new IllegalArgumentException("The column type must not be null.");
+            String normalized = path.startsWith("/") ? path : "/" + path;
+            if (paths.contains(normalized))
+                throw new IllegalArgumentException(String.format("The column path %s is declared twice.", path));
+            if (format != null) checkFormat(format, type);
+            paths.add(normalized);
+            types.add(type);
+            formats.add(format);
+            return this;
+        }
+
+        /**
+         * @param paths - The header/column paths e.g. /address/city
+         * @return Returns this builder.
+         */
+        public Builder columns(List<String> paths) {
+            for (String path : paths) column(path);
+            return this;
+        }
+
+        /**
+         * @param strict - True to drop the values outside of the schema, false to append their columns
+         * @return Returns this builder.
+         */
+        public Builder strict(boolean strict) {
+            this.strict = strict;
+            return this;
+        }
+
+        /**
+         * @param separator - The custom header/column separator key, null for the default "_"
+         * @return Returns this builder.
+         */
+        public Builder separator(String separator) {
+            this.separator = separator == null ? AppConstants.DEFAULT_SEPARATOR : separator;
+            return this;
+        }
+
+        /**
+         * @return Returns the compiled schema.
+         */
+        public CsvSchema build() {
+            if (paths.isEmpty()) throw new IllegalArgumentException("The schema must have at least one column.");
+            return new CsvSchema(this);
+        }
+
+        private static void checkFormat(String format, Type type) {
+            Object sample = type == Type.NUMBER ? BigDecimal.ONE : type == Type.BOOLEAN ? Boolean.TRUE : "";
+            try {
+                String.format(Locale.ROOT, format, sample);
+            } catch (IllegalFormatException e) {
+                throw new IllegalArgumentException(String.format("The format %s does not apply to %s values.", format, type), e);
+            }
+        }
+    }
+}
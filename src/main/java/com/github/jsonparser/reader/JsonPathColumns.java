@@ -0,0 +1,426 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class defines the headers/columns of a csv as a list of json path expressions, one per column. All the
+ * expressions are compiled into a single matching automaton, which is evaluated in one streaming pass over the
+ * json, so the cost of a conversion is about the cost of a single parse however many columns there are. The
+ * subtrees no expression can match are skipped without being materialized.
+ * The expressions are evaluated against each record, the elements of a top-level json array or else the json
+ * document itself, and each record is one csv row. An expression which matches more than one value spreads the
+ * values over that many rows of the record, a column with a single value repeats it on each of them and a column
+ * with fewer values leaves the remaining rows empty. An object or array is written as json text.
+ * The supported expressions are $, .key, ['key'], .*, [*], [n], [start:end] and the deep scan .., e.g.
+ * <pre>
+ * JsonPathColumns columns = JsonPathColumns.builder()
+ *         .column("id", "$.id")
+ *         .column("city", "$.address.city")
+ *         .column("$.orders[*].total")
+ *         .column("firstTag", "$.tags[0]")
+ *         .column("ids", "$..id")
+ *         .build();
+ * String csv = JsonParser.parse2Csv(json, columns);
+ * </pre>
+ * Filter and script expressions need the whole document and are not supported. The columns are immutable and
+ * can be shared between threads and conversions.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class JsonPathColumns {
+
+    // The number of transitions cached per state, the keys of map-like objects are not cached beyond it.
+    private static final int MAX_CACHED = 256;
+
+    private final String[] names;
+    private final Step[][] expressions;
+    // The state of the paths no column matches.
+    private final State dead = new State(new Positions());
+    private final State root;
+
+    private JsonPathColumns(Builder builder) {
+        this.names = builder.names.toArray(new String[0]);
+        this.expressions = builder.expressions.toArray(new Step[0][]);
+        Positions start = new Positions();
+        for (int c = 0; c < expressions.length; c++) start.add(c, 0);
+        this.root = new State(start);
+    }
+
+    /**
+     * @return Returns a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the header/column names.
+     */
+    public List<String> headers() {
+        return Arrays.asList(names.clone());
+    }
+
+    /**
+     * This method reads the json and hands the header/column row and then the rows of each record to the sink,
+     * as soon as the record is read.
+     *
+     * @param reader - The input json reader
+     * @param sink   - The destination of the csv records, the header/column row first
+     * @throws IOException
+     */
+    void read(Reader reader, RowSink sink) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        in.setLenient(true);
+        sink.write(names.clone());
+        Record record = new Record(names.length);
+        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                read(in, root, record);
+                record.write(sink);
+            }
+            in.endArray();
+        } else {
+            read(in, root, record);
+            record.write(sink);
+        }
+        if (in.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Expected a single json document.");
+    }
+
+    /**
+     * This method matches the next json value and its children, the values of the columns which accept a
+     * container are materialized and the rest is matched token by token.
+     *
+     * @param in     - The json token reader positioned on the value
+     * @param state  - The state of the path of the value
+     * @param record - The values of the record
+     * @throws IOException
+     */
+    private void read(JsonReader in, State state, Record record) throws IOException {
+        JsonToken token = in.peek();
+        boolean container = token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY;
+        if (state.accepted.length > 0 && container) {
+            JsonElement ele = com.google.gson.JsonParser.parseReader(in);
+            for (int column : state.accepted) record.add(column, ele.toString());
+            if (state.positions.length > 0) match(ele, state, record);
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            while (in.hasNext()) {
+                State child = state.child(in.nextName());
+                if (child.skip()) in.skipValue();
+                else read(in, child, record);
+            }
+            in.endObject();
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            int index = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                State child = state.child(index++);
+                if (child.skip()) in.skipValue();
+                else read(in, child, record);
+            }
+            in.endArray();
+        } else if (state.accepted.length > 0) {
+            JsonElement ele = JsonStreamReader.nextPrimitive(in, token);
+            for (int column : state.accepted) record.add(column, ele.isJsonNull() ? null : ele);
+        } else {
+            in.skipValue();
+        }
+    }
+
+    /**
+     * This method matches the children of a materialized json value the same way as {@link #read} does.
+     *
+     * @param ele    - The json value
+     * @param state  - The state of the path of the value
+     * @param record - The values of the record
+     */
+    private void match(JsonElement ele, State state, Record record) {
+        if (ele.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet()) {
+                matchChild(entry.getValue(), state.child(entry.getKey()), record);
+            }
+        } else if (ele.isJsonArray()) {
+            JsonArray array = ele.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) matchChild(array.get(i), state.child(i), record);
+        }
+    }
+
+    private void matchChild(JsonElement ele, State state, Record record) {
+        if (state.skip()) return;
+        for (int column : state.accepted) {
+            record.add(column, ele.isJsonNull() ? null : ele.isJsonPrimitive() ? ele : ele.toString());
+        }
+        if (state.positions.length > 0) match(ele, state, record);
+    }
+
+    /**
+     * The state of the automaton at a json path, the expression steps matched so far and the columns which
+     * accept the path, with the transitions to the child paths. The states are created as the json is read and
+     * their transitions are cached, so a path seen before is not matched again.
+     */
+    private final class State {
+
+        private final long[] positions;
+        private final int[] accepted;
+        private final Map<Object, State> children;
+
+        private State(Positions positions) {
+            this.positions = Arrays.copyOf(positions.positions, positions.size);
+            this.accepted = Arrays.copyOf(positions.accepted, positions.acceptedSize);
+            this.children = this.positions.length == 0 ? null : new ConcurrentHashMap<>();
+        }
+
+        /**
+         * @return Returns true if no column matches this path or a path below it.
+         */
+        private boolean skip() {
+            return positions.length == 0 && accepted.length == 0;
+        }
+
+        /**
+         * @param step - The json object key or the json array index
+         * @return Returns the state of the child path.
+         */
+        private State child(Object step) {
+            if (children == null) return dead;
+            State child = children.get(step);
+            if (child != null) return child;
+            Positions next = new Positions();
+            for (long position : positions) {
+                int c = (int) (position >>> 32);
+                int i = (int) position;
+                Step expected = expressions[c][i];
+                if (expected.deep) next.add(c, i);
+                else if (expected.matches(step)) next.add(c, i + 1);
+            }
+            child = next.size == 0 && next.acceptedSize == 0 ? dead : new State(next);
+            if (children.size() < MAX_CACHED) children.put(step, child);
+            return child;
+        }
+    }
+
+    /**
+     * The positions of the expressions matched so far, a position is the column and the index of its next step.
+     */
+    private final class Positions {
+
+        private long[] positions = new long[4];
+        private int size;
+        private int[] accepted = new int[2];
+        private int acceptedSize;
+
+        private void add(int c, int i) {
+            Step[] steps = expressions[c];
+            if (i == steps.length) {
+                for (int k = 0; k < acceptedSize; k++) {
+                    if (accepted[k] == c) return;
+                }
+                if (acceptedSize == accepted.length) accepted = Arrays.copyOf(accepted, acceptedSize * 2);
+                accepted[acceptedSize++] = c;
+                return;
+            }
+            long position = (long) c << 32 | i;
+            for (int k = 0; k < size; k++) {
+                if (positions[k] == position) return;
+            }
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+            // the deep scan also matches no step
+            if (steps[i].deep) add(c, i + 1);
+        }
+    }
+
+    /**
+     * The values of the columns of a record, in document order.
+     */
+    private static final class Record {
+
+        private final List<List<Object>> values = new ArrayList<>();
+
+        private Record(int columns) {
+            for (int c = 0; c < columns; c++) values.add(new ArrayList<>(1));
+        }
+
+        private void add(int column, Object value) {
+            values.get(column).add(value);
+        }
+
+        /**
+         * This method writes the rows of the record and clears it for the next record.
+         *
+         * @param sink - The destination of the csv records
+         * @throws IOException
+         */
+        private void write(RowSink sink) throws IOException {
+            int rows = 1;
+            for (List<Object> column : values) rows = Math.max(rows, column.size());
+            for (int r = 0; r < rows; r++) {
+                Object[] row = new Object[values.size()];
+                for (int c = 0; c < row.length; c++) {
+                    List<Object> column = values.get(c);
+                    if (column.size() == 1) row[c] = column.get(0);
+                    else if (r < column.size()) row[c] = column.get(r);
+                }
+                sink.write(row);
+            }
+            for (List<Object> column : values) column.clear();
+        }
+    }
+
+    /**
+     * A compiled step of an expression, a json object key, a range of json array indexes, any key or index, or
+     * the deep scan which matches any number of steps.
+     */
+    private static final class Step {
+
+        private static final Step ANY = new Step(null, 0, Integer.MAX_VALUE, true, false);
+        private static final Step DEEP = new Step(null, 0, 0, false, true);
+
+        private final String key;
+        private final int from;
+        private final int to;
+        private final boolean anyKey;
+        private final boolean deep;
+
+        private Step(String key, int from, int to, boolean anyKey, boolean deep) {
+            this.key = key;
+            this.from = from;
+            this.to = to;
+            this.anyKey = anyKey;
+            this.deep = deep;
+        }
+
+        private static Step key(String key) {
+            return new Step(key, 0, 0, false, false);
+        }
+
+        private static Step indexes(int from, int to) {
+            return new Step(null, from, to, false, false);
+        }
+
+        private boolean matches(Object step) {
+            if (step instanceof String) return anyKey || ((String) step).equals(key);
+            int index = (Integer) step;
+            return key == null && index >= from && index < to;
+        }
+    }
+
+    /**
+     * The builder of immutable {@link JsonPathColumns}.
+     */
+    public static final class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Step[]> expressions = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param expression - The json path expression of the column, it is also the header/column name
+         * @return Returns this builder.
+         */
+        public Builder column(String expression) {
+            return column(expression, expression);
+        }
+
+        /**
+         * @param name       - The header/column name
+         * @param expression - The json path expression of the column
+         * @return Returns this builder.
+         */
+        public Builder column(String name, String expression) {
+            if (name == null) throw new IllegalArgumentException("The column name must not be null.");
+            expressions.add(compile(expression));
+            names.add(name);
+            return this;
+        }
+
+        /**
+         * @return Returns the compiled columns.
+         */
+        public JsonPathColumns build() {
+            if (names.isEmpty()) throw new IllegalArgumentException("The json path columns must have at least one column.");
+            return new JsonPathColumns(this);
+        }
+
+        private static Step[] compile(String expression) {
+            if (expression == null || !expression.trim().startsWith("$"))
+                throw new IllegalArgumentException(String.format("The json path %s must start with $.", expression));
+            String path = expression.trim();
+            List<Step> steps = new ArrayList<>();
+            int i = 1;
+            while (i < path.length()) {
+                if (path.startsWith("..", i)) {
+                    steps.add(Step.DEEP);
+                    i += 2;
+                    if (i < path.length() && path.charAt(i) != '[') i = name(path, i, steps);
+                    else if (i == path.length()) throw unsupported(path);
+                } else if (path.charAt(i) == '.') {
+                    i = name(path, i + 1, steps);
+                } else if (path.charAt(i) == '[') {
+                    int end = path.indexOf(']', i);
+                    if (end < 0) throw new IllegalArgumentException(String.format("The json path %s is not closed.", path));
+                    steps.add(bracket(path, path.substring(i + 1, end).trim()));
+                    i = end + 1;
+                } else {
+                    throw unsupported(path);
+                }
+            }
+            return steps.toArray(new Step[0]);
+        }
+
+        private static int name(String path, int start, List<Step> steps) {
+            int end = start;
+            while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') end++;
+            if (end == start) throw new IllegalArgumentException(String.format("The json path %s has an empty step.", path));
+            String key = path.substring(start, end);
+            steps.add(key.equals("*") ? Step.ANY : Step.key(key));
+            return end;
+        }
+
+        private static Step bracket(String path, String inner) {
+            if (inner.equals("*")) return Step.ANY;
+            if (inner.length() > 1 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                    && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                return Step.key(inner.substring(1, inner.length() - 1));
+            }
+            int colon = inner.indexOf(':');
+            try {
+                if (colon < 0) {
+                    int index = Integer.parseInt(inner);
+                    if (index >= 0) return Step.indexes(index, index + 1);
+                } else {
+                    String from = inner.substring(0, colon).trim();
+                    String to = inner.substring(colon + 1).trim();
+                    int start = from.isEmpty() ? 0 : Integer.parseInt(from);
+                    int end = to.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(to);
+                    if (start >= 0 && end >= start) return Step.indexes(start, end);
+                }
+            } catch (NumberFormatException e) {
+                throw unsupported(path);
+            }
+            // negative indexes need the array length, which is not known while the array is read
+            throw unsupported(path);
+        }
+
+        private static IllegalArgumentException unsupported(String path) {
+            return new IllegalArgumentException(String.format("The json path %s is not supported.", path));
+        }
+    }
+}
@@ -1,24 +1,25 @@
 package com.github.jsonparser.reader;
 
 import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.model.ColumnarSheet;
 import com.github.jsonparser.model.JsonOrder;
 import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.util.ConversionListener.Phase;
+import com.github.jsonparser.util.ConversionStats;
 import com.github.jsonparser.util.ValidationUtil;
 import com.google.gson.JsonElement;
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -47,8 +48,21 @@ public class JsonReader {
      * @throws JsonParsingException
      */
     public static List<Object[]> parse(String json, List<Object[]> records) throws JsonParsingException {
+        return parse(json, records, AppConstants.DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * The method process the input json string and returns the 2D representation of data.
+     *
+     * @param json      - The input json string
+     * @param records   - The list of processed csv records
+     * @param separator - The custom header/column separator key
+     * @return Returns list of processed csv records.
+     * @throws JsonParsingException
+     */
+    public static List<Object[]> parse(String json, List<Object[]> records, String separator) throws JsonParsingException {
         ValidationUtil.rejectNull(json, "json");
-        headerSeparator(records);
+        headerSeparator(records, separator);
         return records;
     }
 
@@ -61,8 +75,21 @@ public class JsonReader {
      * @throws JsonParsingException
      */
     public static List<Object[]> parse(String json, String separator) throws JsonParsingException {
+        return parse(json, separator, Defaults.CONFIGURATION);
+    }
+
+    /**
+     * The method process the input json string and returns the 2D representation of data.
+     *
+     * @param json          - The input json string
+     * @param separator     - The custom header/column separator key
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @return Returns list of processed csv records.
+     * @throws JsonParsingException
+     */
+    public static List<Object[]> parse(String json, String separator, Configuration configuration) throws JsonParsingException {
         ValidationUtil.rejectNull(json, "json");
-        List<Object[]> records = json2Sheet(json);
+        List<Object[]> records = json2Sheet(json, null, configuration);
         headerSeparator(records, separator);
         return records;
     }
@@ -74,7 +101,7 @@ public class JsonReader {
      * @return Returns list of records.
      */
     public static List<Object[]> json2Sheet(String json) {
-        return processJson(json, null);
+        return processJson(json, null, Defaults.CONFIGURATION, null, null, null, null);
     }
 
     /**
@@ -85,7 +112,89 @@ public class JsonReader {
      * @return Returns list of records.
      */
     public static List<Object[]> json2Sheet(String json, String xsd) {
-        return processJson(json, xsd);
+        return processJson(json, xsd, Defaults.CONFIGURATION, null, null, null, null);
+    }
+
+    /**
+     * This method does some pre processing and then build csv.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2Sheet(String json, String xsd, Configuration configuration) {
+        return processJson(json, xsd, configuration, null, null, null, null);
+    }
+
+    /**
+     * This method does some pre processing and then build csv. The elements of a top-level json array are
+     * flattened in chunks on the executor and the rows are merged in the original order, so the records are
+     * the same as the ones built on the calling thread.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param executor      - The executor to flatten the chunks on e.g. ForkJoinPool, null to build on the calling thread
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2Sheet(String json, String xsd, Configuration configuration, Executor executor) {
+        return processJson(json, xsd, configuration, executor, null, null, null);
+    }
+
+    /**
+     * This method does some pre processing and then build csv. The headers/columns of a document shape or xsd
+     * seen before are taken from the schema cache instead of being discovered again.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param executor      - The executor to flatten the chunks on e.g. ForkJoinPool, null to build on the calling thread
+     * @param cache         - The schema cache of the headers/columns, null to always discover them
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2Sheet(String json, String xsd, Configuration configuration, Executor executor,
+                                            SchemaCache cache) {
+        return processJson(json, xsd, configuration, executor, cache, null, null);
+    }
+
+    /**
+     * This method does some pre processing and then build csv, see
+     * {@link #json2Sheet(String, String, Configuration, Executor, SchemaCache)}. The time of the header/column
+     * discovery, the parsing and the flattening is added to the statistics.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param executor      - The executor to flatten the chunks on e.g. ForkJoinPool, null to build on the calling thread
+     * @param cache         - The schema cache of the headers/columns, null to always discover them
+     * @param stats         - The statistics of the conversion, null to measure nothing
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2Sheet(String json, String xsd, Configuration configuration, Executor executor,
+                                            SchemaCache cache, ConversionStats stats) {
+        return processJson(json, xsd, configuration, executor, cache, stats, null);
+    }
+
+    /**
+     * This method process the input json to csv with the xsd schema if given, within the limits of the
+     * conversion, see {@link ConversionLimits}.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param executor      - The executor to flatten the chunks on e.g. ForkJoinPool, null to build on the calling thread
+     * @param cache         - The schema cache of the headers/columns, null to always discover them
+     * @param stats         - The statistics of the conversion, null to measure nothing
+     * @param limits        - The limits of the conversion
+     * @return Returns list of records.
+     * @throws JsonParsingException
+     */
+    public static List<Object[]> json2Sheet(String json, String xsd, Configuration configuration, Executor executor,
+                                            SchemaCache cache, ConversionStats stats, ConversionLimits limits)
+            throws JsonParsingException {
+        ValidationUtil.rejectNull(limits, "limits");
+        return limits.finish(processJson(json, xsd, configuration, executor, cache, stats, limits));
     }
 
     /**
@@ -95,129 +204,371 @@ public class JsonReader {
      * @return Returns list of records.
      */
     public static List<Object[]> json2Header(String json) {
-        log.info("Processing input xsd json to 2D representation.");
+        return json2Header(json, Defaults.CONFIGURATION);
+    }
+
+    /**
+     * This method does some pre processing on xsd and returns the header/column list.
+     *
+     * @param json          - The input xsd json string
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2Header(String json, Configuration configuration) {
+        if (configuration == null) configuration = Defaults.CONFIGURATION;
         List<Object[]> records = new ArrayList<>();
-        configureAndBuildHeader(json, records);
-        log.info("Returning processed headers/columns records.");
+        configureAndBuildHeader(json, records, configuration);
         return records;
     }
 
     /**
      * This method process the input json to csv with the xsd schema if given.
      *
-     * @param json - The input json string
-     * @param xsd  - The xsd schema json string can be null
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param executor      - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param cache         - The schema cache of the headers/columns, null to always discover them
+     * @param stats         - The statistics of the conversion, null to measure nothing
+     * @param limits        - The limits of the conversion, null for no limits
      * @return Returns list of records.
      */
-    private static List<Object[]> processJson(String json, String xsd) {
-        log.info("Processing input json to 2D representation.");
-        List<Object[]> records = new ArrayList<>();
-        List<String> headers;
-        if (xsd == null) headers = configureAndBuildHeader(json, records);
-        else headers = configureAndBuildHeader(xsd, records);
+    private static List<Object[]> processJson(String json, String xsd, Configuration configuration, Executor executor,
+                                              SchemaCache cache, ConversionStats stats, ConversionLimits limits) {
+        Configuration conf = configuration == null ? Defaults.CONFIGURATION : configuration;
+        List<Object[]> records = limits == null ? new ArrayList<>() : limits.records();
+        ColumnIndex columns = null;
+        long time = start(stats);
+        if (cache == null) {
+            if (xsd == null) columns = configureAndBuildHeader(json, records, conf);
+            else columns = configureAndBuildHeader(xsd, records, conf);
+            time = time(stats, Phase.HEADER_DISCOVERY, time);
+        }
         //adding all the content of csv
         JsonElement ele = com.google.gson.JsonParser.parseString(json);
-        records.add(buildCsv(new Object[headers.size()], ele, "$", headers, records));
-        removeDuplicates(records);
-        log.info("Returning processed list of records.");
+        time = time(stats, Phase.PARSE, time);
+        if (cache != null) {
+            if (xsd == null) columns = cache.columns(ele, () -> columns(json, conf));
+            else columns = cache.columns(xsd, () -> columns(xsd, conf));
+            addHeaders(columns.headers(), records);
+            time = time(stats, Phase.HEADER_DISCOVERY, time);
+        }
+        buildRecords(ele, columns, records, executor, limits);
+        time(stats, Phase.FLATTEN, time);
         return records;
     }
 
     /**
-     * This method removes the duplicate records from list.
+     * This method process the input json to csv with the headers/columns of a pre-declared schema. The schema
+     * is not parsed again, in strict mode there is no header/column discovery at all.
      *
-     * @param records - List of records processed from json.
+     * @param json          - The input json string
+     * @param schema        - The compiled csv schema
+     * @param configuration - The json path configuration to discover the columns outside of a lenient schema, null for default
+     * @param executor      - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2SheetWithSchema(String json, CsvSchema schema, Configuration configuration, Executor executor) {
+        return json2SheetWithSchema(json, schema, configuration, executor, null);
+    }
+
+    /**
+     * This method process the input json to csv with the headers/columns of a pre-declared schema, see
+     * {@link #json2SheetWithSchema(String, CsvSchema, Configuration, Executor)}. The time of the header/column
+     * discovery, the parsing and the flattening is added to the statistics.
+     *
+     * @param json          - The input json string
+     * @param schema        - The compiled csv schema
+     * @param configuration - The json path configuration to discover the columns outside of a lenient schema, null for default
+     * @param executor      - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param stats         - The statistics of the conversion, null to measure nothing
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2SheetWithSchema(String json, CsvSchema schema, Configuration configuration, Executor executor,
+                                                      ConversionStats stats) {
+        return json2SheetWithSchema(json, schema, configuration, executor, stats, new ArrayList<>(), null);
+    }
+
+    /**
+     * This method process the input json to csv with the headers/columns of a pre-declared schema, within the
+     * limits of the conversion, see {@link ConversionLimits}.
+     *
+     * @param json          - The input json string
+     * @param schema        - The compiled csv schema
+     * @param configuration - The json path configuration to discover the columns outside of a lenient schema, null for default
+     * @param executor      - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param stats         - The statistics of the conversion, null to measure nothing
+     * @param limits        - The limits of the conversion
+     * @return Returns list of records.
+     * @throws JsonParsingException
+     */
+    public static List<Object[]> json2SheetWithSchema(String json, CsvSchema schema, Configuration configuration, Executor executor,
+                                                      ConversionStats stats, ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(limits, "limits");
+        return limits.finish(json2SheetWithSchema(json, schema, configuration, executor, stats, limits.records(), limits));
+    }
+
+    private static List<Object[]> json2SheetWithSchema(String json, CsvSchema schema, Configuration configuration, Executor executor,
+                                                       ConversionStats stats, List<Object[]> records, ConversionLimits limits) {
+        long time = start(stats);
+        ColumnIndex columns = schema.isStrict() ? schema.columns() : schema.columns(columns(json, configuration));
+        addHeaders(columns.headers(), records);
+        time = time(stats, Phase.HEADER_DISCOVERY, time);
+        JsonElement ele = com.google.gson.JsonParser.parseString(json);
+        time = time(stats, Phase.PARSE, time);
+        buildRecords(ele, columns, records, executor, limits);
+        schema.format(records);
+        time(stats, Phase.FLATTEN, time);
+        return records;
+    }
+
+    /**
+     * This method process the input json to csv with the headers/columns of the projection. The subtrees outside
+     * of the projection are skipped while the json is parsed, and the headers/columns are discovered from the
+     * projected json only.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @param executor   - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param stats      - The statistics of the conversion, null to measure nothing
+     * @return Returns list of records.
+     */
+    public static List<Object[]> json2SheetWithProjection(String json, Projection projection, Executor executor, ConversionStats stats) {
+        return json2SheetWithProjection(json, projection, executor, stats, new ArrayList<>(), null);
+    }
+
+    /**
+     * This method process the input json to csv with the headers/columns of the projection, within the limits
+     * of the conversion, see {@link ConversionLimits}.
+     *
+     * @param json       - The input json string
+     * @param projection - The projection of the headers/columns
+     * @param executor   - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param stats      - The statistics of the conversion, null to measure nothing
+     * @param limits     - The limits of the conversion
+     * @return Returns list of records.
+     * @throws JsonParsingException
      */
-    private static void removeDuplicates(List<Object[]> records) {
-        if (records.size() > 2) {
-            Object[] last = records.get(records.size() - 1);
-            Object[] secondLast = records.get(records.size() - 2);
+    public static List<Object[]> json2SheetWithProjection(String json, Projection projection, Executor executor, ConversionStats stats,
+                                                          ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(limits, "limits");
+        return limits.finish(json2SheetWithProjection(json, projection, executor, stats, limits.records(), limits));
+    }
 
-            boolean delete = Arrays.stream(last).noneMatch(Objects::nonNull);
+    private static List<Object[]> json2SheetWithProjection(String json, Projection projection, Executor executor, ConversionStats stats,
+                                                           List<Object[]> records, ConversionLimits limits) {
+        long time = start(stats);
+        JsonElement ele = projection.parse(json);
+        time = time(stats, Phase.PARSE, time);
+        ColumnIndex columns = JsonStreamReader.columns(ele);
+        addHeaders(columns.headers(), records);
+        time = time(stats, Phase.HEADER_DISCOVERY, time);
+        buildRecords(ele, columns, records, executor, limits);
+        time(stats, Phase.FLATTEN, time);
+        return records;
+    }
 
-            if (!delete) {
-                delete = true;
-                if (IntStream.range(0, last.length).anyMatch(DEL -> last[DEL] != null && !last[DEL].equals(secondLast[DEL]))) {
-                    delete = false;
+    /**
+     * This method process the input json to the columnar representation. The rows are stored in the columns
+     * as soon as no duplicate check can remove them anymore, so only the most recent rows of a top-level json
+     * array are kept in memory next to the columns.
+     *
+     * @param json          - The input json string
+     * @param xsd           - The xsd schema json string can be null
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param separator     - The custom header/column separator key
+     * @return Returns the columnar sheet.
+     */
+    public static ColumnarSheet json2Columns(String json, String xsd, Configuration configuration, String separator) {
+        ColumnIndex columns = columns(xsd == null ? json : xsd, configuration);
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        ColumnarSheet.Builder sheet = ColumnarSheet.builder();
+        Object[] header = new Object[columns.size()];
+        for (int i = 0; i < header.length; i++) header[i] = headerName(columns.headers().get(i), separator);
+        sheet.write(header);
+
+        RowWindow records = new RowWindow(sheet);
+        JsonElement ele = com.google.gson.JsonParser.parseString(json);
+        Object[] cur = new Object[columns.size()];
+        try {
+            if (ele.isJsonArray()) {
+                int arrIndex = 0;
+                for (JsonElement element : ele.getAsJsonArray()) {
+                    // the rows before the element are out of reach of its duplicate checks
+                    records.retain(JsonStreamReader.depth(element) + 3);
+                    buildElement(cur, element, arrIndex++, columns.root(), records, false);
                 }
+            } else {
+                cur = buildCsv(cur, ele, columns.root(), records);
             }
+            records.add(cur);
+            records.removeDuplicates();
+            records.retain(0);
+        } catch (IOException e) {
+            // the columnar sheet does not write to any output
+            throw new UncheckedIOException(e);
+        }
+        return sheet.build();
+    }
+
+    /**
+     * This method flattens the parsed json to the csv records after the header/column row.
+     *
+     * @param ele      - The parsed json
+     * @param columns  - The headers/columns
+     * @param records  - The list of processed csv records with the header/column row
+     * @param executor - The executor to flatten a top-level json array on, null to build on the calling thread
+     * @param limits   - The limits of the conversion, null for no limits
+     */
+    private static void buildRecords(JsonElement ele, ColumnIndex columns, List<Object[]> records, Executor executor,
+                                     ConversionLimits limits) {
+        if (limits == null) {
+            buildRecords(ele, columns, records, executor);
+            return;
+        }
+        // an exceeded limit stops the records, the flattening stops at the next array element
+        limits.check(ConversionLimits.estimate(ele, columns.size()), records);
+        if (!ConversionLimits.full(records)) buildRecords(ele, columns, records, limits.sequential() ? null : executor);
+    }
+
+    /**
+     * This method flattens the parsed json to the csv records after the header/column row.
+     *
+     * @param ele      - The parsed json
+     * @param columns  - The headers/columns
+     * @param records  - The list of processed csv records with the header/column row
+     * @param executor - The executor to flatten a top-level json array on, null to build on the calling thread
+     */
+    private static void buildRecords(JsonElement ele, ColumnIndex columns, List<Object[]> records, Executor executor) {
+        Object[] root = new Object[columns.size()];
+        if (executor != null && ele.isJsonArray() && ParallelFlattener.worthSplitting(ele.getAsJsonArray())) {
+            records.add(ParallelFlattener.flatten(root, ele.getAsJsonArray(), columns.root(), records, executor));
+        } else {
+            records.add(buildCsv(root, ele, columns.root(), RecordList.of(records)));
+        }
+        removeDuplicates(records);
+    }
+
+    /**
+     * This method removes the duplicate records from list.
+     *
+     * @param records - List of records processed from json.
+     */
+    static void removeDuplicates(List<Object[]> records) {
+        if (records.size() > 2 && isDuplicate(records.get(records.size() - 1), records.get(records.size() - 2)))
+            records.remove(records.size() - 1);
+    }
 
-            if (delete) records.remove(records.size() - 1);
+    /**
+     * This method checks whether a record is a duplicate of the record before it, i.e. it has no value
+     * the record before does not have.
+     *
+     * @param last       - The record to check
+     * @param secondLast - The record before it
+     * @return Returns true if the record is a duplicate or else false.
+     */
+    static boolean isDuplicate(Object[] last, Object[] secondLast) {
+        boolean delete = Arrays.stream(last).noneMatch(Objects::nonNull);
+
+        if (!delete) {
+            delete = true;
+            if (IntStream.range(0, last.length).anyMatch(DEL -> last[DEL] != null
+                    && (DEL >= secondLast.length || !last[DEL].equals(secondLast[DEL])))) {
+                delete = false;
+            }
         }
+        return delete;
     }
 
     /**
      * This method build configuration for json processing and extracting the headers/columns.
      *
-     * @param json    - The input json string
-     * @param records - The input record list to add headers/columns.
+     * @param json          - The input json string
+     * @param records       - The input record list to add headers/columns.
+     * @param configuration - The json path configuration with the json and mapping provider
      * @return Returns he headers/columns.
      */
-    private static ArrayList<String> configureAndBuildHeader(String json, List<Object[]> records) {
-        log.info("Setting the default configuration for json processing.");
-        setDefaultConfiguration();
+    private static ColumnIndex configureAndBuildHeader(String json, List<Object[]> records, Configuration configuration) {
+        ColumnIndex columns = columns(json, configuration);
+        addHeaders(columns.headers(), records);
+        return columns;
+    }
 
-        Configuration conf = Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL)
-                .addOptions(Option.SUPPRESS_EXCEPTIONS);
+    /**
+     * This method extracts the headers/columns of the json.
+     *
+     * @param json          - The input json string
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @return Returns the headers/columns.
+     */
+    static ColumnIndex columns(String json, Configuration configuration) {
+        if (configuration == null) configuration = Defaults.CONFIGURATION;
+        JsonProvider provider = configuration.jsonProvider();
+        ColumnIndex columns = new ColumnIndex();
+        extractPrimitivePaths(provider, provider.parse(json), columns.root(), columns);
+        return columns;
+    }
 
-        Configuration pathConf = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST)
-                .addOptions(Option.ALWAYS_RETURN_LIST);
-        List<String> pathList = JsonPath.using(pathConf).parse(json).read("$..*");
-        DocumentContext context = JsonPath.using(conf).parse(json);
-        HashSet<String> primitivePaths = extractPrimitivePaths(context, pathList);
-        HashSet<String> uniquePrimitivePaths = primitivePaths.stream().map(JsonReader::evaluatePath)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-        ArrayList<String> uniqueHeaders = new ArrayList<>(uniquePrimitivePaths);
-        addHeaders(uniqueHeaders, records);
-        log.info("Returning the header/column list.");
-        return uniqueHeaders;
+    /**
+     * This method builds the json path configuration for the given providers. The configuration is immutable,
+     * it can be created once and shared between threads, unlike the json path defaults which are global.
+     *
+     * @param jsonProvider    - The json provider used to parse the json
+     * @param mappingProvider - The mapping provider
+     * @return Returns the json path configuration.
+     */
+    public static Configuration configuration(JsonProvider jsonProvider, MappingProvider mappingProvider) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider)
+                .options(EnumSet.noneOf(Option.class)).build();
     }
 
     /**
-     * The default configuration to process json.
+     * The default configuration to process json, created when it is first used.
      */
-    private static void setDefaultConfiguration() {
-        Configuration.setDefaults(new Configuration.Defaults() {
-            private final JsonProvider jsonProvider = new JacksonJsonProvider();
-            private final MappingProvider mappingProvider = new JacksonMappingProvider();
+    private static final class Defaults {
+        private static final Configuration CONFIGURATION = configuration(new JacksonJsonProvider(), new JacksonMappingProvider());
+    }
 
-            // @Override
-            public JsonProvider jsonProvider() {
-                return jsonProvider;
+    /**
+     * This method extracts the primitive paths headers/columns from the json in a single walk. The headers/columns
+     * are registered in the same order as the json path scan "$..*" lists them: the primitives of a json object
+     * or array first, then the ones of each nested element.
+     *
+     * @param provider - The json provider of the parsed json.
+     * @param model    - The parsed json element.
+     * @param node     - The column index node of the element.
+     * @param columns  - The headers/columns to register the primitive paths to.
+     */
+    private static void extractPrimitivePaths(JsonProvider provider, Object model, ColumnIndex.Node node, ColumnIndex columns) {
+        if (provider.isMap(model)) {
+            Collection<String> keys = provider.getPropertyKeys(model);
+            for (String key : keys) {
+                if (isPrimitive(provider.getMapValue(model, key))) columns.register(node.add(key));
             }
-
-            // @Override
-            public MappingProvider mappingProvider() {
-                return mappingProvider;
+            for (String key : keys) {
+                Object value = provider.getMapValue(model, key);
+                if (provider.isMap(value) || provider.isArray(value))
+                    extractPrimitivePaths(provider, value, node.add(key), columns);
             }
-
-            // @Override
-            public Set options() {
-                return EnumSet.noneOf(Option.class);
+        } else if (provider.isArray(model)) {
+            int arrIndex = 0;
+            for (Object value : provider.toIterable(model)) {
+                if (isPrimitive(value)) columns.register(node.addIndex(arrIndex));
+                arrIndex++;
+            }
+            for (Object value : provider.toIterable(model)) {
+                if (provider.isMap(value) || provider.isArray(value))
+                    extractPrimitivePaths(provider, value, node, columns);
             }
-        });
+        }
     }
 
     /**
-     * This method extracts the primitive paths headers/columns from the json.
-     *
-     * @param parse    - The json parse document context.
-     * @param pathList - The input path list.
-     * @return Returns primitive paths headers/columns.
+     * @param value - The parsed json value
+     * @return Returns true if the value is a primitive header/column type or null.
      */
-    private static HashSet<String> extractPrimitivePaths(DocumentContext parse, List<String> pathList) {
-        log.info("Extracting primitive path list from json.");
-        HashSet<String> primitivePaths = new LinkedHashSet<>();
-        pathList.forEach(path -> {
-            Object tmp = parse.read(path);
-            if (tmp == null) primitivePaths.add(path);
-            else {
-                String dataType = tmp.getClass().getSimpleName();
-                if (DATA_TYPES.contains(dataType)) primitivePaths.add(path);
-            }
-        });
-        log.info("Returning extracted primitive path list from json.");
-        return primitivePaths;
+    private static boolean isPrimitive(Object value) {
+        return value == null || DATA_TYPES.contains(value.getClass().getSimpleName());
     }
 
     /**
@@ -240,107 +591,132 @@ public class JsonReader {
      *
      * @param old     - It keeps the old row which is always assigned to the current row
      * @param ele     - This keeps the part of json being parsed to csv
-     * @param path    - This maintains the path of the Json element being processed
-     * @param headers - The headers/columns list for csv
+     * @param node    - This maintains the column index node of the Json element being processed
      * @param records - The list of processed csv records
      * @return Returns list of processed csv records for each data iterations.
      */
-    private static Object[] buildCsv(Object[] old, JsonElement ele, String path, List<String> headers, List<Object[]> records) {
-        Object[] cur = old.clone();
-        boolean gotArray;
-        String tmpPath;
+    static Object[] buildCsv(Object[] old, JsonElement ele, ColumnIndex.Node node, RecordList records) {
+        WorkingRow row = new WorkingRow(old);
+        buildCsv(row, ele, node, records, false);
+        return row.cells();
+    }
+
+    /**
+     * This function transforms the JSON document to its equivalent csv representation. The members of a json
+     * object are visited in {@link JsonOrder} order without rebuilding the object. Nested objects and arrays
+     * set their values in the same working row, a copy of the row is only made for a csv record.
+     *
+     * @param row     - The working row of the element, the values of the element are set in it
+     * @param ele     - This keeps the part of json being parsed to csv
+     * @param node    - This maintains the column index node of the Json element being processed
+     * @param records - The list of processed csv records
+     * @param ordered - Whether the element is inside an ordered json object
+     */
+    private static void buildCsv(WorkingRow row, JsonElement ele, ColumnIndex.Node node, RecordList records, boolean ordered) {
         if (ele.isJsonObject()) {
-            ele = JsonOrder.orderJson(ele);
-            for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet()) {
-                if (entry.getValue().isJsonPrimitive()) {
-                    tmpPath = path + "['" + entry.getKey() + "']";
-                    evaluateTempPath(cur, entry, tmpPath, headers);
-                } else if (entry.getValue().isJsonObject()) {
-                    cur = buildCsv(cur, entry.getValue().getAsJsonObject(),
-                            path + "['" + entry.getKey() + "']", headers, records);
-                } else if (entry.getValue().isJsonArray()) {
-                    cur = buildCsv(cur, entry.getValue().getAsJsonArray(),
-                            path + "['" + entry.getKey() + "']", headers, records);
-                }
+            Set<Map.Entry<String, JsonElement>> entries = ele.getAsJsonObject().entrySet();
+            for (Map.Entry<String, JsonElement> entry : entries) {
+                if (JsonOrder.isPrimitive(entry.getValue()))
+                    evaluateTempPath(row, entry.getValue(), node.child(entry.getKey()), true);
+            }
+            for (Map.Entry<String, JsonElement> entry : entries) {
+                if (JsonOrder.isObject(entry.getValue()))
+                    buildCsv(row, entry.getValue(), node.child(entry.getKey()), records, true);
+            }
+            for (Map.Entry<String, JsonElement> entry : entries) {
+                if (JsonOrder.isArray(entry.getValue()))
+                    buildCsv(row, entry.getValue(), node.child(entry.getKey()), records, true);
             }
 
         } else if (ele.isJsonArray()) {
             int arrIndex = 0;
             for (JsonElement jsonElement : ele.getAsJsonArray()) {
-                if (jsonElement.isJsonPrimitive()) {
-                    tmpPath = path + "['" + arrIndex + "']";
-                    evaluateTempPath(cur, jsonElement, tmpPath, headers);
-                } else {
-                    if (jsonElement.isJsonObject()) {
-                        gotArray = isInnerArray(jsonElement);
-                        removeDuplicates(records);
-                        records.add(buildCsv(cur, jsonElement.getAsJsonObject(), path + "[" + arrIndex + "]", headers, records));
-                        if (gotArray) records.remove(records.size() - 1);
-                    } else if (jsonElement.isJsonArray()) {
-                        buildCsv(cur, jsonElement.getAsJsonArray(), path + "[" + arrIndex + "]", headers, records);
-                    }
-                }
+                if (records.full()) return;
+                buildElement(row, jsonElement, arrIndex, node, records, ordered);
                 arrIndex++;
             }
         }
-        return cur;
     }
 
     /**
-     * @param cur
-     * @param entry
-     * @param tmpPath
-     * @param headers
+     * This function transforms an element of a json array to its csv rows. A primitive is set in the current
+     * row, the rows of an object or array are added to the records.
+     *
+     * @param cur      - The current row of the array
+     * @param ele      - The json array element
+     * @param arrIndex - The index of the element in the array
+     * @param node     - The column index node of the array
+     * @param records  - The list of processed csv records
+     * @param ordered  - Whether the array is inside an ordered json object
      */
-    private static void evaluateTempPath(Object[] cur, Map.Entry<String, JsonElement> entry, String tmpPath, List<String> headers) {
-        tmpPath = evaluatePath(tmpPath);
-        if (headers.contains(tmpPath)) {
-            int index = headers.indexOf(tmpPath);
-            cur[index] = entry.getValue().getAsJsonPrimitive();
+    static void buildElement(Object[] cur, JsonElement ele, int arrIndex, ColumnIndex.Node node, RecordList records, boolean ordered) {
+        if (ele.isJsonPrimitive()) {
+            evaluateTempPath(cur, ele, node.index(arrIndex), ordered);
+        } else if (ele.isJsonObject()) {
+            boolean gotArray = isInnerArray(ele);
+            records.removeDuplicates();
+            WorkingRow row = new WorkingRow(cur);
+            buildCsv(row, ele, node, records, true);
+            // the row of an object with an array of objects is replaced by the rows of that array
+            if (!gotArray) records.add(row.cells());
+        } else if (ele.isJsonArray()) {
+            WorkingRow row = new WorkingRow(cur);
+            int mark = row.mark();
+            buildCsv(row, ele, node, records, ordered);
+            row.reset(mark);
         }
     }
 
     /**
-     * @param cur
-     * @param tmp
-     * @param tmpPath
-     * @param headers
+     * This function transforms an element of a json array to its csv rows within the working row of the array.
+     * An object with a row of its own is built on a copy of the row, which is the csv record. The values set by
+     * an object without a row of its own or by an array are undone once their rows are added.
+     *
+     * @param row      - The working row of the array
+     * @param ele      - The json array element
+     * @param arrIndex - The index of the element in the array
+     * @param node     - The column index node of the array
+     * @param records  - The list of processed csv records
+     * @param ordered  - Whether the array is inside an ordered json object
      */
-    private static void evaluateTempPath(Object[] cur, JsonElement tmp, String tmpPath, List<String> headers) {
-        tmpPath = evaluatePath(tmpPath);
-        if (headers.contains(tmpPath)) {
-            int index = headers.indexOf(tmpPath);
-            cur[index] = tmp.getAsJsonPrimitive();
+    private static void buildElement(WorkingRow row, JsonElement ele, int arrIndex, ColumnIndex.Node node, RecordList records, boolean ordered) {
+        if (ele.isJsonPrimitive()) {
+            evaluateTempPath(row, ele, node.index(arrIndex), ordered);
+        } else if (ele.isJsonObject()) {
+            boolean gotArray = isInnerArray(ele);
+            records.removeDuplicates();
+            if (gotArray) {
+                int mark = row.mark();
+                buildCsv(row, ele, node, records, true);
+                row.reset(mark);
+            } else {
+                WorkingRow record = new WorkingRow(row.cells());
+                buildCsv(record, ele, node, records, true);
+                records.add(record.cells());
+            }
+        } else if (ele.isJsonArray()) {
+            int mark = row.mark();
+            buildCsv(row, ele, node, records, ordered);
+            row.reset(mark);
         }
     }
 
     /**
-     * @param path
-     * @return
+     * This method sets the primitive value in its column of the current row, if the path is a header/column.
+     *
+     * @param cur     - The current row
+     * @param tmp     - The json primitive
+     * @param node    - The column index node of the primitive
+     * @param ordered - Whether the primitive is inside an ordered json object
      */
-    private static String evaluatePath(String path) {
-        Pattern pattern = Pattern.compile(AppConstants.REGEX, Pattern.MULTILINE);
-        Matcher matcher = pattern.matcher(path);
-        String str;
-        if (matcher.find()) {
-            String[] tmp = path.replace("$", "").split(AppConstants.REGEX);
-            tmp[0] = tmp[0].replaceAll("(\\[[0-9]*\\])", "");
-            str = "/" + (tmp[0] + matcher.group()).replace("'][", "/");
-        } else {
-            str = "/" + path.replace("$", "").replaceAll("(\\[[0-9]*\\])", "");
-        }
-        return commonReplace(str);
+    static void evaluateTempPath(Object[] cur, JsonElement tmp, ColumnIndex.Node node, boolean ordered) {
+        int index = node.column();
+        if (index >= 0) cur[index] = ordered ? JsonOrder.normalize(tmp.getAsJsonPrimitive()) : tmp.getAsJsonPrimitive();
     }
 
-    /**
-     * @param str - The input string to perform replace operation.
-     * @return Returns processed string.
-     */
-    private static String commonReplace(String str) {
-        return str.replace("[", "")
-                .replace("]", "")
-                .replace("''", "/")
-                .replace("'", "");
+    private static void evaluateTempPath(WorkingRow row, JsonElement tmp, ColumnIndex.Node node, boolean ordered) {
+        int index = node.column();
+        if (index >= 0) row.set(index, ordered ? JsonOrder.normalize(tmp.getAsJsonPrimitive()) : tmp.getAsJsonPrimitive());
     }
 
     /**
@@ -349,7 +725,7 @@ public class JsonReader {
      * @param ele - It's a Json object inside an array
      * @return Returns true if Json object inside an array contains an array or else false.
      */
-    private static boolean isInnerArray(JsonElement ele) {
+    static boolean isInnerArray(JsonElement ele) {
         for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet()) {
             JsonElement jsonElement = entry.getValue();
             if (jsonElement.isJsonArray() && jsonElement.getAsJsonArray().size() > 0) {
@@ -362,12 +738,25 @@ public class JsonReader {
     }
 
     /**
-     * This method replaces the default header separator i.e. "/" with a underscore.
+     * @param stats - The statistics of the conversion, null to measure nothing
+     * @return Returns the start of a phase, 0 without statistics.
+     */
+    private static long start(ConversionStats stats) {
+        return stats == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * This method adds the time of a phase to the statistics.
      *
-     * @param records - The list of processed csv records
+     * @param stats - The statistics of the conversion, null to measure nothing
+     * @param phase - The phase
+     * @param start - The start of the phase
+     * @return Returns the start of the next phase, 0 without statistics.
      */
-    private static void headerSeparator(List<Object[]> records) {
-        headerSeparator(records, AppConstants.DEFAULT_SEPARATOR);
+    private static long time(ConversionStats stats, Phase phase, long start) {
+        if (stats == null) return 0;
+        stats.time(phase, start);
+        return System.nanoTime();
     }
 
     /**
@@ -377,12 +766,19 @@ public class JsonReader {
      * @param separator - The custom header/column separator key
      */
     private static void headerSeparator(List<Object[]> records, String separator) {
-        log.info(String.format("Updating header/column values with separator \"%s\"", separator));
         IntStream.range(0, records.get(0).length)
-                .forEach(I -> records.get(0)[I] = records.get(0)[I].toString()
-                        .replaceFirst("^\\/", "")
-                        .replaceAll("/", separator).trim());
-        log.info(String.format("Successfully updated header/column values with separator \"%s\"", separator));
+                .forEach(I -> records.get(0)[I] = headerName(records.get(0)[I].toString(), separator));
+    }
+
+    /**
+     * This method replaces the default header separator i.e. "/" of a single header/column with the given separator.
+     *
+     * @param header    - The header/column path e.g. /address/city
+     * @param separator - The custom header/column separator key
+     * @return Returns the header/column name e.g. address_city
+     */
+    static String headerName(String header, String separator) {
+        return header.replaceFirst("^\\/", "").replaceAll("/", separator).trim();
     }
 
 }
@@ -0,0 +1,764 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.exception.LimitExceededException;
+import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.util.ValidationUtil;
+import com.google.gson.*;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * This class parse a json stream to 2D representation in a single pass. The document is read token by token
+ * with a pull parser, arrays are walked element by element and only one array element object is materialized
+ * at a time. The nested objects and arrays of an object are deferred to the end of the object and then walked
+ * the same way, see {@link SpilledMembers}, so the memory is bounded by the largest array element object and
+ * the row width instead of the document size.
+ * The headers/columns are discovered while the rows are produced and the rows are spilled to a temporary file,
+ * see {@link SpilledRecords}. The records are the same as the ones returned by {@link JsonReader#json2Sheet(String)}.
+ * A json file can also be read twice instead, the first pass only discovers the headers/columns and the second
+ * pass writes each row to a {@link RowSink} as soon as it is complete, so no row is kept or spilled at all.
+ * The limits of a conversion are checked as the rows are produced and the json is read, see {@link ConversionLimits}.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class JsonStreamReader {
+
+    // The headers/columns in discovery order, a row cell index is the column of its header.
+    private final ColumnIndex columns;
+    // Whether the headers/columns are discovered while reading, or else they are known upfront.
+    private final boolean discover;
+    // The rows, null if only the headers/columns are discovered.
+    private final RowWindow records;
+    // The columns of the leaves which are no headers/columns (yet), see isPrimitive, null unless the rows are
+    // produced while the headers/columns are discovered. The values are kept in case a later leaf is one.
+    private final BitSet hidden;
+    // The projection of the headers/columns, null for all of them.
+    private final Projection projection;
+    // The limits of the nesting depth, null for no limits.
+    private final ConversionLimits limits;
+    // The number of top-level array elements the headers/columns are discovered from.
+    private final int sample;
+    // The number of open json objects and arrays.
+    private int depth;
+
+    private JsonStreamReader(ColumnIndex columns, boolean discover, RowSink sink, Projection projection,
+                             ConversionLimits limits) {
+        this(columns, discover, sink, projection, limits, Integer.MAX_VALUE);
+    }
+
+    private JsonStreamReader(ColumnIndex columns, boolean discover, RowSink sink, Projection projection,
+                             ConversionLimits limits, int sample) {
+        this.columns = columns;
+        this.discover = discover;
+        this.hidden = discover && sink != null ? new BitSet() : null;
+        this.records = sink == null ? null : new RowWindow(sink, hidden);
+        this.projection = projection;
+        this.limits = limits;
+        this.sample = sample;
+    }
+
+    /**
+     * This method process the input json stream and returns the 2D representation of data.
+     *
+     * @param reader - The input json reader
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(Reader reader) throws JsonParsingException {
+        return json2Sheet(reader, AppConstants.DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * This method process the input json stream and returns the 2D representation of data.
+     *
+     * @param reader    - The input json reader
+     * @param separator - The custom header/column separator key
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(Reader reader, String separator) throws JsonParsingException {
+        return json2Sheet(reader, separator, null);
+    }
+
+    /**
+     * This method process the input json stream with the headers/columns of the projection and returns the 2D
+     * representation of data. The subtrees outside of the projection are skipped without being materialized.
+     *
+     * @param reader     - The input json reader
+     * @param separator  - The custom header/column separator key
+     * @param projection - The projection of the headers/columns, null for all of them
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(Reader reader, String separator, Projection projection) throws JsonParsingException {
+        return json2Sheet(reader, separator, projection, null);
+    }
+
+    /**
+     * This method process the input json stream with the headers/columns of the projection within the limits of
+     * the conversion, see {@link ConversionLimits}. The rows are checked as they are spilled, the nesting depth
+     * as the json is read and the headers/columns once they are all discovered.
+     *
+     * @param reader     - The input json reader
+     * @param separator  - The custom header/column separator key
+     * @param projection - The projection of the headers/columns, null for all of them
+     * @param limits     - The limits of the conversion, null for no limits
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(Reader reader, String separator, Projection projection,
+                                            ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        SpilledRecords spill = null;
+        ConversionLimits.Sink guard = null;
+        try {
+            spill = new SpilledRecords();
+            RowSink rows = spill::write;
+            if (limits != null) rows = guard = limits.rows(rows);
+            JsonStreamReader stream = new JsonStreamReader(new ColumnIndex(), true, rows, projection, limits);
+            List<String> headers = stream.process(reader);
+            int width = limits == null ? headers.size() : limits.columns(headers.size());
+            Object[] header = new Object[width];
+            int[] index = new int[width];
+            for (int i = 0; i < index.length; i++) {
+                index[i] = stream.columns.column(headers.get(i));
+                header[i] = JsonReader.headerName(headers.get(i), separator);
+            }
+            spill.finish(header, index);
+            return spill;
+        } catch (LimitExceededException e) {
+            close(spill);
+            throw e;
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            close(spill);
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
+        } catch (IOException e) {
+            close(spill);
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+        return null;
+    }
+
+    /**
+     * This method process the input json stream in UTF-8 and returns the 2D representation of data.
+     *
+     * @param in        - The input json stream
+     * @param separator - The custom header/column separator key
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(InputStream in, String separator) throws JsonParsingException {
+        ValidationUtil.rejectNull(in, "input stream");
+        return json2Sheet(new InputStreamReader(in, StandardCharsets.UTF_8), separator);
+    }
+
+    /**
+     * This method process the input json bytes in UTF-8 and returns the 2D representation of data. The bytes are
+     * decoded as they are read, without building a string of the whole document.
+     *
+     * @param json      - The input json bytes, from the position to the limit, e.g. a memory-mapped file
+     * @param separator - The custom header/column separator key
+     * @return Returns the processed csv records, the caller is responsible to close them.
+     * @throws JsonParsingException
+     */
+    public static SpilledRecords json2Sheet(ByteBuffer json, String separator) throws JsonParsingException {
+        ValidationUtil.rejectNull(json, "json");
+        return json2Sheet(Utf8Reader.of(json), separator);
+    }
+
+    /**
+     * This method process the input json file in two passes. The first pass discovers the headers/columns, the
+     * second pass writes the header/column row and then each row to the sink as soon as it is complete. The file
+     * is memory-mapped and decoded from the mapped bytes, its text is never on the heap as a whole.
+     *
+     * @param path      - The input json file path, read in UTF-8
+     * @param separator - The custom header/column separator key
+     * @param sink      - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Path path, String separator, RowSink sink) throws JsonParsingException {
+        json2Sheet(path, separator, null, sink);
+    }
+
+    /**
+     * This method process the input json file in two passes with the headers/columns of the projection, see
+     * {@link #json2Sheet(Path, String, RowSink)}. The subtrees outside of the projection are skipped without
+     * being materialized.
+     *
+     * @param path       - The input json file path, read in UTF-8
+     * @param separator  - The custom header/column separator key
+     * @param projection - The projection of the headers/columns, null for all of them
+     * @param sink       - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Path path, String separator, Projection projection, RowSink sink) throws JsonParsingException {
+        json2Sheet(path, separator, projection, sink, null);
+    }
+
+    /**
+     * This method process the input json file in two passes with the headers/columns of the projection within
+     * the limits of the conversion, see {@link ConversionLimits}. The nesting depth is checked in the first pass,
+     * the headers/columns and the rows as they are written to the sink.
+     *
+     * @param path       - The input json file path, read in UTF-8
+     * @param separator  - The custom header/column separator key
+     * @param projection - The projection of the headers/columns, null for all of them
+     * @param sink       - The destination of the csv records, the header/column row first
+     * @param limits     - The limits of the conversion, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Path path, String separator, Projection projection, RowSink sink,
+                                  ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(path, "path");
+        ValidationUtil.rejectNull(sink, "sink");
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        ConversionLimits.Sink guard = limits == null ? null : limits.sink(sink);
+        RowSink rows = guard == null ? sink : guard;
+        try {
+            List<String> headers;
+            try (Reader reader = Utf8Reader.map(path)) {
+                headers = new JsonStreamReader(new ColumnIndex(), true, null, projection, limits).process(reader);
+            }
+            Object[] header = new Object[headers.size()];
+            for (int i = 0; i < header.length; i++) header[i] = JsonReader.headerName(headers.get(i), separator);
+            rows.write(header);
+            try (Reader reader = Utf8Reader.map(path)) {
+                new JsonStreamReader(ColumnIndex.of(headers), false, rows, projection, null).process(reader);
+            }
+        } catch (NoSuchFileException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, path), e);
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
+        } catch (IOException e) {
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method process the input json stream in a single pass and writes the header/column row and then each
+     * row to the sink as soon as it is complete, within the limits of the conversion, see {@link ConversionLimits}.
+     * The headers/columns are discovered from the first elements of a top-level json array, values of later
+     * elements outside of these headers/columns are not part of the csv. The chars read for the discovery are
+     * recorded and read again for the rows, see {@link ReplayReader}. The rows of a json object need all of its
+     * primitives, so the headers/columns of an object document are discovered from the whole document.
+     *
+     * @param reader     - The input json reader
+     * @param separator  - The custom header/column separator key
+     * @param projection - The projection of the headers/columns, null for all of them
+     * @param sample     - The number of top-level array elements the headers/columns are discovered from, at least 1
+     * @param sink       - The destination of the csv records, the header/column row first
+     * @param limits     - The limits of the conversion, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, String separator, Projection projection, int sample, RowSink sink,
+                                  ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        ValidationUtil.rejectNull(sink, "sink");
+        if (sample < 1) ErrorUtil.jsonParsingException("The sample elements must be at least 1.");
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        ConversionLimits.Sink guard = limits == null ? null : limits.sink(sink);
+        RowSink rows = guard == null ? sink : guard;
+        try (ReplayReader replay = new ReplayReader(reader)) {
+            List<String> headers = new JsonStreamReader(new ColumnIndex(), true, null, projection, limits, sample)
+                    .process(replay);
+            Object[] header = new Object[headers.size()];
+            for (int i = 0; i < header.length; i++) header[i] = JsonReader.headerName(headers.get(i), separator);
+            rows.write(header);
+            replay.replay();
+            new JsonStreamReader(ColumnIndex.of(headers), false, rows, projection, limits).process(replay);
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
+        } catch (IOException e) {
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method process the input json stream with the headers/columns of json path expressions in a single
+     * pass, see {@link JsonPathColumns}. The header/column row and then the rows of each record are written to the
+     * sink as soon as the record is read, so no row is kept or spilled at all.
+     *
+     * @param reader  - The input json reader
+     * @param columns - The compiled json path columns
+     * @param sink    - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, JsonPathColumns columns, RowSink sink) throws JsonParsingException {
+        json2Sheet(reader, columns, sink, null);
+    }
+
+    /**
+     * This method process the input json stream with the headers/columns of json path expressions within the
+     * limits of the conversion, see {@link ConversionLimits}. The headers/columns and the rows are checked as they
+     * are written to the sink, the nesting depth is not checked.
+     *
+     * @param reader  - The input json reader
+     * @param columns - The compiled json path columns
+     * @param sink    - The destination of the csv records, the header/column row first
+     * @param limits  - The limits of the conversion, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, JsonPathColumns columns, RowSink sink, ConversionLimits limits)
+            throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        ValidationUtil.rejectNull(columns, "columns");
+        ValidationUtil.rejectNull(sink, "sink");
+        ConversionLimits.Sink guard = limits == null ? null : limits.sink(sink);
+        try {
+            columns.read(reader, guard == null ? sink : guard);
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
+        } catch (IOException e) {
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method reads the json document and hands the rows to the sink if there is one.
+     *
+     * @param reader - The input json reader
+     * @return Returns the header/column paths in final order.
+     * @throws IOException
+     * @throws LimitExceededException
+     */
+    private List<String> process(Reader reader) throws IOException, LimitExceededException {
+        com.google.gson.stream.JsonReader in = new com.google.gson.stream.JsonReader(reader);
+        in.setLenient(true);
+        Frame root = new Frame();
+        Projection.State state = projection == null ? null : projection.root();
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            Object[] cur = streamArray(in, new Object[columns.size()], columns.root(), state, root, false);
+            if (records != null) records.add(width(cur));
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            Object[] cur = streamObject(in, new Object[columns.size()], columns.root(), state, root);
+            if (records != null) records.add(width(cur));
+        } else {
+            in.skipValue();
+            if (records != null) records.add(new Object[0]);
+        }
+        // the rest of a sampled top-level array is left unread
+        if (depth == 0 && in.peek() != JsonToken.END_DOCUMENT)
+            throw new MalformedJsonException("Expected a single json document.");
+        if (records != null) {
+            records.removeDuplicates();
+            records.retain(0);
+        }
+        if (!discover) return columns.headers();
+        List<String> headers = new ArrayList<>();
+        for (Integer column : root.order()) headers.add(columns.headers().get(column));
+        return headers;
+    }
+
+    /**
+     * This method walks a json object member by member, the same way as {@link JsonReader#buildCsv} does for
+     * an object, and returns the row with the object values. The primitives are set as they are read. The rows
+     * of the nested objects and arrays need all the primitives of the object, so they are deferred until the
+     * object is complete, unless only the headers/columns are discovered.
+     *
+     * @param in    - The json token reader positioned on the object
+     * @param cur   - The row of the enclosing element, the values of the object are set in it
+     * @param node  - The column index node of the object
+     * @param state - The projection state of the object, null without a projection
+     * @param frame - The headers/columns of the enclosing element
+     * @return Returns the row with the object values.
+     * @throws IOException
+     * @throws LimitExceededException
+     */
+    private Object[] streamObject(com.google.gson.stream.JsonReader in, Object[] cur, ColumnIndex.Node node,
+                                  Projection.State state, Frame frame) throws IOException, LimitExceededException {
+        Frame own = new Frame();
+        SpilledMembers deferred = null;
+        checkDepth(++depth);
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                Projection.State child = state == null ? null : state.child(key);
+                JsonToken token = in.peek();
+                boolean nested = token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY;
+                if (child != null && (child.skip() || (!nested && !child.accepts()))) {
+                    in.skipValue();
+                } else if (!nested) {
+                    JsonElement ele = nextPrimitive(in, token);
+                    ColumnIndex.Node leaf = discover ? node.add(key) : node.child(key);
+                    int column = discover ? register(columns, leaf, ele, hidden) : -1;
+                    if (column >= 0) own.primitives.add(column);
+                    if (records != null && ele.isJsonPrimitive()) {
+                        cur = width(cur);
+                        JsonReader.evaluateTempPath(cur, ele, leaf, true);
+                    }
+                } else if (records == null) {
+                    Frame inner = new Frame();
+                    if (token == JsonToken.BEGIN_OBJECT) streamObject(in, cur, node.add(key), child, inner);
+                    else streamArray(in, cur, node.add(key), child, inner, true);
+                    inner.order().forEach(own::nested);
+                } else {
+                    if (deferred == null) deferred = new SpilledMembers();
+                    deferred.add(key, in);
+                }
+            }
+            in.endObject();
+            if (deferred != null) cur = streamDeferred(deferred, cur, node, state, own);
+        } finally {
+            if (deferred != null) deferred.close();
+        }
+        depth--;
+        if (discover) own.order().forEach(frame::nested);
+        return cur;
+    }
+
+    /**
+     * This method walks the deferred members of a json object, the nested objects first and then the arrays in
+     * document order, the same way as {@link JsonReader#buildCsv} does for an object.
+     *
+     * @param deferred - The nested objects and arrays of the object
+     * @param cur      - The row of the object
+     * @param node     - The column index node of the object
+     * @param state    - The projection state of the object, null without a projection
+     * @param own      - The headers/columns of the object
+     * @return Returns the row with the object values.
+     * @throws IOException
+     * @throws LimitExceededException
+     */
+    private Object[] streamDeferred(SpilledMembers deferred, Object[] cur, ColumnIndex.Node node,
+                                    Projection.State state, Frame own) throws IOException, LimitExceededException {
+        // the headers/columns of each member, listed in document order once all are walked
+        Frame[] frames = new Frame[deferred.size()];
+        for (boolean objects : new boolean[]{true, false}) {
+            try (Reader reader = deferred.reader()) {
+                com.google.gson.stream.JsonReader in = new com.google.gson.stream.JsonReader(reader);
+                in.setLenient(true);
+                in.beginObject();
+                for (int i = 0; in.hasNext(); i++) {
+                    String key = in.nextName();
+                    if ((in.peek() == JsonToken.BEGIN_OBJECT) != objects) {
+                        in.skipValue();
+                        continue;
+                    }
+                    ColumnIndex.Node child = discover ? node.add(key) : node.child(key);
+                    Projection.State childState = state == null ? null : state.child(key);
+                    frames[i] = new Frame();
+                    if (objects) cur = streamObject(in, cur, child, childState, frames[i]);
+                    else cur = streamArray(in, cur, child, childState, frames[i], true);
+                }
+            }
+        }
+        if (discover) {
+            for (Frame frame : frames) frame.order().forEach(own::nested);
+        }
+        return cur;
+    }
+
+    /**
+     * This method walks a json array element by element, the same way as {@link JsonReader#buildCsv} does
+     * for an array, and returns the row with the array primitives.
+     *
+     * @param in      - The json token reader positioned on the array
+     * @param old     - The row of the enclosing element
+     * @param node    - The column index node of the array
+     * @param state   - The projection state of the array, null without a projection
+     * @param frame   - The headers/columns of the array
+     * @param ordered - Whether the array is inside an ordered json object
+     * @return Returns the row with the array primitives.
+     * @throws IOException
+     * @throws LimitExceededException
+     */
+    private Object[] streamArray(com.google.gson.stream.JsonReader in, Object[] old, ColumnIndex.Node node,
+                                 Projection.State state, Frame frame, boolean ordered) throws IOException, LimitExceededException {
+        Object[] cur = old.clone();
+        int arrIndex = 0;
+        checkDepth(++depth);
+        in.beginArray();
+        while (in.hasNext()) {
+            if (depth == 1 && arrIndex == sample) return cur;
+            JsonToken token = in.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                JsonElement ele = read(in, state);
+                int eleDepth = discover ? scan(columns, ele, node, frame, hidden) : depth(ele);
+                checkDepth(depth + eleDepth);
+                if (records != null) {
+                    cur = width(cur);
+                    records.retain(depth + eleDepth + 2);
+                    JsonReader.buildElement(cur, ele, arrIndex, node, records, ordered);
+                }
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                Frame inner = new Frame();
+                streamArray(in, cur, node, state, inner, ordered);
+                if (discover) inner.order().forEach(frame::nested);
+            } else if (state != null && !state.index(arrIndex).accepts()) {
+                in.skipValue();
+            } else {
+                JsonElement ele = nextPrimitive(in, token);
+                int column = discover ? register(columns, node.addIndex(arrIndex), ele, hidden) : -1;
+                if (column >= 0) frame.primitives.add(column);
+                if (records != null && ele.isJsonPrimitive()) {
+                    cur = width(cur);
+                    JsonReader.evaluateTempPath(cur, ele, node.index(arrIndex), ordered);
+                }
+            }
+            arrIndex++;
+        }
+        in.endArray();
+        depth--;
+        return cur;
+    }
+
+    /**
+     * This method registers the headers/columns of a materialized json element in the same order as the
+     * json path scan "$..*" lists them, and returns the nesting depth of the element.
+     *
+     * @param columns - The headers/columns in discovery order
+     * @param ele     - The json element
+     * @param node    - The column index node of the element
+     * @param frame   - The headers/columns of the enclosing array
+     * @param hidden  - The columns of the leaves which are no headers/columns, null to leave them out
+     * @return Returns the nesting depth of the element.
+     */
+    private static int scan(ColumnIndex columns, JsonElement ele, ColumnIndex.Node node, Frame frame,
+                            BitSet hidden) {
+        int max = 0;
+        if (ele.isJsonObject()) {
+            Set<Map.Entry<String, JsonElement>> entries = ele.getAsJsonObject().entrySet();
+            for (Map.Entry<String, JsonElement> entry : entries) {
+                if (isLeaf(entry.getValue())) {
+                    int column = register(columns, node.add(entry.getKey()), entry.getValue(), hidden);
+                    if (column >= 0) frame.nested(column);
+                }
+            }
+            for (Map.Entry<String, JsonElement> entry : entries) {
+                if (!isLeaf(entry.getValue()))
+                    max = Math.max(max, scan(columns, entry.getValue(), node.add(entry.getKey()), frame, hidden));
+            }
+        } else if (ele.isJsonArray()) {
+            JsonArray array = ele.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                if (isLeaf(array.get(i))) {
+                    int column = register(columns, node.addIndex(i), array.get(i), hidden);
+                    if (column >= 0) frame.nested(column);
+                }
+            }
+            for (JsonElement element : array) {
+                max = Math.max(max, scan(columns, element, node, frame, hidden));
+            }
+        } else {
+            return 0;
+        }
+        return max + 1;
+    }
+
+    /**
+     * @param ele - The json element
+     * @return Returns the nesting depth of the element.
+     */
+    static int depth(JsonElement ele) {
+        int max = 0;
+        if (ele.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet())
+                max = Math.max(max, depth(entry.getValue()));
+        } else if (ele.isJsonArray()) {
+            for (JsonElement value : ele.getAsJsonArray()) max = Math.max(max, depth(value));
+        } else {
+            return 0;
+        }
+        return max + 1;
+    }
+
+    /**
+     * @param depth - The nesting depth of the json read so far
+     * @throws LimitExceededException
+     */
+    private void checkDepth(int depth) throws LimitExceededException {
+        if (limits != null) limits.checkDepth(depth);
+    }
+
+    private Object[] width(Object[] row) {
+        return row.length < columns.size() ? Arrays.copyOf(row, columns.size()) : row;
+    }
+
+    /**
+     * @param in    - The json token reader positioned on an object
+     * @param state - The projection state of the object, null without a projection
+     * @return Returns the object, with the values outside of the projection left out.
+     * @throws IOException
+     */
+    private static JsonElement read(com.google.gson.stream.JsonReader in, Projection.State state) throws IOException {
+        return state == null ? com.google.gson.JsonParser.parseReader(in) : Projection.read(in, state);
+    }
+
+    /**
+     * This method discovers the headers/columns of a materialized json document in the same order as the json
+     * path scan "$..*" lists them.
+     *
+     * @param ele - The json document
+     * @return Returns the headers/columns.
+     */
+    static ColumnIndex columns(JsonElement ele) {
+        ColumnIndex discovered = new ColumnIndex();
+        Frame root = new Frame();
+        if (ele.isJsonArray()) scanArray(discovered, ele.getAsJsonArray(), discovered.root(), root);
+        else if (ele.isJsonObject()) scan(discovered, ele, discovered.root(), root, null);
+        List<String> headers = new ArrayList<>();
+        for (Integer column : root.order()) headers.add(discovered.headers().get(column));
+        return ColumnIndex.of(headers);
+    }
+
+    /**
+     * This method registers the headers/columns of a materialized json array the same way as
+     * {@link #streamArray} does while it reads the array.
+     *
+     * @param columns - The headers/columns in discovery order
+     * @param array   - The json array
+     * @param node    - The column index node of the array
+     * @param frame   - The headers/columns of the array
+     */
+    private static void scanArray(ColumnIndex columns, JsonArray array, ColumnIndex.Node node, Frame frame) {
+        for (int i = 0; i < array.size(); i++) {
+            JsonElement element = array.get(i);
+            if (element.isJsonObject()) {
+                scan(columns, element, node, frame, null);
+            } else if (element.isJsonArray()) {
+                Frame inner = new Frame();
+                scanArray(columns, element.getAsJsonArray(), node, inner);
+                inner.order().forEach(frame::nested);
+            } else if (isPrimitive(element)) {
+                frame.primitives.add(columns.register(node.addIndex(i)));
+            }
+        }
+    }
+
+    static JsonElement nextPrimitive(com.google.gson.stream.JsonReader in, JsonToken token) throws IOException {
+        switch (token) {
+            case STRING:
+                return new JsonPrimitive(in.nextString());
+            case NUMBER:
+                return new JsonPrimitive(new LazilyParsedNumber(in.nextString()));
+            case BOOLEAN:
+                return new JsonPrimitive(in.nextBoolean());
+            case NULL:
+                in.nextNull();
+                return JsonNull.INSTANCE;
+            default:
+                throw new MalformedJsonException("Unexpected json token " + token);
+        }
+    }
+
+    /**
+     * This method registers the column of a json leaf and returns it if the leaf is a header/column. A leaf which
+     * is no header/column gets a hidden column instead, unless hidden is null, so its value is kept in the rows
+     * and is part of the csv once a later leaf of the same path is a header/column, like the json path scan has it.
+     *
+     * @param columns - The headers/columns in discovery order
+     * @param leaf    - The column index node of the leaf
+     * @param ele     - The json leaf
+     * @param hidden  - The columns of the leaves which are no headers/columns, null to leave them out
+     * @return Returns the column of the leaf if it is a header/column or else -1.
+     */
+    private static int register(ColumnIndex columns, ColumnIndex.Node leaf, JsonElement ele, BitSet hidden) {
+        if (isPrimitive(ele)) {
+            int column = columns.register(leaf);
+            if (hidden != null) hidden.clear(column);
+            return column;
+        }
+        if (hidden != null) {
+            int size = columns.size();
+            int column = columns.register(leaf);
+            if (column == size) hidden.set(column);
+        }
+        return -1;
+    }
+
+    /**
+     * @param ele - The json element
+     * @return Returns true if the element is neither a json object nor a json array or else false.
+     */
+    private static boolean isLeaf(JsonElement ele) {
+        return ele.isJsonPrimitive() || ele.isJsonNull();
+    }
+
+    /**
+     * This method checks whether the json element is a leaf the json path scan treats as a header/column,
+     * integral numbers beyond the long range are not.
+     *
+     * @param ele - The json element
+     * @return Returns true if the element is a header/column leaf or else false.
+     */
+    static boolean isPrimitive(JsonElement ele) {
+        if (ele.isJsonNull()) return true;
+        if (!ele.isJsonPrimitive()) return false;
+        JsonPrimitive primitive = ele.getAsJsonPrimitive();
+        if (!primitive.isNumber()) return true;
+        String number = primitive.getAsString();
+        if (number.length() < 19) return true;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') return true;
+        }
+        try {
+            Long.parseLong(number);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void close(SpilledRecords spill) {
+        try {
+            if (spill != null) spill.close();
+        } catch (IOException ignored) {
+            // the parsing exception is reported instead
+        }
+    }
+
+    /**
+     * The headers/columns found below a json array or object, kept in json path scan order.
+     */
+    private static final class Frame {
+        private final List<Integer> primitives = new ArrayList<>();
+        private final List<Integer> nested = new ArrayList<>();
+        private final BitSet seen = new BitSet();
+
+        private void nested(int column) {
+            if (!seen.get(column)) {
+                seen.set(column);
+                nested.add(column);
+            }
+        }
+
+        private List<Integer> order() {
+            BitSet added = new BitSet();
+            List<Integer> order = new ArrayList<>(primitives.size() + nested.size());
+            for (Integer column : primitives) {
+                if (!added.get(column)) {
+                    added.set(column);
+                    order.add(column);
+                }
+            }
+            for (Integer column : nested) {
+                if (!added.get(column)) {
+                    added.set(column);
+                    order.add(column);
+                }
+            }
+            return order;
+        }
+    }
+}
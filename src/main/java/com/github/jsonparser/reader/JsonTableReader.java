@@ -0,0 +1,248 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.util.ValidationUtil;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class parse a json stream to normalized csv tables in a single pass, instead of repeating the columns of
+ * the enclosing element on each row of a nested array. The records, the elements of a top-level json array or
+ * else the json document itself, are the table "/" and each json array path is a table of its own e.g.
+ * /orders or /orders/items, the way a relational normalizer splits a document. A table row holds the
+ * primitives of an array element and of its nested objects, the nested arrays are rows of their own tables.
+ * The rows are keyed by a generated {@link #ID} column, the rows of an array table also have the
+ * {@link #PARENT_ID} of the enclosing row and the {@link #INDEX} of the element in its array. The primitives of
+ * an array of primitives are in a {@link #VALUE} column and the elements of an array of arrays are in the table
+ * of the array path with a trailing /* e.g. /matrix/*.
+ * e.g. the records {"id":1,"orders":[{"total":3},{"total":4}],"payments":[{"amount":7}]} are the tables
+ * <pre>
+ * /         __id,id
+ *           1,1
+ * /orders   __id,__parent_id,__index,total
+ *           1,1,0,3
+ *           2,1,1,4
+ * /payments __id,__parent_id,__index,amount
+ *           1,1,0,7
+ * </pre>
+ * The output grows with the size of the json instead of the product of the sibling array sizes. The
+ * headers/columns of a table are only known once the whole document is read, so the rows are spilled to a
+ * temporary file per table and the tables are written to their sinks after the document is read.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class JsonTableReader {
+
+    /**
+     * The path of the table of the records.
+     */
+    public static final String ROOT = "/";
+    /**
+     * The generated key column of a table, numbered from 1 in document order.
+     */
+    public static final String ID = "__id";
+    /**
+     * The key column of the enclosing row, in the table of the enclosing array or the records.
+     */
+    public static final String PARENT_ID = "__parent_id";
+    /**
+     * The index of an element in its array.
+     */
+    public static final String INDEX = "__index";
+    /**
+     * The column of the primitives of an array of primitives.
+     */
+    public static final String VALUE = "value";
+
+    // The path segment of the table of an array of arrays.
+    private static final String NESTED = "*";
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    private JsonTableReader() {
+    }
+
+    /**
+     * This method process the input json stream to normalized csv tables and writes each table to its sink.
+     *
+     * @param reader    - The input json reader
+     * @param separator - The custom header/column separator key
+     * @param sinks     - The destinations of the tables, a table is opened once it has a row
+     * @throws JsonParsingException
+     */
+    public static void json2Tables(Reader reader, String separator, TableSink sinks) throws JsonParsingException {
+        json2Tables(reader, separator, sinks, null);
+    }
+
+    /**
+     * This method process the input json stream to normalized csv tables within the limits of the conversion,
+     * see {@link ConversionLimits}. The limits apply to each table, its headers/columns and rows are checked as
+     * they are written to its sink, the nesting depth is not checked.
+     *
+     * @param reader    - The input json reader
+     * @param separator - The custom header/column separator key
+     * @param sinks     - The destinations of the tables, a table is opened once it has a row
+     * @param limits    - The limits of each table, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Tables(Reader reader, String separator, TableSink sinks, ConversionLimits limits)
+            throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        ValidationUtil.rejectNull(sinks, "sinks");
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        JsonTableReader tableReader = new JsonTableReader();
+        ConversionLimits.Sink guard = null;
+        try {
+            tableReader.process(reader);
+            for (Table table : tableReader.tables.values()) {
+                RowSink sink = sinks.open(table.path);
+                if (limits != null) sink = guard = limits.sink(sink);
+                table.write(separator, sink);
+            }
+        } catch (MalformedJsonException | JsonParseException | IllegalStateException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
+        } catch (IOException e) {
+            // the tables are written one after the other, only the last one can be stopped by its limits
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        } finally {
+            tableReader.close();
+        }
+    }
+
+    private void process(Reader reader) throws IOException {
+        com.google.gson.stream.JsonReader in = new com.google.gson.stream.JsonReader(reader);
+        in.setLenient(true);
+        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) element(in, "", 0, 0);
+            in.endArray();
+        } else {
+            element(in, "", 0, 0);
+        }
+        if (in.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Expected a single json document.");
+    }
+
+    /**
+     * This method reads an array element or a record as a row of the table of its path. The nested arrays are
+     * read as the rows of their tables while the row is still open, its key is known before them.
+     *
+     * @param in       - The json token reader positioned on the element
+     * @param path     - The json array path of the table, empty for the records
+     * @param parentId - The key of the enclosing row
+     * @param index    - The index of the element in its array
+     * @throws IOException
+     */
+    private void element(com.google.gson.stream.JsonReader in, String path, long parentId, int index) throws IOException {
+        Table table = tables.get(path);
+        if (table == null) {
+            table = new Table(path.isEmpty() ? ROOT : path);
+            tables.put(path, table);
+        }
+        long id = table.nextId++;
+        Object[] row = new Object[table.keys + table.columns.size()];
+        row[0] = new JsonPrimitive(id);
+        if (table.keys > 1) {
+            row[1] = new JsonPrimitive(parentId);
+            row[2] = new JsonPrimitive(index);
+        }
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            row = object(in, table, table.columns.root(), path, id, row);
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            array(in, path + "/" + NESTED, id);
+        } else {
+            row = primitive(in, table, table.columns.root().add(VALUE), token, row);
+        }
+        table.rows.write(row);
+    }
+
+    private Object[] object(com.google.gson.stream.JsonReader in, Table table, ColumnIndex.Node node, String path,
+                            long id, Object[] row) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            ColumnIndex.Node child = node.add(in.nextName());
+            JsonToken token = in.peek();
+            if (token == JsonToken.BEGIN_OBJECT) row = object(in, table, child, path, id, row);
+            else if (token == JsonToken.BEGIN_ARRAY) array(in, path + child.header(), id);
+            else row = primitive(in, table, child, token, row);
+        }
+        in.endObject();
+        return row;
+    }
+
+    private void array(com.google.gson.stream.JsonReader in, String path, long parentId) throws IOException {
+        int index = 0;
+        in.beginArray();
+        while (in.hasNext()) element(in, path, parentId, index++);
+        in.endArray();
+    }
+
+    private static Object[] primitive(com.google.gson.stream.JsonReader in, Table table, ColumnIndex.Node node,
+                                      JsonToken token, Object[] row) throws IOException {
+        JsonElement ele = JsonStreamReader.nextPrimitive(in, token);
+        int column = table.keys + table.columns.register(node);
+        if (column >= row.length) row = Arrays.copyOf(row, table.keys + table.columns.size());
+        row[column] = ele.isJsonNull() ? null : ele;
+        return row;
+    }
+
+    private void close() {
+        for (Table table : tables.values()) {
+            try {
+                table.rows.close();
+            } catch (IOException ignored) {
+                // the tables are written or the parsing exception is reported instead
+            }
+        }
+    }
+
+    /**
+     * A table of a json array path, with its headers/columns in discovery order and its spilled rows.
+     */
+    private static final class Table {
+
+        private final String path;
+        // The number of key columns before the headers/columns.
+        private final int keys;
+        private final ColumnIndex columns = new ColumnIndex();
+        private final SpilledRecords rows;
+        private long nextId = 1;
+
+        private Table(String path) throws IOException {
+            this.path = path;
+            this.keys = path.equals(ROOT) ? 1 : 3;
+            this.rows = new SpilledRecords();
+        }
+
+        private void write(String separator, RowSink sink) throws IOException {
+            Object[] header = new Object[keys + columns.size()];
+            int[] order = new int[header.length];
+            header[0] = ID;
+            if (keys > 1) {
+                header[1] = PARENT_ID;
+                header[2] = INDEX;
+            }
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                if (i >= keys) header[i] = JsonReader.headerName(columns.headers().get(i - keys), separator);
+            }
+            rows.finish(header, order);
+            for (Object[] row : rows) sink.write(row);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.exception.LimitExceededException;
+import com.github.jsonparser.util.AppConstants;
+import com.github.jsonparser.util.ErrorUtil;
+import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.util.ValidationUtil;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.jayway.jsonpath.Configuration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class parse newline delimited json (NDJSON / JSON Lines) record by record. Each non blank line holds
+ * one json value and the lines are converted the same way as the elements of a json array, so the records
+ * of all lines are the ones {@link JsonReader#json2Sheet(String)} returns for the array of the lines.
+ * The headers/columns are either taken from a xsd schema json or discovered from the first lines of the input,
+ * the sampling window. Values of later lines with a path outside of the headers/columns are not part of the csv.
+ * The rows are handed to a {@link RowSink} as soon as no duplicate check can remove them anymore, so the memory
+ * is bounded by the sampling window and the largest record.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class NdJsonReader {
+
+    // The default number of lines the headers/columns are discovered from.
+    public static final int DEFAULT_SAMPLE_LINES = 1000;
+
+    private NdJsonReader() {
+    }
+
+    /**
+     * This method process the input json lines with the headers/columns of the first
+     * {@link #DEFAULT_SAMPLE_LINES} lines and the default separator.
+     *
+     * @param reader - The input json lines reader
+     * @param sink   - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, RowSink sink) throws JsonParsingException {
+        json2Sheet(reader, null, DEFAULT_SAMPLE_LINES, null, AppConstants.DEFAULT_SEPARATOR, sink);
+    }
+
+    /**
+     * This method process the input json lines and hands the csv records to the sink while the lines are read.
+     *
+     * @param reader        - The input json lines reader
+     * @param xsd           - The xsd schema json string with the headers/columns, null to discover them from the sample lines
+     * @param sampleLines   - The number of first lines the headers/columns are discovered from when there is no xsd
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param separator     - The custom header/column separator key
+     * @param sink          - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, String xsd, int sampleLines, Configuration configuration, String separator,
+                                  RowSink sink) throws JsonParsingException {
+        json2Sheet(reader, xsd, sampleLines, configuration, separator, sink, null);
+    }
+
+    /**
+     * This method process the input json lines within the limits of the conversion, see {@link ConversionLimits}.
+     * The rows are checked as they are handed to the sink, the nesting depth as each line is parsed.
+     *
+     * @param reader        - The input json lines reader
+     * @param xsd           - The xsd schema json string with the headers/columns, null to discover them from the sample lines
+     * @param sampleLines   - The number of first lines the headers/columns are discovered from when there is no xsd
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param separator     - The custom header/column separator key
+     * @param sink          - The destination of the csv records, the header/column row first
+     * @param limits        - The limits of the conversion, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, String xsd, int sampleLines, Configuration configuration, String separator,
+                                  RowSink sink, ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        ValidationUtil.rejectNull(sink, "sink");
+        if (xsd == null && sampleLines < 1) ErrorUtil.jsonParsingException("The sample lines must be at least 1.");
+        if (separator == null) separator = AppConstants.DEFAULT_SEPARATOR;
+        BufferedReader lines = lines(reader);
+        ConversionLimits.Sink guard = limits == null ? null : limits.sink(sink);
+        try {
+            List<JsonElement> sample = new ArrayList<>();
+            ColumnIndex columns = xsd != null ? JsonReader.columns(xsd, configuration) : sample(lines, sampleLines, sample, configuration);
+            convert(lines, sample, columns, separator, row -> row, guard == null ? sink : guard, limits);
+        } catch (IOException e) {
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * This method process the input json lines with the headers/columns of a pre-declared schema and hands the
+     * csv records to the sink while the lines are read. A strict schema is used as it is, the columns outside of
+     * a lenient schema are discovered from the sample lines.
+     *
+     * @param reader        - The input json lines reader
+     * @param schema        - The compiled csv schema
+     * @param sampleLines   - The number of first lines the columns outside of a lenient schema are discovered from
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param sink          - The destination of the csv records, the header/column row first
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, CsvSchema schema, int sampleLines, Configuration configuration,
+                                  RowSink sink) throws JsonParsingException {
+        json2Sheet(reader, schema, sampleLines, configuration, sink, null);
+    }
+
+    /**
+     * This method process the input json lines with the headers/columns of a pre-declared schema within the
+     * limits of the conversion, see {@link ConversionLimits}. The rows are checked as they are handed to the sink,
+     * the nesting depth as each line is parsed.
+     *
+     * @param reader        - The input json lines reader
+     * @param schema        - The compiled csv schema
+     * @param sampleLines   - The number of first lines the columns outside of a lenient schema are discovered from
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @param sink          - The destination of the csv records, the header/column row first
+     * @param limits        - The limits of the conversion, null for no limits
+     * @throws JsonParsingException
+     */
+    public static void json2Sheet(Reader reader, CsvSchema schema, int sampleLines, Configuration configuration,
+                                  RowSink sink, ConversionLimits limits) throws JsonParsingException {
+        ValidationUtil.rejectNull(reader, "reader");
+        ValidationUtil.rejectNull(schema, "schema");
+        ValidationUtil.rejectNull(sink, "sink");
+        if (!schema.isStrict() && sampleLines < 1) ErrorUtil.jsonParsingException("The sample lines must be at least 1.");
+        BufferedReader lines = lines(reader);
+        ConversionLimits.Sink guard = limits == null ? null : limits.sink(sink);
+        try {
+            List<JsonElement> sample = new ArrayList<>();
+            ColumnIndex columns = schema.isStrict() ? schema.columns()
+                    : schema.columns(sample(lines, sampleLines, sample, configuration));
+            convert(lines, sample, columns, schema.separator(), schema::format, guard == null ? sink : guard, limits);
+        } catch (IOException e) {
+            if (guard != null) guard.rethrow();
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    private static BufferedReader lines(Reader reader) {
+        return reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * This method reads the sample lines and discovers their headers/columns.
+     *
+     * @param lines         - The input json lines
+     * @param sampleLines   - The number of lines to read
+     * @param sample        - The list to add the parsed sample lines to
+     * @param configuration - The json path configuration with the json and mapping provider, null for default
+     * @return Returns the headers/columns of the sample lines.
+     * @throws IOException
+     * @throws JsonParsingException
+     */
+    private static ColumnIndex sample(BufferedReader lines, int sampleLines, List<JsonElement> sample,
+                                      Configuration configuration) throws IOException, JsonParsingException {
+        StringBuilder array = new StringBuilder("[");
+        String line;
+        while (sample.size() < sampleLines && (line = nextLine(lines)) != null) {
+            sample.add(parse(line, sample.size()));
+            array.append(sample.size() > 1 ? "," : "").append(line);
+        }
+        return JsonReader.columns(array.append("]").toString(), configuration);
+    }
+
+    /**
+     * This method writes the header/column row and the csv records of the sample lines and the remaining lines.
+     *
+     * @param lines     - The input json lines after the sample lines
+     * @param sample    - The parsed sample lines
+     * @param columns   - The headers/columns
+     * @param separator - The custom header/column separator key
+     * @param format    - The conversion of each csv record before it is written
+     * @param sink      - The destination of the csv records
+     * @param limits    - The limits of the nesting depth, null for no limits
+     * @throws IOException
+     * @throws JsonParsingException
+     */
+    private static void convert(BufferedReader lines, List<JsonElement> sample, ColumnIndex columns, String separator,
+                                UnaryOperator<Object[]> format, RowSink sink, ConversionLimits limits)
+            throws IOException, JsonParsingException {
+        Object[] header = new Object[columns.size()];
+        for (int i = 0; i < header.length; i++) header[i] = JsonReader.headerName(columns.headers().get(i), separator);
+        sink.write(header);
+
+        RowWindow records = new RowWindow(row -> sink.write(format.apply(row)));
+        Object[] cur = new Object[columns.size()];
+        int arrIndex = 0;
+        for (JsonElement ele : sample) {
+            convert(cur, ele, arrIndex++, columns, records, limits);
+        }
+        sample.clear();
+        String line;
+        while ((line = nextLine(lines)) != null) {
+            convert(cur, parse(line, arrIndex), arrIndex++, columns, records, limits);
+        }
+        records.add(cur);
+        records.removeDuplicates();
+        records.retain(0);
+    }
+
+    private static JsonElement parse(String line, int arrIndex) throws JsonParsingException {
+        try {
+            return com.google.gson.JsonParser.parseString(line);
+        } catch (JsonParseException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_LINE_PARSING_EXCEPTION, arrIndex + 1), e);
+            return null;
+        }
+    }
+
+    private static void convert(Object[] cur, JsonElement ele, int arrIndex, ColumnIndex columns, RowWindow records,
+                                ConversionLimits limits) throws IOException, LimitExceededException {
+        // the json lines are the elements of a top-level array, at depth 1
+        int depth = JsonStreamReader.depth(ele);
+        if (limits != null) limits.checkDepth(depth + 1);
+        records.retain(depth + 3);
+        JsonReader.buildElement(cur, ele, arrIndex, columns.root(), records, false);
+    }
+
+    private static String nextLine(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty()) return line;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonArray;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class flattens the elements of a top-level json array in chunks on an executor. The rows of an element
+ * only depend on the row of the array before it, so each chunk is flattened to its own rows starting from the
+ * array row at its first element. The duplicate checks of a chunk which compare with rows before the chunk are
+ * recorded and replayed when the chunks are merged in the original order. In the rare case a recorded check
+ * removes a row of the chunk, the chunk is flattened again on the merged records, so the records are always
+ * the same as the ones built by {@link JsonReader#buildCsv} on a single thread.
+ * The headers/columns are shared by all chunks, they are only read while flattening.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+final class ParallelFlattener {
+
+    // The smallest number of array elements flattened as one chunk.
+    private static final int MIN_CHUNK = 64;
+
+    // The number of chunks per thread, so that uneven chunks are balanced between the threads.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelFlattener() {
+    }
+
+    /**
+     * @param array - The top-level json array
+     * @return Returns true if the array has enough elements to be flattened in more than one chunk.
+     */
+    static boolean worthSplitting(JsonArray array) {
+        return array.size() >= 2 * MIN_CHUNK;
+    }
+
+    /**
+     * This method flattens the json array elements in chunks on the executor and adds the rows to the records
+     * in the original order.
+     *
+     * @param old      - The row of the enclosing element
+     * @param array    - The top-level json array
+     * @param node     - The column index node of the array
+     * @param records  - The list of processed csv records
+     * @param executor - The executor to flatten the chunks on
+     * @return Returns the row with the array primitives.
+     */
+    static Object[] flatten(Object[] old, JsonArray array, ColumnIndex.Node node, List<Object[]> records, Executor executor) {
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int chunks = parallelism * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(MIN_CHUNK, (array.size() + chunks - 1) / chunks);
+
+        Object[] cur = old.clone();
+        List<CompletableFuture<Chunk>> flattened = new ArrayList<>();
+        for (int from = 0; from < array.size(); from += chunkSize) {
+            Chunk chunk = new Chunk(array, node, from, Math.min(array.size(), from + chunkSize), cur.clone());
+            flattened.add(CompletableFuture.supplyAsync(chunk::flatten, executor));
+            // the array row at the next chunk only depends on the primitives of this one
+            for (int i = chunk.from; i < chunk.to; i++) {
+                if (array.get(i).isJsonPrimitive()) JsonReader.evaluateTempPath(cur, array.get(i), node.index(i), false);
+            }
+        }
+        for (CompletableFuture<Chunk> chunk : flattened) {
+            join(chunk).merge(records);
+        }
+        return cur;
+    }
+
+    private static Chunk join(CompletableFuture<Chunk> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * The rows of a chunk of json array elements.
+     */
+    private static final class Chunk implements RecordList {
+
+        // The recorded check of the last two rows before the chunk.
+        private static final Object[] NO_ROW = new Object[0];
+
+        private final JsonArray array;
+        private final ColumnIndex.Node node;
+        private final int from;
+        private final int to;
+        private final Object[] start;
+        private final List<Object[]> rows = new ArrayList<>();
+        // The duplicate checks reaching rows before the chunk, with the only row of the chunk at that time.
+        private final List<Object[]> boundary = new ArrayList<>();
+
+        private Chunk(JsonArray array, ColumnIndex.Node node, int from, int to, Object[] start) {
+            this.array = array;
+            this.node = node;
+            this.from = from;
+            this.to = to;
+            this.start = start;
+        }
+
+        private Chunk flatten() {
+            flatten(this);
+            return this;
+        }
+
+        private void flatten(RecordList records) {
+            Object[] cur = start.clone();
+            for (int i = from; i < to; i++) JsonReader.buildElement(cur, array.get(i), i, node, records, false);
+        }
+
+        @Override
+        public void add(Object[] row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void removeLast() {
+            rows.remove(rows.size() - 1);
+        }
+
+        @Override
+        public void removeDuplicates() {
+            if (rows.size() >= 2) {
+                if (JsonReader.isDuplicate(rows.get(rows.size() - 1), rows.get(rows.size() - 2)))
+                    rows.remove(rows.size() - 1);
+            } else {
+                boundary.add(rows.isEmpty() ? NO_ROW : rows.get(0));
+            }
+        }
+
+        /**
+         * This method replays the recorded duplicate checks on the records and appends the rows of the chunk.
+         * If a check removes the only row of the chunk, which the chunk assumed to be kept, the records are
+         * restored and the chunk is flattened again on them.
+         *
+         * @param records - The list of processed csv records before the chunk
+         */
+        private void merge(List<Object[]> records) {
+            Deque<Object[]> removed = new ArrayDeque<>();
+            for (Object[] row : boundary) {
+                if (row == NO_ROW) {
+                    if (records.size() > 2 && JsonReader.isDuplicate(records.get(records.size() - 1), records.get(records.size() - 2)))
+                        removed.push(records.remove(records.size() - 1));
+                } else if (records.size() > 1 && JsonReader.isDuplicate(row, records.get(records.size() - 1))) {
+                    while (!removed.isEmpty()) records.add(removed.pop());
+                    flatten(RecordList.of(records));
+                    return;
+                }
+            }
+            records.addAll(rows);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.util.AppConstants;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class selects the headers/columns a conversion produces, by include and exclude patterns. The patterns are
+ * compiled into a matcher which the parser consults for each json key, so the subtrees which can not hold a
+ * selected header/column are skipped at the token level without being materialized, and the cost of a conversion
+ * follows the selected headers/columns instead of the whole document. A pattern is one of:
+ * 1. A json path e.g. $.address.city, $['address']['city'], $.orders[*].total, $.tags[0], $..id or $.address.*
+ * 2. A header/column path e.g. /address/city, with * for any single segment and ** for any number of segments
+ * 3. A header/column name e.g. address_city, with the separator of the projection
+ * A path which names an object or array selects all headers/columns below it. Without an include pattern all
+ * headers/columns are selected except the excluded ones, an exclude pattern wins over an include pattern.
+ * The csv of a projected conversion is the csv of the json without the values outside of the projection, so rows
+ * which only differ in values outside of the projection are merged as duplicates.
+ * e.g.
+ * <pre>
+ * Projection projection = Projection.builder()
+ *         .include("$.id")
+ *         .include("/address/city")
+ *         .exclude("$..secret")
+ *         .build();
+ * String csv = JsonParser.parse2Csv(json, projection);
+ * </pre>
+ * A projection is immutable and can be shared between threads and conversions.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class Projection {
+
+    // The segment of any single path segment.
+    private static final String ANY = "*";
+    // The segment of any number of path segments.
+    private static final String DEEP = "**";
+    // The segment of an array of a json path, it is no segment for an array of objects or the index of a primitive.
+    private static final String ARRAY = "[*]";
+
+    // The number of transitions cached per state, the keys of map-like objects are not cached beyond it.
+    private static final int MAX_CACHED = 256;
+
+    // A primitive of an array outside of the projection keeps its index as an empty array, which has no values.
+    private static final JsonArray SKIPPED = new JsonArray();
+
+    private final Pattern[] patterns;
+    private final String separator;
+    private final State root;
+
+    private Projection(Builder builder) {
+        this.patterns = builder.patterns.toArray(new Pattern[0]);
+        this.separator = builder.separator;
+        boolean includes = false;
+        for (Pattern pattern : patterns) includes |= pattern.include;
+        Positions start = new Positions();
+        for (int p = 0; p < patterns.length; p++) start.add(p, 0);
+        this.root = new State(start.positions(), !includes || start.included, start.excluded, null, "");
+    }
+
+    /**
+     * @return Returns a new builder with the default separator "_".
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Returns the header/column separator key of the header/column name patterns.
+     */
+    public String separator() {
+        return separator;
+    }
+
+    /**
+     * @param header - The header/column path e.g. /address/city
+     * @return Returns true if the header/column is selected or else false.
+     */
+    public boolean matches(String header) {
+        State state = root;
+        int start = header.startsWith("/") ? 1 : 0;
+        int end;
+        do {
+            if (state.skip()) return false;
+            end = header.indexOf('/', start);
+            state = state.next(end < 0 ? header.substring(start) : header.substring(start, end));
+            start = end + 1;
+        } while (end >= 0);
+        return state.accepts();
+    }
+
+    /**
+     * @return Returns the state of the json root.
+     */
+    State root() {
+        return root;
+    }
+
+    /**
+     * This method parses the json document with the values outside of the projection left out.
+     *
+     * @param json - The input json string
+     * @return Returns the projected json document.
+     */
+    JsonElement parse(String json) {
+        try {
+            JsonReader in = new JsonReader(new StringReader(json));
+            in.setLenient(true);
+            JsonElement ele = read(in, root);
+            if (in.peek() != JsonToken.END_DOCUMENT) throw new JsonSyntaxException("Did not consume the entire document.");
+            return ele;
+        } catch (MalformedJsonException | EOFException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * This method reads the next json value with the values outside of the projection left out, their
+     * subtrees are skipped without being materialized.
+     *
+     * @param in    - The json token reader positioned on the value
+     * @param state - The state of the path of the value
+     * @return Returns the projected json value.
+     * @throws IOException
+     */
+    static JsonElement read(JsonReader in, State state) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            JsonObject object = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                State child = state.child(key);
+                JsonToken value = in.peek();
+                if (child.skip() || (value != JsonToken.BEGIN_OBJECT && value != JsonToken.BEGIN_ARRAY && !child.accepts())) {
+                    in.skipValue();
+                } else {
+                    object.add(key, read(in, child));
+                }
+            }
+            in.endObject();
+            return object;
+        } else if (token == JsonToken.BEGIN_ARRAY) {
+            JsonArray array = new JsonArray();
+            int index = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                JsonToken value = in.peek();
+                if (value == JsonToken.BEGIN_OBJECT || value == JsonToken.BEGIN_ARRAY) {
+                    array.add(read(in, state));
+                } else if (state.index(index).accepts()) {
+                    array.add(JsonStreamReader.nextPrimitive(in, value));
+                } else {
+                    in.skipValue();
+                    array.add(SKIPPED);
+                }
+                index++;
+            }
+            in.endArray();
+            return array;
+        }
+        return JsonStreamReader.nextPrimitive(in, token);
+    }
+
+    /**
+     * The state of the matcher at a json path, with the transitions to the child paths. The states are created
+     * as the json is read and their transitions are cached, so a path seen before is not matched again. A path
+     * with an open last segment, see {@link ColumnIndex#segments(String, boolean)}, is matched up to the path
+     * without the last segment.
+     */
+    final class State {
+
+        private final long[] positions;
+        private final boolean included;
+        private final boolean excluded;
+        private final Map<String, State> children;
+        // The state of the path without the open last segment, null if the last segment is closed or for the root.
+        private final State base;
+        // The open last segment, null if it is closed.
+        private final String open;
+        // The state of the path with the open last segment closed, null if it is closed or for the root.
+        private final State leaf;
+
+        private State(long[] positions, boolean included, boolean excluded) {
+            this(positions, included, excluded, null, null);
+        }
+
+        private State(long[] positions, boolean included, boolean excluded, State base, String open) {
+            this.positions = positions;
+            this.included = included;
+            this.excluded = excluded;
+            this.children = positions.length == 0 || excluded ? null : new ConcurrentHashMap<>();
+            this.base = base;
+            this.open = open;
+            this.leaf = base == null ? null : base.next(open);
+        }
+
+        /**
+         * @return Returns true if no header/column below this path is selected.
+         */
+        boolean skip() {
+            return excluded || (!included && positions.length == 0);
+        }
+
+        /**
+         * @return Returns true if this path is selected as a header/column.
+         */
+        boolean accepts() {
+            return leaf != null ? leaf.accepts() : included && !excluded;
+        }
+
+        /**
+         * @param key - The json object key
+         * @return Returns the state of the key.
+         */
+        State child(String key) {
+            if (children == null) return this;
+            State child = children.get(key);
+            if (child != null) return child;
+            child = base == null && ColumnIndex.plain(key) ? next(key) : resolve(key);
+            if (children.size() < MAX_CACHED) children.put(key, child);
+            return child;
+        }
+
+        /**
+         * This method resolves a key with path characters segment by segment, the same way as
+         * {@link ColumnIndex.Node} does.
+         *
+         * @param key - The json object key
+         * @return Returns the state of the key.
+         */
+        private State resolve(String key) {
+            ColumnIndex.Segments normalized = ColumnIndex.segments(key, open != null);
+            String[] segments = normalized.segments;
+            State state = base != null ? base : this;
+            // the first segment continues the open last segment, a closed path has none
+            String last = open != null ? open + segments[0] : null;
+            for (int i = 1; i < segments.length; i++) {
+                if (last != null) state = state.next(last);
+                last = segments[i];
+            }
+            return normalized.open ? new State(state.positions, state.included, state.excluded, state, last)
+                    : state.next(last);
+        }
+
+        /**
+         * @param index - The json array index of a primitive
+         * @return Returns the state of the index.
+         */
+        State index(int index) {
+            return children == null ? this : child(Integer.toString(index));
+        }
+
+        /**
+         * @param segment - The normalized path segment
+         * @return Returns the state of the segment.
+         */
+        private State next(String segment) {
+            if (children == null) return this;
+            Positions next = new Positions();
+            for (long position : positions) {
+                int p = (int) (position >>> 32);
+                int i = (int) position;
+                Pattern pattern = patterns[p];
+                if (pattern.name != null) {
+                    if (!pattern.name.startsWith(segment, i)) continue;
+                    int end = i + segment.length();
+                    if (end == pattern.name.length()) next.accept(p);
+                    else if (!separator.isEmpty() && pattern.name.startsWith(separator, end)) next.add(p, end + separator.length());
+                } else {
+                    String expected = pattern.segments[i];
+                    if (expected.equals(DEEP)) next.add(p, i);
+                    else if (expected.equals(ANY) || expected.equals(ARRAY) || expected.equals(segment)) next.add(p, i + 1);
+                }
+            }
+            return new State(next.positions(), included || next.included, excluded || next.excluded);
+        }
+    }
+
+    /**
+     * The positions of the patterns matched so far, a position is the pattern index and the index of its next
+     * segment, or the offset in a header/column name.
+     */
+    private final class Positions {
+
+        private long[] positions = new long[4];
+        private int size;
+        private boolean included;
+        private boolean excluded;
+
+        private void add(int p, int i) {
+            Pattern pattern = patterns[p];
+            int length = pattern.name != null ? pattern.name.length() : pattern.segments.length;
+            if (i == length) {
+                accept(p);
+                return;
+            }
+            long position = (long) p << 32 | i;
+            for (int k = 0; k < size; k++) {
+                if (positions[k] == position) return;
+            }
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+            // any number of segments and the array of a json path also match no segment
+            if (pattern.segments != null && (pattern.segments[i].equals(DEEP) || pattern.segments[i].equals(ARRAY))) {
+                add(p, i + 1);
+            }
+        }
+
+        private void accept(int p) {
+            if (patterns[p].include) included = true;
+            else excluded = true;
+        }
+
+        private long[] positions() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    /**
+     * A compiled include or exclude pattern, either the segments of a path or a header/column name.
+     */
+    private static final class Pattern {
+
+        private final boolean include;
+        private final String[] segments;
+        private final String name;
+
+        private Pattern(boolean include, String[] segments, String name) {
+            this.include = include;
+            this.segments = segments;
+            this.name = name;
+        }
+    }
+
+    /**
+     * The builder of an immutable {@link Projection}.
+     */
+    public static final class Builder {
+
+        private final List<Pattern> patterns = new ArrayList<>();
+        private String separator = AppConstants.DEFAULT_SEPARATOR;
+
+        private Builder() {
+        }
+
+        /**
+         * @param pattern - The json path, header/column path or header/column name to select
+         * @return Returns this builder.
+         */
+        public Builder include(String pattern) {
+            patterns.add(compile(pattern, true));
+            return this;
+        }
+
+        /**
+         * @param pattern - The json path, header/column path or header/column name to leave out
+         * @return Returns this builder.
+         */
+        public Builder exclude(String pattern) {
+            patterns.add(compile(pattern, false));
+            return this;
+        }
+
+        /**
+         * @param separator - The header/column separator key of the header/column name patterns, null for the default "_"
+         * @return Returns this builder.
+         */
+        public Builder separator(String separator) {
+            this.separator = separator == null ? AppConstants.DEFAULT_SEPARATOR : separator;
+            return this;
+        }
+
+        /**
+         * @return Returns the compiled projection.
+         */
+        public Projection build() {
+            if (patterns.isEmpty()) throw new IllegalArgumentException("The projection must have at least one pattern.");
+            return new Projection(this);
+        }
+
+        private static Pattern compile(String pattern, boolean include) {
+            if (pattern == null || pattern.trim().isEmpty())
+                throw new IllegalArgumentException("The projection pattern must not be empty.");
+            if (pattern.startsWith("$")) return new Pattern(include, jsonPath(pattern), null);
+            if (pattern.startsWith("/")) return new Pattern(include, headerPath(pattern), null);
+            return new Pattern(include, null, pattern);
+        }
+
+        private static String[] headerPath(String pattern) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : pattern.substring(1).split("/", -1)) {
+                if (segment.isEmpty()) throw new IllegalArgumentException(String.format("The path %s has an empty segment.", pattern));
+                segments.add(segment);
+            }
+            return segments.toArray(new String[0]);
+        }
+
+        private static String[] jsonPath(String pattern) {
+            List<String> segments = new ArrayList<>();
+            int i = 1;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (pattern.startsWith("..", i)) {
+                    segments.add(DEEP);
+                    i += 2;
+                    if (i < pattern.length() && pattern.charAt(i) != '[') i = name(pattern, i, segments);
+                } else if (c == '.') {
+                    i = name(pattern, i + 1, segments);
+                } else if (c == '[') {
+                    int end = pattern.indexOf(']', i);
+                    if (end < 0) throw new IllegalArgumentException(String.format("The json path %s is not closed.", pattern));
+                    String inner = pattern.substring(i + 1, end).trim();
+                    if (inner.equals("*")) {
+                        segments.add(ARRAY);
+                    } else if (inner.length() > 1 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')) {
+                        key(inner.substring(1, inner.length() - 1), segments);
+                    } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+                        if (end + 1 != pattern.length()) throw new IllegalArgumentException(String.format(
+                                "The json path %s has an array index before its end, use [*] for arrays of objects.", pattern));
+                        segments.add(Integer.toString(Integer.parseInt(inner)));
+                    } else {
+                        throw new IllegalArgumentException(String.format("The json path %s is not supported.", pattern));
+                    }
+                    i = end + 1;
+                } else {
+                    throw new IllegalArgumentException(String.format("The json path %s is not supported.", pattern));
+                }
+            }
+            return segments.toArray(new String[0]);
+        }
+
+        private static int name(String pattern, int start, List<String> segments) {
+            int end = start;
+            while (end < pattern.length() && pattern.charAt(end) != '.' && pattern.charAt(end) != '[') end++;
+            if (end == start) throw new IllegalArgumentException(String.format("The json path %s has an empty segment.", pattern));
+            key(pattern.substring(start, end), segments);
+            return end;
+        }
+
+        private static void key(String key, List<String> segments) {
+            if (key.equals(ANY)) {
+                segments.add(ANY);
+                return;
+            }
+            if (ColumnIndex.plain(key)) {
+                segments.add(key);
+                return;
+            }
+            // keys with path characters are split into segments the same way as the json keys, the first key
+            // continues the empty last segment of the root and a key which leaves its last segment open ends it
+            boolean root = segments.isEmpty();
+            String[] normalized = ColumnIndex.segments(key, root).segments;
+            segments.addAll(Arrays.asList(normalized).subList(root ? 0 : 1, normalized.length));
+        }
+    }
+}
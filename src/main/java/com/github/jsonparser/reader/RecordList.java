@@ -0,0 +1,65 @@
+package com.github.jsonparser.reader;
+
+import java.util.List;
+
+/**
+ * The processed csv records a json document is flattened to. Rows are only ever appended, removed from the end
+ * or compared with the previous row, so the rows of a json element do not depend on the records before it.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+interface RecordList {
+
+    /**
+     * @param row - The row to append
+     */
+    void add(Object[] row);
+
+    /**
+     * This method removes the most recent row.
+     */
+    void removeLast();
+
+    /**
+     * This method removes the most recent row if it has no value the row before does not have,
+     * see {@link JsonReader#removeDuplicates(List)}.
+     */
+    void removeDuplicates();
+
+    /**
+     * @return Returns true if no more rows are taken, so the flattening can stop, see {@link ConversionLimits}.
+     */
+    default boolean full() {
+        return false;
+    }
+
+    /**
+     * @param records - The list of processed csv records, index 0 is the header/column row
+     * @return Returns the records backed by the list.
+     */
+    static RecordList of(List<Object[]> records) {
+        return new RecordList() {
+            @Override
+            public void add(Object[] row) {
+                records.add(row);
+            }
+
+            @Override
+            public void removeLast() {
+                records.remove(records.size() - 1);
+            }
+
+            @Override
+            public void removeDuplicates() {
+                JsonReader.removeDuplicates(records);
+            }
+
+            @Override
+            public boolean full() {
+                return ConversionLimits.full(records);
+            }
+        };
+    }
+}
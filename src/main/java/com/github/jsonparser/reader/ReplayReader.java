@@ -0,0 +1,66 @@
+package com.github.jsonparser.reader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The json reader of a conversion which reads the start of a document twice without reading the input twice,
+ * e.g. chunks which can not be requested again. The chars are recorded while they are read the first time,
+ * see {@link SpillWriter}. Once {@link #replay()} is called the recorded chars are read again, followed by the
+ * rest of the input.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class ReplayReader extends Reader {
+
+    private final Reader reader;
+    private final SpillWriter recorded = new SpillWriter(".replay");
+    // The reader of the recorded chars once replayed, the input once they are read, null while recording.
+    private Reader replayed;
+
+    /**
+     * @param reader - The input reader, it is not closed by this reader
+     */
+    ReplayReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * This method stops the recording, the next chars read are the recorded ones from the start.
+     *
+     * @throws IOException
+     */
+    void replay() throws IOException {
+        if (replayed != null) throw new IllegalStateException("The recorded chars are already replayed.");
+        replayed = recorded.reader();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (replayed == null) {
+            int count = reader.read(cbuf, off, len);
+            if (count > 0) recorded.write(cbuf, off, count);
+            return count;
+        }
+        if (replayed != reader) {
+            int count = replayed.read(cbuf, off, len);
+            if (count != -1) return count;
+            replayed.close();
+            replayed = reader;
+        }
+        return reader.read(cbuf, off, len);
+    }
+
+    /**
+     * This method deletes the recorded chars, the input reader is left open.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (replayed != null && replayed != reader) replayed.close();
+        recorded.delete();
+    }
+}
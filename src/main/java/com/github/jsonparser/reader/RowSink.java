@@ -0,0 +1,20 @@
+package com.github.jsonparser.reader;
+
+import java.io.IOException;
+
+/**
+ * The destination of the csv records produced while the json is still being read, e.g. a csv writer.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@FunctionalInterface
+public interface RowSink {
+
+    /**
+     * @param row - The csv record, the first one is the header/column row
+     * @throws IOException
+     */
+    void write(Object[] row) throws IOException;
+}
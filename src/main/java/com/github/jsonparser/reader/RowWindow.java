@@ -0,0 +1,73 @@
+package com.github.jsonparser.reader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The list of processed csv records used by the streaming reader. Only the most recent rows are kept in memory,
+ * older rows are written to the sink once no duplicate check can reach them anymore.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class RowWindow implements RecordList {
+
+    private final List<Object[]> window = new ArrayList<>();
+    private final RowSink sink;
+    // The columns left out of the duplicate check, null for none.
+    private final BitSet hidden;
+    private int flushed;
+
+    RowWindow(RowSink sink) {
+        this(sink, null);
+    }
+
+    /**
+     * @param sink   - The destination of the rows
+     * @param hidden - The columns which are no headers/columns (yet), they are left out of the duplicate check
+     */
+    RowWindow(RowSink sink, BitSet hidden) {
+        this.sink = sink;
+        this.hidden = hidden;
+    }
+
+    @Override
+    public void add(Object[] row) {
+        window.add(row);
+    }
+
+    @Override
+    public void removeLast() {
+        if (window.isEmpty()) throw new IllegalStateException("The last row is not in memory.");
+        window.remove(window.size() - 1);
+    }
+
+    @Override
+    public void removeDuplicates() {
+        if (flushed + window.size() < 2) return;
+        if (window.size() < 2) throw new IllegalStateException("The rows to compare are not in memory.");
+        Object[] last = window.get(window.size() - 1);
+        if (hidden != null && !hidden.isEmpty()) {
+            last = last.clone();
+            for (int i = hidden.nextSetBit(0); i >= 0 && i < last.length; i = hidden.nextSetBit(i + 1)) last[i] = null;
+        }
+        if (JsonReader.isDuplicate(last, window.get(window.size() - 2))) window.remove(window.size() - 1);
+    }
+
+    /**
+     * This method writes all but the given number of most recent rows.
+     *
+     * @param rows - The number of rows to keep in memory
+     * @throws IOException
+     */
+    void retain(int rows) throws IOException {
+        int spilled = window.size() - rows;
+        if (spilled <= 0) return;
+        for (int i = 0; i < spilled; i++) sink.write(window.get(i));
+        window.subList(0, spilled).clear();
+        flushed += spilled;
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This class caches the compiled headers/columns of json documents by the shape of the document, so repeated
+ * conversions of documents with a known shape skip the json path header/column discovery and go straight to
+ * the row flattening. The shape is a structural fingerprint of the document: the keys of each object in order,
+ * the nesting of objects and arrays and, for each leaf, whether it is a header/column type. Numbers are told
+ * apart the same way as the default Jackson json provider does, integers beyond the long range are not a
+ * header/column. The fingerprint of an array has each distinct nested shape only once, as a repeated element
+ * adds no header/column. With a xsd schema json the headers/columns are cached by the xsd string itself.
+ * <p>
+ * The cache is bounded, the least recently used shape is evicted when it is full. It is thread safe and can
+ * be shared between converters which use the same json path providers.
+ * e.g.
+ * <pre>
+ * SchemaCache cache = new SchemaCache(256);
+ * JsonCsvConverter converter = JsonCsvConverter.builder().schemaCache(cache).build();
+ * long hits = cache.hits();
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class SchemaCache {
+
+    // The fingerprint prefix of a xsd schema json, a json fingerprint never starts with it.
+    private static final char XSD = '#';
+
+    private final int maxEntries;
+    private final Map<String, ColumnIndex> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maxEntries - The maximum number of document shapes kept, at least 1
+     */
+    public SchemaCache(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("The schema cache size must be at least 1.");
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, ColumnIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ColumnIndex> eldest) {
+                if (size() <= SchemaCache.this.maxEntries) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return Returns the number of conversions which reused cached headers/columns.
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * @return Returns the number of conversions which discovered the headers/columns.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * @return Returns the number of document shapes evicted to keep the cache within its size.
+     */
+    public long evictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return Returns the number of document shapes currently cached.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Returns the maximum number of document shapes kept.
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * This method removes all cached document shapes, the counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * This method returns the cached headers/columns of the json document shape, or discovers and caches them.
+     *
+     * @param ele      - The parsed json document
+     * @param discover - The header/column discovery of the document
+     * @return Returns the headers/columns.
+     */
+    ColumnIndex columns(JsonElement ele, Supplier<ColumnIndex> discover) {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint(ele, fingerprint);
+        return lookup(fingerprint.toString(), discover);
+    }
+
+    /**
+     * This method returns the cached headers/columns of the xsd schema json, or discovers and caches them.
+     *
+     * @param xsd      - The xsd schema json string
+     * @param discover - The header/column discovery of the xsd
+     * @return Returns the headers/columns.
+     */
+    ColumnIndex columns(String xsd, Supplier<ColumnIndex> discover) {
+        return lookup(XSD + xsd, discover);
+    }
+
+    private ColumnIndex lookup(String key, Supplier<ColumnIndex> discover) {
+        ColumnIndex columns;
+        synchronized (this) {
+            columns = entries.get(key);
+        }
+        if (columns != null) {
+            hits.incrementAndGet();
+            return columns;
+        }
+        misses.incrementAndGet();
+        // discovered outside of the lock, a shape seen by two threads at once is discovered twice
+        columns = discover.get();
+        synchronized (this) {
+            entries.put(key, columns);
+        }
+        return columns;
+    }
+
+    /**
+     * This method appends the structural fingerprint of a json element.
+     *
+     * @param ele         - The json element
+     * @param fingerprint - The fingerprint to append to
+     */
+    static void fingerprint(JsonElement ele, StringBuilder fingerprint) {
+        if (ele.isJsonObject()) {
+            fingerprint.append('{');
+            for (Map.Entry<String, JsonElement> entry : ele.getAsJsonObject().entrySet()) {
+                fingerprint.append(entry.getKey().length()).append(':').append(entry.getKey());
+                fingerprint(entry.getValue(), fingerprint);
+            }
+            fingerprint.append('}');
+        } else if (ele.isJsonArray()) {
+            JsonArray array = ele.getAsJsonArray();
+            Set<String> nested = null;
+            fingerprint.append('[');
+            for (JsonElement element : array) {
+                if (element.isJsonObject() || element.isJsonArray()) {
+                    if (nested == null) nested = new LinkedHashSet<>();
+                    StringBuilder shape = new StringBuilder();
+                    fingerprint(element, shape);
+                    nested.add(shape.toString());
+                    fingerprint.append('-');
+                } else {
+                    fingerprint(element, fingerprint);
+                }
+            }
+            if (nested != null) {
+                for (String shape : nested) fingerprint.append(shape);
+            }
+            fingerprint.append(']');
+        } else if (ele.isJsonPrimitive() && ele.getAsJsonPrimitive().isNumber() && isBigInteger(ele.getAsJsonPrimitive())) {
+            fingerprint.append('x');
+        } else {
+            fingerprint.append('p');
+        }
+    }
+
+    /**
+     * @param number - The json number
+     * @return Returns true if the number is an integer beyond the long range, which is not a header/column type.
+     */
+    private static boolean isBigInteger(JsonPrimitive number) {
+        String literal = number.getAsString();
+        if (literal.length() < 19) return false;
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') return false;
+        }
+        try {
+            Long.parseLong(literal);
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.jsonparser.reader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The chars written by the streaming reader to be read again later, e.g. the deferred members of a json object.
+ * The chars are kept in memory up to a limit and spilled to a temporary file beyond it.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class SpillWriter extends Writer {
+
+    private static final int MAX_BUFFERED = 1 << 20;
+
+    private final String suffix;
+    private CharArrayWriter buffer = new CharArrayWriter();
+    private char[] chars;
+    private Path file;
+    private Writer out;
+    private boolean complete;
+
+    /**
+     * @param suffix - The suffix of the temporary file e.g. ".members"
+     */
+    SpillWriter(String suffix) {
+        this.suffix = suffix;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (complete) throw new IOException("The spilled chars are already complete.");
+        if (file == null && buffer.size() + len > MAX_BUFFERED) {
+            file = Files.createTempFile("jsonparser", suffix);
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            buffer.writeTo(out);
+            buffer = null;
+        }
+        if (file == null) buffer.write(cbuf, off, len);
+        else out.write(cbuf, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) out.flush();
+    }
+
+    /**
+     * This method closes the temporary file if there is one, the chars can still be read.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) out.close();
+    }
+
+    /**
+     * This method completes the chars on the first call and returns a reader of them, each call reads them from
+     * the start.
+     *
+     * @return Returns the reader of the written chars.
+     * @throws IOException
+     */
+    Reader reader() throws IOException {
+        if (!complete) {
+            close();
+            complete = true;
+            if (file == null) chars = buffer.toCharArray();
+            buffer = null;
+        }
+        return file == null ? new CharArrayReader(chars) : Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method closes and deletes the temporary file if there is one.
+     *
+     * @throws IOException
+     */
+    void delete() throws IOException {
+        close();
+        if (file != null) Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The nested objects and arrays of a json object deferred by the streaming reader. The csv rows of a nested value
+ * need all the primitives of the object, which can follow it in the document, so the nested values are copied
+ * token by token while the object is read and walked again once the object is complete. The members are kept in
+ * memory up to a limit and spilled to a temporary file beyond it, see {@link SpillWriter}.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class SpilledMembers implements Closeable {
+
+    private final SpillWriter spill = new SpillWriter(".members");
+    private final JsonWriter json;
+    private boolean complete;
+    private int size;
+
+    SpilledMembers() throws IOException {
+        json = new JsonWriter(spill);
+        json.setLenient(true);
+        json.beginObject();
+    }
+
+    /**
+     * @return Returns the number of deferred members.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * This method copies the next json value of the reader as a member.
+     *
+     * @param name - The member name
+     * @param in   - The json token reader positioned on the value
+     * @throws IOException
+     */
+    void add(String name, JsonReader in) throws IOException {
+        json.name(name);
+        int depth = 0;
+        do {
+            switch (in.peek()) {
+                case BEGIN_ARRAY:
+                    in.beginArray();
+                    json.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    in.endArray();
+                    json.endArray();
+                    depth--;
+                    break;
+                case BEGIN_OBJECT:
+                    in.beginObject();
+                    json.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    in.endObject();
+                    json.endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    json.name(in.nextName());
+                    break;
+                case STRING:
+                    json.value(in.nextString());
+                    break;
+                case NUMBER:
+                    // the number is copied as written, so it is read back the same way
+                    json.jsonValue(in.nextString());
+                    break;
+                case BOOLEAN:
+                    json.value(in.nextBoolean());
+                    break;
+                case NULL:
+                    in.nextNull();
+                    json.nullValue();
+                    break;
+                default:
+                    throw new MalformedJsonException("Unexpected json token " + in.peek());
+            }
+        } while (depth > 0);
+        size++;
+    }
+
+    /**
+     * This method completes the members on the first call and returns a reader of the members as a json object,
+     * each call reads them from the start.
+     *
+     * @return Returns the json reader of the members.
+     * @throws IOException
+     */
+    Reader reader() throws IOException {
+        if (!complete) {
+            json.endObject();
+            json.close();
+            complete = true;
+        }
+        return spill.reader();
+    }
+
+    @Override
+    public void close() throws IOException {
+        spill.delete();
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The 2D representation of data produced by the streaming reader. The rows are spilled to a temporary file
+ * while the json is processed, because the headers/columns are only known once the whole document is seen.
+ * Repeated strings of a column are spilled as their {@link StringDictionary} code, and read back as a single
+ * shared json primitive.
+ * Iterating the records returns the header/column row first and then each row in the final column order,
+ * the same way as the list returned by {@link JsonReader#json2Sheet(String)}.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class SpilledRecords implements Iterable<Object[]>, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte NUMBER = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte STRING_CODE = 4;
+
+    private final Path file;
+    private DataOutputStream out;
+    private long rows;
+    private StringDictionary dictionary = new StringDictionary();
+    private Object[] header;
+    private int[] order;
+
+    SpilledRecords() throws IOException {
+        file = Files.createTempFile("jsonparser", ".rows");
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * @return Returns the number of rows excluding the header/column row.
+     */
+    public long size() {
+        return rows;
+    }
+
+    /**
+     * @return Returns the number of headers/columns, 0 until the records are completely processed.
+     */
+    public int columns() {
+        return header == null ? 0 : header.length;
+    }
+
+    /**
+     * This method appends a row with cells in column discovery order.
+     *
+     * @param row - The row to spill
+     * @throws IOException
+     */
+    void write(Object[] row) throws IOException {
+        out.writeInt(row.length);
+        for (int i = 0; i < row.length; i++) {
+            Object cell = row[i];
+            if (cell == null) {
+                out.writeByte(NULL);
+            } else if (cell instanceof JsonPrimitive && ((JsonPrimitive) cell).isNumber()) {
+                out.writeByte(NUMBER);
+                writeString(((JsonPrimitive) cell).getAsString());
+            } else if (cell instanceof JsonPrimitive && ((JsonPrimitive) cell).isBoolean()) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(((JsonPrimitive) cell).getAsBoolean());
+            } else {
+                JsonPrimitive value = cell instanceof JsonPrimitive ? (JsonPrimitive) cell : new JsonPrimitive(cell.toString());
+                int code = dictionary.code(i, value.getAsString());
+                if (code >= 0) {
+                    out.writeByte(STRING_CODE);
+                    writeCode(code);
+                } else {
+                    out.writeByte(STRING);
+                    writeString(value.getAsString());
+                    dictionary.add(i, value);
+                }
+            }
+        }
+        rows++;
+    }
+
+    /**
+     * This method completes the spill with the final header/column row.
+     *
+     * @param header - The header/column row in final order
+     * @param order  - The discovery index of the column at each final position
+     * @throws IOException
+     */
+    void finish(Object[] header, int[] order) throws IOException {
+        out.close();
+        out = null;
+        dictionary = null;
+        this.header = header;
+        this.order = order;
+    }
+
+    @Override
+    public Iterator<Object[]> iterator() {
+        if (header == null) throw new IllegalStateException("The records are not completely processed yet.");
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            // the codes are assigned again in the order the strings were spilled
+            StringDictionary strings = new StringDictionary();
+            return new Iterator<Object[]>() {
+                private long remaining = rows + 1;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public Object[] next() {
+                    if (remaining <= 0) throw new NoSuchElementException();
+                    try {
+                        Object[] row = remaining-- == rows + 1 ? header : read(in, strings);
+                        if (remaining == 0) in.close();
+                        return row;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object[] read(DataInputStream in, StringDictionary strings) throws IOException {
+        Object[] spilled = new Object[in.readInt()];
+        for (int i = 0; i < spilled.length; i++) {
+            switch (in.readByte()) {
+                case STRING:
+                    JsonPrimitive value = new JsonPrimitive(readString(in));
+                    strings.add(i, value);
+                    spilled[i] = value;
+                    break;
+                case STRING_CODE:
+                    spilled[i] = strings.value(i, readCode(in));
+                    break;
+                case NUMBER:
+                    spilled[i] = new JsonPrimitive(new LazilyParsedNumber(readString(in)));
+                    break;
+                case BOOLEAN:
+                    spilled[i] = new JsonPrimitive(in.readBoolean());
+                    break;
+                default:
+                    break;
+            }
+        }
+        Object[] row = new Object[order.length];
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] < spilled.length) row[i] = spilled[order[i]];
+        }
+        return row;
+    }
+
+    private void writeString(String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This method writes a dictionary code in 7 bit groups, a small code takes a single byte.
+     *
+     * @param code - The dictionary code
+     * @throws IOException
+     */
+    private void writeCode(int code) throws IOException {
+        while (code >= 0x80) {
+            out.writeByte(code & 0x7F | 0x80);
+            code >>>= 7;
+        }
+        out.writeByte(code);
+    }
+
+    private static int readCode(DataInputStream in) throws IOException {
+        int code = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            code |= (b & 0x7F) << shift;
+            if (b >= 0) return code;
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method deletes the temporary file holding the rows.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (out != null) out.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class dictionary encodes the repeated string values of the csv columns. Each column keeps its distinct
+ * strings in the order they are first seen, so a repeated value is replaced by its integer code, or by the
+ * single shared json primitive of the code. A column stops taking new values once it holds the maximum number
+ * of entries, so high cardinality columns e.g. ids do not grow the dictionary. The streaming reader writes the
+ * codes instead of the strings to its spilled rows, and the records of {@link JsonReader#json2Sheet(String)}
+ * can be interned to share the repeated values e.g.
+ * <pre>
+ * List&lt;Object[]&gt; records = new StringDictionary().intern(JsonReader.json2Sheet(json));
+ * </pre>
+ * The dictionary is not thread safe.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class StringDictionary {
+
+    // The default maximum number of distinct strings per column.
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    private final List<Column> columns = new ArrayList<>();
+
+    public StringDictionary() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries - The maximum number of distinct strings per column, at least 1
+     */
+    public StringDictionary(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("The dictionary size must be at least 1.");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * This method replaces the repeated string values of the csv records by a shared json primitive per column.
+     *
+     * @param records - The list of processed csv records, index 0 is the header/column row
+     * @return Returns the records.
+     */
+    public List<Object[]> intern(List<Object[]> records) {
+        for (int i = 1; i < records.size(); i++) intern(records.get(i));
+        return records;
+    }
+
+    /**
+     * This method replaces the repeated string values of a csv record by a shared json primitive per column.
+     *
+     * @param row - The csv record
+     * @return Returns the record.
+     */
+    public Object[] intern(Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] instanceof JsonPrimitive && ((JsonPrimitive) row[i]).isString()) {
+                JsonPrimitive value = (JsonPrimitive) row[i];
+                int code = code(i, value.getAsString());
+                if (code >= 0) row[i] = value(i, code);
+                else add(i, value);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * @param column - The column index
+     * @return Returns the number of distinct strings of the column.
+     */
+    public int size(int column) {
+        return column < columns.size() ? columns.get(column).values.size() : 0;
+    }
+
+    /**
+     * @param column - The column index
+     * @param value  - The string value
+     * @return Returns the code of the value in the column, or -1 if it is not in the dictionary.
+     */
+    int code(int column, String value) {
+        if (column >= columns.size()) return -1;
+        Integer code = columns.get(column).codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * This method adds the value with the next code of the column, unless the column is full.
+     *
+     * @param column - The column index
+     * @param value  - The json string primitive not in the dictionary yet
+     */
+    void add(int column, JsonPrimitive value) {
+        while (columns.size() <= column) columns.add(new Column());
+        Column entries = columns.get(column);
+        if (entries.values.size() >= maxEntries) return;
+        entries.codes.put(value.getAsString(), entries.values.size());
+        entries.values.add(value);
+    }
+
+    /**
+     * @param column - The column index
+     * @param code   - The code of the value
+     * @return Returns the shared json primitive of the code.
+     */
+    JsonPrimitive value(int column, int code) {
+        return columns.get(column).values.get(code);
+    }
+
+    /**
+     * The distinct strings of a column by code.
+     */
+    private static final class Column {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<JsonPrimitive> values = new ArrayList<>();
+    }
+}
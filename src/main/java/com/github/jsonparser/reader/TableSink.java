@@ -0,0 +1,22 @@
+package com.github.jsonparser.reader;
+
+import java.io.IOException;
+
+/**
+ * The destinations of the csv tables of a normalized conversion, one per json array path, see
+ * {@link JsonTableReader}. The rows of a table are written completely before the next table is opened.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@FunctionalInterface
+public interface TableSink {
+
+    /**
+     * @param table - The path of the table, / for the records and the json array path e.g. /orders/items for the others
+     * @return Returns the destination of the csv records of the table, the header/column row first.
+     * @throws IOException
+     */
+    RowSink open(String table) throws IOException;
+}
@@ -0,0 +1,169 @@
+package com.github.jsonparser.reader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A reader which decodes UTF-8 bytes straight from a byte buffer, e.g. a memory-mapped json file, without
+ * copying them to the heap or building a string of the whole document. A file is mapped in windows of at most
+ * 1 GB as they are read, so files larger than 2 GB are read as well. Malformed bytes are read as the
+ * replacement character U+FFFD, like an InputStreamReader does.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class Utf8Reader extends Reader {
+
+    // The size of a mapped window of a file.
+    static final long MAX_MAPPING = 1L << 30;
+
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final FileChannel channel;
+    private final long size;
+    private final long window;
+    private long mapped;
+    private ByteBuffer buffer;
+    private char pending;
+
+    private Utf8Reader(ByteBuffer buffer, FileChannel channel, long size, long window) {
+        this.buffer = buffer;
+        this.channel = channel;
+        this.size = size;
+        this.window = window;
+    }
+
+    /**
+     * @param json - The json bytes in UTF-8, from the position to the limit, the buffer itself is not changed
+     * @return Returns the reader of the bytes.
+     */
+    public static Utf8Reader of(ByteBuffer json) {
+        return new Utf8Reader(json.duplicate(), null, 0, 0);
+    }
+
+    /**
+     * This method opens the file and maps it into memory read-only, the file is closed with the reader.
+     *
+     * @param path - The json file path, read in UTF-8
+     * @return Returns the reader of the mapped file.
+     * @throws IOException
+     */
+    public static Utf8Reader map(Path path) throws IOException {
+        return map(path, MAX_MAPPING);
+    }
+
+    /**
+     * @param path   - The json file path, read in UTF-8
+     * @param window - The size of a mapped window of the file
+     * @return Returns the reader of the mapped file.
+     * @throws IOException
+     */
+    static Utf8Reader map(Path path, long window) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new Utf8Reader(EMPTY, channel, channel.size(), window);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        int n = 0;
+        if (pending != 0) {
+            cbuf[off + n++] = pending;
+            pending = 0;
+        }
+        while (n < len) {
+            if (!buffer.hasRemaining() && !next()) break;
+            // the ascii bytes are copied without decoding
+            ByteBuffer in = buffer;
+            int position = in.position();
+            int limit = Math.min(in.limit(), position + len - n);
+            while (position < limit) {
+                byte b = in.get(position);
+                if (b < 0) break;
+                cbuf[off + n++] = (char) b;
+                position++;
+            }
+            in.position(position);
+            if (n < len && in.hasRemaining() && in.get(position) < 0) {
+                int codePoint = decode();
+                if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    cbuf[off + n++] = (char) codePoint;
+                } else {
+                    cbuf[off + n++] = Character.highSurrogate(codePoint);
+                    if (n < len) cbuf[off + n++] = Character.lowSurrogate(codePoint);
+                    else pending = Character.lowSurrogate(codePoint);
+                }
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = EMPTY;
+        mapped = size;
+        if (channel != null) channel.close();
+    }
+
+    /**
+     * This method decodes the multi-byte sequence at the position, a malformed sequence is decoded as U+FFFD
+     * and the byte which ends it is read again as the start of the next one.
+     *
+     * @return Returns the code point.
+     * @throws IOException
+     */
+    private int decode() throws IOException {
+        int lead = buffer.get() & 0xff;
+        int count;
+        int codePoint;
+        int min;
+        if (lead >= 0xc2 && lead <= 0xdf) {
+            count = 1;
+            codePoint = lead & 0x1f;
+            min = 0x80;
+        } else if (lead >= 0xe0 && lead <= 0xef) {
+            count = 2;
+            codePoint = lead & 0x0f;
+            min = 0x800;
+        } else if (lead >= 0xf0 && lead <= 0xf4) {
+            count = 3;
+            codePoint = lead & 0x07;
+            min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        } else {
+            return REPLACEMENT;
+        }
+        for (int i = 0; i < count; i++) {
+            if (!buffer.hasRemaining() && !next()) return REPLACEMENT;
+            int b = buffer.get(buffer.position()) & 0xff;
+            if ((b & 0xc0) != 0x80) return REPLACEMENT;
+            buffer.position(buffer.position() + 1);
+            codePoint = codePoint << 6 | b & 0x3f;
+        }
+        if (codePoint < min || codePoint > Character.MAX_CODE_POINT
+                || codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) return REPLACEMENT;
+        return codePoint;
+    }
+
+    /**
+     * @return Returns true if the next window of the file is mapped, false at the end of the input.
+     * @throws IOException
+     */
+    private boolean next() throws IOException {
+        if (channel == null || mapped >= size) return false;
+        long length = Math.min(window, size - mapped);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+        mapped += length;
+        return true;
+    }
+}
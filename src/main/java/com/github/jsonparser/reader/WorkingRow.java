@@ -0,0 +1,77 @@
+package com.github.jsonparser.reader;
+
+import java.util.Arrays;
+
+/**
+ * The row a json element is flattened into. Nested elements set their values in place instead of working on a
+ * copy of the row, and the values set since a mark are undone from a trail of the previous cells. So a nested
+ * object or array without a csv record of its own only costs the values it sets, a full copy of the row is
+ * only made for a csv record.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+final class WorkingRow {
+
+    private static final int INITIAL_TRAIL = 16;
+
+    private final Object[] cells;
+    private int[] columns = new int[INITIAL_TRAIL];
+    private Object[] previous = new Object[INITIAL_TRAIL];
+    private int size;
+    // The number of open marks, values set outside of any mark are never undone.
+    private int marks;
+
+    /**
+     * @param start - The row to start from, it is not changed
+     */
+    WorkingRow(Object[] start) {
+        this.cells = start.clone();
+    }
+
+    /**
+     * @param column - The column index
+     * @param value  - The cell value
+     */
+    void set(int column, Object value) {
+        if (marks > 0) {
+            if (size == columns.length) {
+                columns = Arrays.copyOf(columns, size * 2);
+                previous = Arrays.copyOf(previous, size * 2);
+            }
+            columns[size] = column;
+            previous[size++] = cells[column];
+        }
+        cells[column] = value;
+    }
+
+    /**
+     * @return Returns the mark to undo the values set after it with {@link #reset(int)}.
+     */
+    int mark() {
+        marks++;
+        return size;
+    }
+
+    /**
+     * This method undoes the values set after the mark, in reverse order.
+     *
+     * @param mark - The mark returned by {@link #mark()}
+     */
+    void reset(int mark) {
+        while (size > mark) {
+            size--;
+            cells[columns[size]] = previous[size];
+            previous[size] = null;
+        }
+        marks--;
+    }
+
+    /**
+     * @return Returns the current cells, the row must not be used after.
+     */
+    Object[] cells() {
+        return cells;
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.jsonparser.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded byte pipe between a producer thread and a consumer thread. The producer writes to the
+ * {@link #output()} stream, the bytes are handed over in chunks through a bounded queue and the consumer reads
+ * them from the {@link #input()} stream. A producer which gets ahead blocks once the queue is full, so the memory
+ * is bounded by the chunk size times the capacity. A producer failure is rethrown to the consumer once it has
+ * read the bytes written before, a consumer which stops early cancels the pipe and the producer fails on its
+ * next write. A write which is already handed over, e.g. the end of the stream, never fails.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class BlockingPipe {
+
+    // The default number of bytes per chunk.
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    // The default number of chunks in flight.
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks;
+    private final int chunkSize;
+    private final Input input;
+    private final Output output;
+    private volatile IOException failure;
+    private volatile boolean cancelled;
+
+    public BlockingPipe() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param chunkSize - The number of bytes per chunk, at least 1
+     * @param capacity  - The number of chunks in flight, at least 1
+     */
+    public BlockingPipe(int chunkSize, int capacity) {
+        if (chunkSize < 1) throw new IllegalArgumentException("The chunk size must be at least 1.");
+        if (capacity < 1) throw new IllegalArgumentException("The capacity must be at least 1.");
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+        this.input = new Input();
+        this.output = new Output();
+    }
+
+    /**
+     * @return Returns the stream the consumer reads from.
+     */
+    public InputStream input() {
+        return input;
+    }
+
+    /**
+     * @return Returns the stream the producer writes to, closing it ends the stream of the consumer.
+     */
+    public OutputStream output() {
+        return output;
+    }
+
+    /**
+     * This method ends the stream of the consumer with the failure of the producer.
+     *
+     * @param e - The failure of the producer
+     */
+    public void fail(IOException e) {
+        failure = e;
+        chunks.clear();
+        chunks.offer(END);
+    }
+
+    /**
+     * This method drops the pending bytes and fails the next write of the producer, once the consumer stops early.
+     * The pipe is not cancelled once the consumer has read the end of the stream.
+     */
+    public void cancel() {
+        if (input.ended) return;
+        cancelled = true;
+        chunks.clear();
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        if (cancelled) throw new IOException("The pipe is cancelled by the consumer.");
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing to the pipe.");
+        }
+        // the end is handed over once it is queued, the consumer may have read it and cancelled the pipe since
+        if (chunk != END && cancelled) throw new IOException("The pipe is cancelled by the consumer.");
+    }
+
+    /**
+     * The consumer side of the pipe.
+     */
+    private final class Input extends InputStream {
+
+        private byte[] chunk;
+        private int position;
+        private volatile boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            return next() ? chunk[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!next()) return -1;
+            int count = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk == null ? 0 : chunk.length - position;
+        }
+
+        @Override
+        public void close() {
+            if (!ended) cancel();
+        }
+
+        private boolean next() throws IOException {
+            while (!ended && (chunk == null || position == chunk.length)) {
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading from the pipe.");
+                }
+                position = 0;
+                if (chunk == END) {
+                    ended = true;
+                    chunk = null;
+                }
+            }
+            if (ended && failure != null) throw new IOException(failure.getMessage(), failure);
+            return !ended;
+        }
+    }
+
+    /**
+     * The producer side of the pipe.
+     */
+    private final class Output extends OutputStream {
+
+        private byte[] chunk = new byte[chunkSize];
+        private int position;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == chunk.length) flush();
+            chunk[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (position == chunk.length) flush();
+                int count = Math.min(len, chunk.length - position);
+                System.arraycopy(b, off, chunk, position, count);
+                position += count;
+                off += count;
+                len -= count;
+            }
+        }
+
+        /**
+         * This method hands the written bytes to the consumer.
+         *
+         * @throws IOException
+         */
+        @Override
+        public void flush() throws IOException {
+            if (closed) throw new IOException("The pipe is closed.");
+            if (position == 0) return;
+            byte[] full = position == chunk.length ? chunk : Arrays.copyOf(chunk, position);
+            put(full);
+            chunk = new byte[chunkSize];
+            position = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            flush();
+            closed = true;
+            put(END);
+        }
+    }
+}
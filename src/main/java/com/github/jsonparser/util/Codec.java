@@ -0,0 +1,81 @@
+package com.github.jsonparser.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The compression codec of a json input or csv output stream. The JDK gzip codec is built in, other codecs
+ * e.g. zstd can be plugged in from their stream classes without a dependency of this library e.g.
+ * <pre>
+ * Codec zstd = Codec.of(ZstdInputStream::new, ZstdOutputStream::new);
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public interface Codec {
+
+    /**
+     * The codec of uncompressed streams.
+     */
+    Codec NONE = of(in -> in, out -> out);
+
+    /**
+     * The gzip codec of the JDK.
+     */
+    Codec GZIP = of(in -> new GZIPInputStream(in, 1 << 16), out -> new GZIPOutputStream(out, 1 << 16));
+
+    /**
+     * @param in - The compressed stream
+     * @return Returns the stream of the decompressed bytes, closing it closes the compressed stream.
+     * @throws IOException
+     */
+    InputStream decode(InputStream in) throws IOException;
+
+    /**
+     * @param out - The stream the compressed bytes are written to
+     * @return Returns the stream to write the uncompressed bytes to, closing it finishes the compressed stream
+     * and closes it.
+     * @throws IOException
+     */
+    OutputStream encode(OutputStream out) throws IOException;
+
+    /**
+     * @param decoder - The decompressing input stream of a compressed stream e.g. GZIPInputStream::new
+     * @param encoder - The compressing output stream of a stream e.g. GZIPOutputStream::new
+     * @return Returns the codec of the stream classes.
+     */
+    static Codec of(Decoder decoder, Encoder encoder) {
+        return new Codec() {
+            @Override
+            public InputStream decode(InputStream in) throws IOException {
+                return decoder.decode(in);
+            }
+
+            @Override
+            public OutputStream encode(OutputStream out) throws IOException {
+                return encoder.encode(out);
+            }
+        };
+    }
+
+    /**
+     * The decompressing side of a codec.
+     */
+    @FunctionalInterface
+    interface Decoder {
+        InputStream decode(InputStream in) throws IOException;
+    }
+
+    /**
+     * The compressing side of a codec.
+     */
+    @FunctionalInterface
+    interface Encoder {
+        OutputStream encode(OutputStream out) throws IOException;
+    }
+}
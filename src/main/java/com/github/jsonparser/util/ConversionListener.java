@@ -0,0 +1,48 @@
+package com.github.jsonparser.util;
+
+/**
+ * The listener of the statistics of each conversion, e.g. to export the timings and counts to a metrics system.
+ * The conversions do not log on the hot path, a converter without a listener does not measure anything at all.
+ * The listener is called on the converting thread once a conversion is complete, it must be thread safe if the
+ * converter is shared between threads e.g.
+ * <pre>
+ * JsonCsvConverter converter = JsonCsvConverter.builder()
+ *         .listener(stats -&gt; timer.record(stats.nanos(ConversionListener.Phase.FLATTEN)))
+ *         .build();
+ * </pre>
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@FunctionalInterface
+public interface ConversionListener {
+
+    /**
+     * The phases of a conversion.
+     */
+    enum Phase {
+        /**
+         * The json is parsed to a json element tree.
+         */
+        PARSE,
+        /**
+         * The headers/columns are discovered from the json or xsd, or taken from a schema or cache.
+         */
+        HEADER_DISCOVERY,
+        /**
+         * The json is flattened to the csv records. A streamed conversion reads, flattens and writes the rows in
+         * a single pass, which is reported as this phase.
+         */
+        FLATTEN,
+        /**
+         * The csv records are written.
+         */
+        WRITE
+    }
+
+    /**
+     * @param stats - The statistics of the complete conversion
+     */
+    void converted(ConversionStats stats);
+}
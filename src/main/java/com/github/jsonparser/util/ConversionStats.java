@@ -0,0 +1,151 @@
+package com.github.jsonparser.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The statistics of a single conversion: the time of each {@link ConversionListener.Phase}, the number of csv
+ * records and headers/columns, the input and output size and an estimate of the bytes allocated. The statistics
+ * are filled in by the conversion while it runs and handed to the {@link ConversionListener} at the end. The
+ * allocation is measured on the converting thread, rows flattened on an executor are not part of it, and it is
+ * -1 where the JVM can not measure it. A size is -1 where it is not known.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class ConversionStats {
+
+    private static final ThreadMXBean THREADS = threads();
+
+    private final String operation;
+    private final long[] nanos = new long[ConversionListener.Phase.values().length];
+    private final long allocationStart;
+    private long allocated = -1;
+    private long rows;
+    private int columns;
+    private long inputSize = -1;
+    private long outputSize = -1;
+
+    /**
+     * @param operation - The name of the conversion e.g. parse2Csv
+     */
+    public ConversionStats(String operation) {
+        this.operation = operation;
+        this.allocationStart = threadAllocatedBytes();
+    }
+
+    /**
+     * @return Returns the name of the conversion e.g. parse2Csv
+     */
+    public String operation() {
+        return operation;
+    }
+
+    /**
+     * @param phase - The phase
+     * @return Returns the nanoseconds spent in the phase.
+     */
+    public long nanos(ConversionListener.Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Returns the number of csv records without the header/column row.
+     */
+    public long rows() {
+        return rows;
+    }
+
+    /**
+     * @return Returns the number of headers/columns.
+     */
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * @return Returns the json size in chars for a json string or in bytes for a json file, -1 for a reader or stream.
+     */
+    public long inputSize() {
+        return inputSize;
+    }
+
+    /**
+     * @return Returns the csv size in chars for a csv string or in bytes for a csv file, -1 for a writer or stream.
+     */
+    public long outputSize() {
+        return outputSize;
+    }
+
+    /**
+     * @return Returns the bytes allocated by the converting thread during the conversion, or -1.
+     */
+    public long allocatedBytes() {
+        return allocated;
+    }
+
+    /**
+     * This method adds the time since the start to the phase.
+     *
+     * @param phase - The phase
+     * @param start - The start of the phase from {@link System#nanoTime()}
+     */
+    public void time(ConversionListener.Phase phase, long start) {
+        nanos[phase.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     * @param rows    - The number of csv records without the header/column row
+     * @param columns - The number of headers/columns
+     */
+    public void records(long rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * @param inputSize - The json size
+     */
+    public void inputSize(long inputSize) {
+        this.inputSize = inputSize;
+    }
+
+    /**
+     * @param outputSize - The csv size
+     */
+    public void outputSize(long outputSize) {
+        this.outputSize = outputSize;
+    }
+
+    /**
+     * This method ends the allocation measurement, once the conversion is complete.
+     */
+    public void finish() {
+        long end = threadAllocatedBytes();
+        allocated = allocationStart < 0 || end < 0 ? -1 : end - allocationStart;
+    }
+
+    private static long threadAllocatedBytes() {
+        if (THREADS == null) return -1;
+        try {
+            return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static ThreadMXBean threads() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+                ((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        } catch (LinkageError | RuntimeException e) {
+            // the JVM has no allocation measurement
+        }
+        return null;
+    }
+}
@@ -13,5 +13,7 @@ public class ExceptionConstants {
     public static final String STR_IO_EXCEPTION = "The IO exception occurred while reading a file.";
     public static final String STR_FILE_EXCEPTION = "The specified file: %s is not found for processing.";
     public static final String STR_PARSING_EXCEPTION = "The exception occurred while parsing the file.";
+    public static final String STR_LINE_PARSING_EXCEPTION = "The exception occurred while parsing the json line: %s.";
+    public static final String STR_LIMIT_EXCEPTION = "The conversion exceeds the limit of %s %s.";
 
 }
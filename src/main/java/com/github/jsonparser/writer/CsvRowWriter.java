@@ -0,0 +1,320 @@
+package com.github.jsonparser.writer;
+
+import com.github.jsonparser.model.ColumnarSheet;
+import com.github.jsonparser.util.AppConstants;
+import com.google.gson.JsonPrimitive;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class writes csv records to a {@link Writer}, an {@link OutputStream} or a {@link WritableByteChannel}.
+ * The cells are encoded straight into a reusable char buffer, which is handed to the writer in large blocks, or
+ * encoded to UTF-8 in bulk into a pooled byte buffer for streams and channels. A cell is the plain value of the
+ * json primitive, it is quoted as in RFC 4180 if it contains the delimiter, a double quote or a line break, and
+ * double quotes are doubled. Empty and missing cells are written as nothing between the delimiters, and each
+ * record ends with "\n". The writer is not thread safe, it must be closed or flushed once all records are written.
+ * Closing it does not close the writer, stream or channel it writes to.
+ *
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public final class CsvRowWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The direct byte buffers of closed channel writers, kept for the next ones.
+    private static final BlockingQueue<ByteBuffer> POOL = new ArrayBlockingQueue<>(8);
+
+    private final Writer writer;
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final String delimiter;
+    private final char first;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private ByteBuffer bytes;
+    // The high surrogate at the end of the last drained chars, encoded with the next ones.
+    private char pending;
+
+    /**
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @param delimiter - The delimiter key, null for the default ","
+     */
+    public CsvRowWriter(Writer writer, String delimiter) {
+        this(writer, null, null, delimiter);
+    }
+
+    /**
+     * @param stream    - The output stream to write the csv in UTF-8 e.g. FileOutputStream, etc.
+     * @param delimiter - The delimiter key, null for the default ","
+     */
+    public CsvRowWriter(OutputStream stream, String delimiter) {
+        this(null, stream, null, delimiter);
+        bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+    }
+
+    /**
+     * @param channel   - The channel to write the csv in UTF-8 e.g. FileChannel, etc.
+     * @param delimiter - The delimiter key, null for the default ","
+     */
+    public CsvRowWriter(WritableByteChannel channel, String delimiter) {
+        this(null, null, channel, delimiter);
+        bytes = POOL.poll();
+        if (bytes == null) bytes = ByteBuffer.allocateDirect(BUFFER_SIZE * 3);
+    }
+
+    private CsvRowWriter(Writer writer, OutputStream stream, WritableByteChannel channel, String delimiter) {
+        this.writer = writer;
+        this.stream = stream;
+        this.channel = channel;
+        this.delimiter = delimiter == null ? AppConstants.DEFAULT_DELIMITER : delimiter;
+        this.first = this.delimiter.isEmpty() ? 0 : this.delimiter.charAt(0);
+    }
+
+    /**
+     * This method writes a single record in csv format.
+     *
+     * @param data - The csv record
+     * @throws IOException
+     */
+    public void writeRow(Object[] data) throws IOException {
+        for (int i = 0; i < data.length; i++) {
+            if (i > 0) append(delimiter);
+            if (data[i] != null) cell(data[i]);
+        }
+        append('\n');
+    }
+
+    /**
+     * This method writes a single record of a columnar sheet in csv format, the values are read from the typed
+     * columns without boxing.
+     *
+     * @param sheet - The columnar sheet
+     * @param row   - The row index
+     * @throws IOException
+     */
+    public void writeRow(ColumnarSheet sheet, int row) throws IOException {
+        for (int i = 0; i < sheet.columnCount(); i++) {
+            if (i > 0) append(delimiter);
+            ColumnarSheet.Column column = sheet.column(i);
+            if (column.isNull(row)) continue;
+            switch (column.type()) {
+                case LONG:
+                    append(column.getLong(row));
+                    break;
+                case DOUBLE:
+                    append(Double.toString(column.getDouble(row)));
+                    break;
+                case BOOLEAN:
+                    append(column.getBoolean(row) ? "true" : "false");
+                    break;
+                default:
+                    if (column.isText(row)) text(column.getString(row));
+                    else append(column.getString(row));
+            }
+        }
+        append('\n');
+    }
+
+    /**
+     * This method hands the buffered records to the writer, stream or channel and flushes it.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (writer != null) writer.flush();
+        else if (stream != null) stream.flush();
+    }
+
+    /**
+     * This method flushes the buffered records and gives the byte buffer back to the pool, the writer, stream or
+     * channel is not closed.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            flush();
+            return;
+        }
+        if (bytes == null) return;
+        try {
+            drain();
+            if (pending != 0) {
+                bytes.put((byte) '?');
+                pending = 0;
+                write();
+            }
+            if (stream != null) stream.flush();
+        } finally {
+            if (channel != null) {
+                bytes.clear();
+                POOL.offer(bytes);
+            }
+            bytes = null;
+        }
+    }
+
+    /**
+     * This method hands the buffered records to the writer, stream or channel.
+     *
+     * @throws IOException
+     */
+    void drain() throws IOException {
+        if (position == 0) return;
+        if (writer != null) writer.write(buffer, 0, position);
+        else encode();
+        position = 0;
+    }
+
+    /**
+     * This method encodes the buffered chars to UTF-8 and writes the bytes, an unpaired surrogate is written as '?'.
+     *
+     * @throws IOException
+     */
+    private void encode() throws IOException {
+        if (bytes == null) throw new IOException("The csv writer is closed.");
+        int i = 0;
+        if (pending != 0) {
+            char low = buffer[0];
+            if (Character.isLowSurrogate(low)) {
+                utf8(Character.toCodePoint(pending, low));
+                i = 1;
+            } else {
+                bytes.put((byte) '?');
+            }
+            pending = 0;
+        }
+        for (; i < position; i++) {
+            if (bytes.remaining() < 4) write();
+            char c = buffer[i];
+            if (c < 0x80) {
+                bytes.put((byte) c);
+            } else if (c < 0x800) {
+                bytes.put((byte) (0xC0 | c >> 6));
+                bytes.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c)) {
+                if (i + 1 == position) {
+                    pending = c;
+                } else if (Character.isLowSurrogate(buffer[i + 1])) {
+                    utf8(Character.toCodePoint(c, buffer[++i]));
+                } else {
+                    bytes.put((byte) '?');
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                bytes.put((byte) '?');
+            } else {
+                bytes.put((byte) (0xE0 | c >> 12));
+                bytes.put((byte) (0x80 | c >> 6 & 0x3F));
+                bytes.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        write();
+    }
+
+    private void utf8(int codePoint) {
+        bytes.put((byte) (0xF0 | codePoint >> 18));
+        bytes.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+        bytes.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        bytes.put((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    private void write() throws IOException {
+        bytes.flip();
+        if (stream != null) {
+            stream.write(bytes.array(), bytes.arrayOffset(), bytes.limit());
+        } else {
+            while (bytes.hasRemaining()) channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private void cell(Object value) throws IOException {
+        if (value instanceof JsonPrimitive) {
+            JsonPrimitive primitive = (JsonPrimitive) value;
+            if (primitive.isBoolean()) {
+                append(primitive.getAsBoolean() ? "true" : "false");
+                return;
+            }
+            if (primitive.isNumber()) {
+                Number number = primitive.getAsNumber();
+                if (number instanceof Long || number instanceof Integer) append(number.longValue());
+                else append(number.toString());
+                return;
+            }
+            value = primitive.getAsString();
+        }
+        text(value.toString());
+    }
+
+    private void text(String text) throws IOException {
+        if (needsQuotes(text)) {
+            append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') append('"');
+                append(c);
+            }
+            append('"');
+        } else {
+            append(text);
+        }
+    }
+
+    private boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\n' || c == '\r') return true;
+            if (c == first && !delimiter.isEmpty() && text.startsWith(delimiter, i)) return true;
+        }
+        return false;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) drain();
+        buffer[position++] = c;
+    }
+
+    private void append(String text) throws IOException {
+        int start = 0;
+        while (start < text.length()) {
+            if (position == buffer.length) drain();
+            int end = Math.min(text.length(), start + buffer.length - position);
+            text.getChars(start, end, buffer, position);
+            position += end - start;
+            start = end;
+        }
+    }
+
+    private void append(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        // at most 19 digits, written from the end
+        if (buffer.length - position < 19) drain();
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) digits++;
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+}
@@ -1,12 +1,18 @@
 package com.github.jsonparser.writer;
 
 import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.model.ColumnarSheet;
 import com.github.jsonparser.util.AppConstants;
 import com.github.jsonparser.util.ErrorUtil;
 import com.github.jsonparser.util.ExceptionConstants;
+import com.github.jsonparser.util.ValidationUtil;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -52,26 +58,21 @@ public class CsvWriter {
 
     /**
      * This method writes the 2D representation in csv format with custom
-     * delimiter set by user.
+     * delimiter set by user. The csv file is written in the platform default
+     * charset, {@link #write(Iterable, Path, String)} writes it in UTF-8.
      *
      * @param records     - The list of processed csv records
      * @param destination - It takes the destination path for the csv file.
      * @param delimiter   - It represents the delimiter set by user.
-     * @throws FileNotFoundException
-     * @throws UnsupportedEncodingException
+     * @throws JsonParsingException
      */
     public static void write2csv(List<Object[]> records, String destination, String delimiter) throws JsonParsingException {
-        log.info(String.format("Writing csv records to file : %s, with delimiter \"%s\"", destination, delimiter));
-        try {
-            PrintWriter writer = new PrintWriter(new File(destination), Charset.defaultCharset().name());
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destination),
+                Charset.defaultCharset()))) {
             write(records, writer, delimiter);
-            writer.close();
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, destination), e);
-        } catch (UnsupportedEncodingException e) {
-            ErrorUtil.jsonParsingException(ExceptionConstants.STR_PARSING_EXCEPTION, e);
         }
-        log.info(String.format("The csv records written in file : %s successfully.", destination));
     }
 
     /**
@@ -107,22 +108,133 @@ public class CsvWriter {
      * @throws JsonParsingException
      */
     public static void write(List<Object[]> records, Writer writer, String delimiter) throws JsonParsingException {
-        log.info(String.format("Writing records as csv representation with delimiter \"%s\"", delimiter));
+        write((Iterable<Object[]>) records, writer, delimiter);
+    }
+
+    /**
+     * This method writes the records as they are iterated, e.g. the spilled records of the streaming reader.
+     * The cells are quoted as in RFC 4180 where needed, see {@link CsvRowWriter}.
+     *
+     * @param records   - The processed csv records
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @param delimiter - It represents the delimiter set by user.
+     * @throws JsonParsingException
+     */
+    public static void write(Iterable<Object[]> records, Writer writer, String delimiter) throws JsonParsingException {
         try {
-            for (Object[] data : records) {
-                boolean comma = false;
-                for (Object text : data) {
-                    String str;
-                    if (text == null) str = comma ? delimiter : "";
-                    else str = comma ? delimiter + text.toString() : text.toString();
-                    writer.write(str);
-                    if (!comma) comma = true;
-                }
-                writer.write("\n");
-            }
+            CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+            write(records, csv);
+            csv.drain();
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        } catch (UncheckedIOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e.getCause());
+        }
+    }
+
+    /**
+     * This method writes the records in UTF-8 to the output stream, the stream is flushed but not closed.
+     *
+     * @param records   - The processed csv records
+     * @param out       - The output stream to write the csv e.g. FileOutputStream, etc.
+     * @param delimiter - It represents the delimiter set by user.
+     * @throws JsonParsingException
+     */
+    public static void write(Iterable<Object[]> records, OutputStream out, String delimiter) throws JsonParsingException {
+        ValidationUtil.rejectNull(out, "output stream");
+        try (CsvRowWriter csv = new CsvRowWriter(out, delimiter)) {
+            write(records, csv);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        } catch (UncheckedIOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e.getCause());
+        }
+    }
+
+    /**
+     * This method writes the records in UTF-8 to the channel, the channel is not closed.
+     *
+     * @param records   - The processed csv records
+     * @param channel   - The channel to write the csv e.g. FileChannel, etc.
+     * @param delimiter - It represents the delimiter set by user.
+     * @throws JsonParsingException
+     */
+    public static void write(Iterable<Object[]> records, WritableByteChannel channel, String delimiter) throws JsonParsingException {
+        ValidationUtil.rejectNull(channel, "channel");
+        try (CsvRowWriter csv = new CsvRowWriter(channel, delimiter)) {
+            write(records, csv);
         } catch (IOException e) {
             ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        } catch (UncheckedIOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e.getCause());
+        }
+    }
+
+    /**
+     * This method writes the records in UTF-8 to the csv file, the file is created or replaced.
+     *
+     * @param records     - The processed csv records
+     * @param destination - The output csv file path
+     * @param delimiter   - It represents the delimiter set by user.
+     * @throws JsonParsingException
+     */
+    public static void write(Iterable<Object[]> records, Path destination, String delimiter) throws JsonParsingException {
+        ValidationUtil.rejectNull(destination, "csv file path");
+        try (FileChannel channel = newChannel(destination)) {
+            write(records, channel, delimiter);
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(String.format(ExceptionConstants.STR_FILE_EXCEPTION, destination), e);
+        }
+    }
+
+    /**
+     * This method writes the columnar sheet in csv format, the header/column row first.
+     *
+     * @param sheet     - The columnar sheet
+     * @param delimiter - It represents the delimiter set by user.
+     * @return Returns string representation of csv.
+     * @throws JsonParsingException
+     */
+    public static String write2String(ColumnarSheet sheet, String delimiter) throws JsonParsingException {
+        StringWriter writer = new StringWriter();
+        write(sheet, writer, delimiter);
+        return writer.toString();
+    }
+
+    /**
+     * This method writes the columnar sheet in csv format, the header/column row first. The values are read
+     * from the typed columns without boxing.
+     *
+     * @param sheet     - The columnar sheet
+     * @param writer    - The writer object to write the csv e.g. StringWriter, FileWriter, etc.
+     * @param delimiter - It represents the delimiter set by user.
+     * @throws JsonParsingException
+     */
+    public static void write(ColumnarSheet sheet, Writer writer, String delimiter) throws JsonParsingException {
+        ValidationUtil.rejectNull(sheet, "sheet");
+        try {
+            CsvRowWriter csv = new CsvRowWriter(writer, delimiter);
+            csv.writeRow(sheet.headers().toArray());
+            for (int row = 0; row < sheet.rowCount(); row++) csv.writeRow(sheet, row);
+            csv.drain();
+        } catch (IOException e) {
+            ErrorUtil.jsonParsingException(ExceptionConstants.STR_IO_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @param destination - The output csv file path
+     * @return Returns the channel to write the csv file, the file is created or replaced.
+     * @throws IOException
+     */
+    public static FileChannel newChannel(Path destination) throws IOException {
+        return FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    private static void write(Iterable<Object[]> records, CsvRowWriter csv) throws IOException {
+        for (Object[] data : records) {
+            csv.writeRow(data);
         }
-        log.info("The records written as csv successfully.");
     }
 }
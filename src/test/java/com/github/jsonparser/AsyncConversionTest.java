@@ -0,0 +1,131 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.reader.CsvSchema;
+import com.github.jsonparser.writer.CsvRowWriter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncConversionTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void recordsBeforeTheLastChunk() throws Exception {
+        CsvSchema schema = CsvSchema.builder().column("/id").column("/name").build();
+        BlockingQueue<Object[]> rows = new LinkedBlockingQueue<>();
+        AsyncConversion conversion = JsonCsvConverter.getDefault().parseNdJson2CsvAsync(schema, executor, rows::add);
+        conversion.request(2);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i <= 6; i++) lines.append("{\"id\":").append(i).append(",\"name\":\"n").append(i).append("\"}\n");
+        conversion.offer(utf8(lines.append("{\"id\":7,").toString()));
+        // the first records are final once the following lines are parsed, before the input is complete
+        assertEquals("[id, name]", Arrays.toString(rows.poll(10, TimeUnit.SECONDS)));
+        assertEquals("[1, \"n1\"]", Arrays.toString(rows.poll(10, TimeUnit.SECONDS)));
+        // the next records wait for demand
+        assertNull(rows.poll(100, TimeUnit.MILLISECONDS));
+        conversion.offer(utf8("\"name\":\"n7\"}\n"));
+        conversion.complete();
+        assertFalse(conversion.completion().isDone());
+        conversion.request(Long.MAX_VALUE);
+        conversion.completion().get(10, TimeUnit.SECONDS);
+        assertEquals(6, rows.size());
+        for (int i = 2; i < 7; i++) rows.poll();
+        assertEquals("[7, \"n7\"]", Arrays.toString(rows.poll()));
+    }
+
+    @Test
+    void chunksSplitInCharacters() throws Exception {
+        String json = "[{\"name\":\"Zo\u00eb\",\"tags\":[\"\u65e5\u672c\",\"\u20ac\"]},{\"name\":\"Ann\",\"tags\":[]}]";
+        StringWriter expected = new StringWriter();
+        JsonParser.parse2Csv(new StringReader(json), expected);
+
+        StringWriter csv = new StringWriter();
+        CsvRowWriter writer = new CsvRowWriter(csv, null);
+        AsyncConversion conversion = JsonParser.parse2CsvAsync(executor, writer::writeRow);
+        conversion.request(Long.MAX_VALUE);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        CompletableFuture<Void> accepted = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < bytes.length; i += 3) {
+            accepted.get(10, TimeUnit.SECONDS);
+            accepted = conversion.offer(ByteBuffer.wrap(bytes, i, Math.min(3, bytes.length - i)));
+        }
+        accepted.get(10, TimeUnit.SECONDS);
+        conversion.complete();
+        conversion.completion().get(10, TimeUnit.SECONDS);
+        writer.flush();
+        assertEquals(expected.toString(), csv.toString());
+    }
+
+    @Test
+    void arrayRecordsBeforeTheLastChunk() throws Exception {
+        JsonCsvConverter converter = JsonCsvConverter.builder().sampleLines(2).build();
+        BlockingQueue<Object[]> rows = new LinkedBlockingQueue<>();
+        AsyncConversion conversion = converter.parse2CsvAsync(executor, rows::add);
+        conversion.request(2);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 6; i++) json.append("{\"id\":").append(i).append(",\"name\":\"n").append(i).append("\"},");
+        conversion.offer(utf8(json.append("{\"id\":7,").toString()));
+        // the headers/columns are discovered from the first elements and the records follow as they are parsed
+        assertEquals("[id, name]", Arrays.toString(rows.poll(10, TimeUnit.SECONDS)));
+        assertEquals("[1, \"n1\"]", Arrays.toString(rows.poll(10, TimeUnit.SECONDS)));
+        conversion.offer(utf8("\"name\":\"n7\",\"extra\":true}]"));
+        conversion.complete();
+        conversion.request(Long.MAX_VALUE);
+        conversion.completion().get(10, TimeUnit.SECONDS);
+        assertEquals(6, rows.size());
+        for (int i = 2; i < 7; i++) rows.poll();
+        // the values outside of the sampled headers/columns are not part of the csv
+        assertEquals("[7, \"n7\"]", Arrays.toString(rows.poll()));
+    }
+
+    @Test
+    void objectDocument() throws Exception {
+        String json = "{\"id\":1,\"data\":[{\"a\":1},{\"a\":2,\"b\":[3,4]}],\"meta\":{\"c\":\"x\"},\"name\":\"n\"}";
+        StringWriter csv = new StringWriter();
+        CsvRowWriter writer = new CsvRowWriter(csv, null);
+        AsyncConversion conversion = JsonParser.parse2CsvAsync(executor, writer::writeRow);
+        conversion.request(Long.MAX_VALUE);
+        conversion.offer(utf8(json));
+        conversion.complete();
+        conversion.completion().get(10, TimeUnit.SECONDS);
+        writer.flush();
+        assertEquals(JsonParser.parse2Csv(json), csv.toString());
+    }
+
+    @Test
+    void malformedJson() throws Exception {
+        AsyncConversion conversion = JsonParser.parseNdJson2CsvAsync(executor, row -> {
+        });
+        conversion.request(Long.MAX_VALUE);
+        conversion.offer(utf8("{\"id\":1}\n{\"id\":\n"));
+        conversion.complete();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> conversion.completion().get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof JsonParsingException);
+    }
+
+    private static ByteBuffer utf8(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class BatchConverterTest {
+
+    @Test
+    void convertAllWithResults() throws JsonParsingException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            BatchConverter batch = BatchConverter.builder().maxConcurrency(3).executor(pool).build();
+            List<String> jsons = new ArrayList<>();
+            for (int i = 0; i < 200; i++) jsons.add(i == 7 ? "{\"id\":" : "{\"id\":" + i + ",\"tags\":[\"a\",\"b\"]}");
+            List<BatchConverter.Result> results = batch.convertAll(jsons);
+
+            assertEquals(200, results.size());
+            assertFalse(results.get(7).isSuccess());
+            assertNotNull(results.get(7).error());
+            for (int i = 0; i < 200; i++) {
+                if (i != 7) assertEquals(JsonParser.parse2Csv(jsons.get(i)), results.get(i).csv());
+            }
+            assertEquals(0, batch.running());
+            assertEquals(0, batch.queued());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void concurrencyLimit() throws Exception {
+        Deque<Runnable> started = new ArrayDeque<>();
+        BatchConverter batch = BatchConverter.builder().maxConcurrency(3).executor(started::add).build();
+        List<CompletableFuture<String>> csv = new ArrayList<>();
+        for (int i = 0; i < 10; i++) csv.add(batch.submit("{\"id\":" + i + "}"));
+        assertEquals(3, started.size());
+        assertEquals(3, batch.running());
+        assertEquals(7, batch.queued());
+
+        // a finished document starts the next queued one
+        started.poll().run();
+        assertEquals("id\n0\n", csv.get(0).get());
+        assertEquals(3, started.size());
+        assertEquals(6, batch.queued());
+        while (!started.isEmpty()) started.poll().run();
+        for (int i = 0; i < 10; i++) assertEquals("id\n" + i + "\n", csv.get(i).get());
+        assertEquals(0, batch.running());
+    }
+
+    @Test
+    void submitWithDefaultExecutor() throws Exception {
+        BatchConverter batch = BatchConverter.builder().build();
+        assertEquals(JsonParser.parse2Csv("{\"id\":1}"), batch.submit("{\"id\":1}").get(10, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> batch.submit("[1,").get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof JsonParsingException);
+    }
+}
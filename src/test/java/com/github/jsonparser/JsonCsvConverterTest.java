@@ -0,0 +1,124 @@
+package com.github.jsonparser;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.Codec;
+import com.github.jsonparser.util.TestConstants;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 17/02/2020
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JsonCsvConverterTest {
+
+    String json;
+
+    @BeforeAll
+    public void setup() throws IOException {
+        File file = new File(new File(TestConstants.LOCATION).getAbsolutePath() + TestConstants.CHAR_FORWARD_SLASH
+                + TestConstants.JSON_SAMPLE);
+        json = FileUtils.readFileToString(file);
+    }
+
+    @Test
+    void parse2CsvWithSeparatorAndDelimiter() throws JsonParsingException {
+        JsonCsvConverter converter = JsonCsvConverter.builder().separator("/").delimiter("|").build();
+        assertEquals(JsonParser.parse2Csv(json, "/", "|"), converter.parse2Csv(json));
+    }
+
+    @Test
+    void parseNdJson2CsvWithSampleLines() throws JsonParsingException {
+        JsonCsvConverter converter = JsonCsvConverter.builder().sampleLines(1).build();
+        StringWriter writer = new StringWriter();
+        converter.parseNdJson2Csv(new StringReader("{\"id\":1}\n\n{\"id\":2,\"name\":\"b\"}\n"), writer);
+        assertEquals("id\n1\n2\n", writer.toString());
+    }
+
+    @Test
+    void parse2CsvCompressed() throws IOException, JsonParsingException {
+        JsonCsvConverter converter = JsonCsvConverter.getDefault();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.parse2Csv(new ByteArrayInputStream(gzip(json)), Codec.GZIP, out, Codec.GZIP);
+        assertEquals(converter.parse2Csv(json), gunzip(out.toByteArray()));
+
+        out.reset();
+        String lines = "{\"id\":1,\"tags\":[\"a\",\"b\"]}\n{\"id\":2}\n";
+        converter.parseNdJson2Csv(new ByteArrayInputStream(gzip(lines)), Codec.GZIP, out, Codec.NONE);
+        assertEquals("id,tags_0,tags_1\n1,a,b\n2,,\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        byte[] corrupt = gzip(json);
+        corrupt[corrupt.length / 2] ^= 0x55;
+        assertThrows(JsonParsingException.class, () -> converter.parse2Csv(new ByteArrayInputStream(corrupt),
+                Codec.GZIP, new ByteArrayOutputStream(), Codec.GZIP));
+    }
+
+    @Test
+    void parse2CsvConcurrently() throws Exception {
+        JsonCsvConverter converter = JsonCsvConverter.getDefault();
+        String expected = converter.parse2Csv(json);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) results.add(executor.submit(() -> converter.parse2Csv(json)));
+            for (Future<String> result : results) assertEquals(expected, result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parse2CsvPipelineConcurrently() throws Exception {
+        // the json pipe is cancelled once the document is read, a decoder which already handed over the end must not fail
+        JsonCsvConverter converter = JsonCsvConverter.getDefault();
+        byte[] small = "[{\"a\":1,\"b\":\"x\"},{\"a\":2}]".getBytes(StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                results.add(executor.submit(() -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    converter.parse2Csv(new ByteArrayInputStream(small), Codec.NONE, out, Codec.NONE);
+                    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+                }));
+            }
+            for (Future<String> result : results) assertEquals("a,b\n1,x\n2,\n", result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) >= 0) text.write(buffer, 0, count);
+        }
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -2,14 +2,23 @@ package com.github.jsonparser;
 
 import com.github.jsonparser.exception.JsonParsingException;
 import com.github.jsonparser.util.TestConstants;
+import com.google.gson.JsonElement;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * @author Ram Alapure
@@ -53,6 +62,94 @@ class JsonParserTest {
         System.out.println(JsonParser.parse2Csv(json, "/", ","));
     }
 
+    @Test
+    void parse2CsvWithReader() throws JsonParsingException {
+        StringWriter writer = new StringWriter();
+        JsonParser.parse2Csv(new StringReader(json), writer);
+        assertEquals(JsonParser.parse2Csv(json), writer.toString());
+    }
+
+    @Test
+    void parse2CsvObjectWithReader() throws JsonParsingException, IOException {
+        StringBuilder data = new StringBuilder("[");
+        // large enough to spill the deferred members of the object to a file
+        for (int i = 0; i < 20000; i++)
+            data.append(i == 0 ? "" : ",").append("{\"i\":").append(i).append(",\"s\":\"").append("text of row ")
+                    .append(i).append("\",\"tags\":[\"a\",\"b\"]}");
+        String[] documents = {
+                "{\"id\":1,\"data\":[{\"a\":1,\"b\":[{\"c\":2}]},{\"a\":3}],\"meta\":{\"n\":2.0,\"tags\":[\"x\",\"y\"]},"
+                        + "\"tail\":\"t\",\"nums\":[1,2.50]}",
+                "{\"arr\":[{\"x\":1}],\"obj\":{\"y\":2,\"in\":[{\"w\":3}]},\"z\":null,\"big\":123456789012345678901234}",
+                "{\"data\":" + data.append("]") + ",\"id\":7,\"meta\":{\"page\":1}}"
+        };
+        for (String document : documents) {
+            StringWriter writer = new StringWriter();
+            JsonParser.parse2Csv(new StringReader(document), writer);
+            assertEquals(JsonParser.parse2Csv(document), writer.toString());
+
+            Path file = Files.createTempFile("object", ".json");
+            try {
+                Files.write(file, document.getBytes(StandardCharsets.UTF_8));
+                StringWriter twoPass = new StringWriter();
+                JsonParser.parse2Csv(file, twoPass);
+                assertEquals(writer.toString(), twoPass.toString());
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void parse2CsvLaterColumnWithReader() throws JsonParsingException {
+        // integers beyond the long range are no headers/columns, their values are part of a later one
+        String[] documents = {
+                "[{\"a\":12345678901234567890},{\"a\":3}]",
+                "[{\"a\":[12345678901234567890]},{\"b\":1},{\"a\":[2]}]",
+                "[{\"x\":1,\"id\":12345678901234567890},{\"x\":1,\"id\":12345678901234567891}]",
+                "[12345678901234567890,1]"
+        };
+        for (String document : documents) {
+            String csv = JsonParser.parse2Csv(document);
+            StringWriter writer = new StringWriter();
+            JsonParser.parse2Csv(new StringReader(document), writer);
+            assertEquals(csv, writer.toString());
+
+            StringWriter bytes = new StringWriter();
+            JsonParser.parse2Csv(document.getBytes(StandardCharsets.UTF_8), bytes);
+            assertEquals(csv, bytes.toString());
+
+            StringWriter stream = new StringWriter();
+            JsonParser.parse2Csv(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), stream);
+            assertEquals(csv, stream.toString());
+        }
+    }
+
+    @Test
+    void parse2CsvParallel() throws JsonParsingException {
+        String records = json.trim().substring(1, json.trim().length() - 1);
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) array.append(i == 0 ? "" : ",").append(records);
+        String large = array.append("]").toString();
+        assertEquals(JsonParser.parse2Csv(json), JsonParser.parse2CsvParallel(json));
+        assertEquals(JsonParser.parse2Csv(large), JsonParser.parse2CsvParallel(large));
+    }
+
+    @Test
+    void parse2CsvWithPath() throws JsonParsingException {
+        StringWriter writer = new StringWriter();
+        JsonParser.parse2Csv(Paths.get(TestConstants.LOCATION, TestConstants.JSON_SAMPLE), writer);
+        assertEquals(JsonParser.parse2Csv(json), writer.toString());
+    }
+
+    @Test
+    void parseNdJson2Csv() throws JsonParsingException {
+        StringBuilder lines = new StringBuilder();
+        for (JsonElement record : com.google.gson.JsonParser.parseString(json).getAsJsonArray()) lines.append(record).append("\n");
+        StringWriter writer = new StringWriter();
+        JsonParser.parseNdJson2Csv(new StringReader(lines.toString()), writer);
+        assertEquals(JsonParser.parse2Csv(json), writer.toString());
+    }
+
     @Test
     void parseWithXsd() {
     }
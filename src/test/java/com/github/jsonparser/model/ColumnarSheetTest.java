@@ -0,0 +1,57 @@
+package com.github.jsonparser.model;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.TestConstants;
+import com.github.jsonparser.writer.CsvWriter;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class ColumnarSheetTest {
+
+    @Test
+    public void columnsTest() throws JsonParsingException {
+        ColumnarSheet sheet = JsonParser.parse2Columns("[{\"id\":1,\"price\":2.5,\"ok\":true,\"tag\":\"a\",\"mix\":1}," +
+                "{\"id\":2,\"price\":3.25,\"ok\":false,\"tag\":\"a\",\"mix\":\"x,y\"},{\"tag\":\"b\"}]");
+        assertEquals(Arrays.asList("id", "price", "ok", "tag", "mix"), sheet.headers());
+        assertEquals(3, sheet.rowCount());
+        assertEquals(ColumnarSheet.Type.LONG, sheet.column(0).type());
+        assertEquals(2, sheet.column(0).getLong(1));
+        assertTrue(sheet.column(0).isNull(2));
+        assertEquals(3.25, sheet.column(1).getDouble(1));
+        assertEquals(false, sheet.column(2).getBoolean(1));
+        assertEquals(Arrays.asList("a", "b"), sheet.column(3).dictionary());
+        assertEquals(0, sheet.column(3).getCode(1));
+        assertEquals(ColumnarSheet.Type.STRING, sheet.column(4).type());
+        assertEquals("id,price,ok,tag,mix\n1,2.5,true,a,1\n2,3.25,false,a,\"x,y\"\n,,,b,\n",
+                CsvWriter.write2String(sheet, ","));
+    }
+
+    @Test
+    public void columnsCsvTest() throws JsonParsingException, IOException {
+        File file = new File(new File(TestConstants.LOCATION).getAbsolutePath() + TestConstants.CHAR_FORWARD_SLASH
+                + TestConstants.JSON_SAMPLE);
+        String json = FileUtils.readFileToString(file);
+        assertEquals(JsonParser.parse2Csv(json), CsvWriter.write2String(JsonParser.parse2Columns(json), ","));
+    }
+
+    @Test
+    public void ndJsonColumnsTest() throws JsonParsingException {
+        ColumnarSheet sheet = JsonParser.parseNdJson2Columns(new StringReader("{\"id\":1}\n{\"id\":2}\n"));
+        assertEquals(2, sheet.rowCount());
+        assertEquals(2, sheet.column(0).getLong(1));
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.jsonparser.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class ColumnIndexTest {
+
+    private final ColumnIndex index = ColumnIndex.of(Arrays.asList("/name", "/address/city", "/phones/0", "/a/b"));
+
+    @Test
+    public void columnTest() {
+        assertEquals(0, index.column("/name"));
+        assertEquals(1, index.column("/address/city"));
+        assertEquals(-1, index.column("/address"));
+        assertEquals(-1, index.column("/unknown"));
+    }
+
+    @Test
+    public void nodeTest() {
+        ColumnIndex.Node root = index.root();
+        assertEquals(1, root.child("address").child("city").column());
+        assertEquals(2, root.child("phones").index(0).column());
+        assertEquals(-1, root.child("phones").index(1).column());
+        assertEquals(3, root.child("a/b").column());
+        assertEquals(-1, root.child("unknown").child("city").column());
+    }
+
+    @Test
+    public void pathCharactersTest() {
+        ColumnIndex columns = new ColumnIndex();
+        ColumnIndex.Node root = columns.root();
+        columns.register(root.add("a").add("$"));
+        columns.register(root.add("[").add("a"));
+        columns.register(root.add("a").add("[1]"));
+        columns.register(root.add(""));
+        columns.register(root.add("z"));
+        columns.register(root.add("a").add("x'").add("b"));
+        columns.register(root.add("a").add("b").addIndex(0));
+
+        // the keys are normalized the same way as the whole json path $['a']['$'] is
+        assertEquals(Arrays.asList("/a/", "//a", "//", "/z", "/a/x/b", "/a/b/0"), columns.headers());
+        assertEquals(0, root.child("a").child("[1]").column());
+        assertEquals(1, root.child("[$]").child("a").column());
+        assertEquals(2, root.child("").column());
+        assertEquals(4, root.child("a").child("x'").child("b").column());
+        assertEquals(5, root.child("a").child("b").index(0).column());
+        assertEquals(-1, root.child("a").child("x'").child("c").column());
+
+        ColumnIndex compiled = ColumnIndex.of(columns.headers());
+        assertEquals(1, compiled.root().child("[").child("a").column());
+        assertEquals(2, compiled.root().child("$").column());
+        assertEquals(4, compiled.root().child("a").child("x'").child("b").column());
+    }
+
+    @Test
+    public void segmentsTest() {
+        ColumnIndex.Segments closed = ColumnIndex.segments("a/b", false);
+        ColumnIndex.Segments open = ColumnIndex.segments("", true);
+
+        assertEquals(Arrays.asList("", "a", "b"), Arrays.asList(closed.segments));
+        assertFalse(closed.open);
+        assertEquals(Arrays.asList("", ""), Arrays.asList(open.segments));
+        assertTrue(open.open);
+        assertTrue(ColumnIndex.plain("address"));
+        assertFalse(ColumnIndex.plain("$"));
+        assertFalse(ColumnIndex.plain(""));
+    }
+
+}
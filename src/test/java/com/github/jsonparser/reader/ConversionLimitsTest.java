@@ -0,0 +1,134 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonCsvConverter;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.exception.LimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class ConversionLimitsTest {
+
+    private static final String JSON = "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"},"
+            + "{\"id\":4,\"name\":\"d\"}]";
+
+    @Test
+    public void estimateTest() throws JsonParsingException {
+        ConversionLimits.Estimate estimate = ConversionLimits.estimate(
+                "{\"a\":1,\"b\":[{\"c\":[{\"d\":1},{\"d\":2}]},{\"c\":[{\"d\":3}]},{\"e\":4}]}");
+
+        // the objects with an array of objects are replaced by the rows of that array
+        assertEquals(5, estimate.rows());
+        assertEquals(3, estimate.columns());
+        assertEquals(15, estimate.cells());
+        assertEquals(5, estimate.depth());
+    }
+
+    @Test
+    public void rowsTest() throws JsonParsingException {
+        String unlimited = JsonCsvConverter.getDefault().parse2Csv(JSON);
+        JsonCsvConverter truncate = converter(ConversionLimits.builder().maxRows(4)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+        JsonCsvConverter fail = converter(ConversionLimits.builder().maxRows(2).build());
+
+        assertEquals(unlimited, truncate.parse2Csv(JSON));
+        assertEquals("id,name\n1,a\n2,b\n", converter(ConversionLimits.builder().maxRows(2)
+                .action(ConversionLimits.Action.TRUNCATE).build()).parse2Csv(JSON));
+        LimitExceededException e = assertThrows(LimitExceededException.class, () -> fail.parse2Csv(JSON));
+        assertEquals("The conversion exceeds the limit of 2 rows.", e.getMessage());
+        assertEquals(ConversionLimits.ROWS, e.getLimit());
+        assertEquals(2, e.getValue());
+    }
+
+    @Test
+    public void columnsAndDepthTest() throws JsonParsingException {
+        JsonCsvConverter truncate = converter(ConversionLimits.builder().maxColumns(1)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+        JsonCsvConverter fail = converter(ConversionLimits.builder().maxColumns(1).build());
+        JsonCsvConverter deep = converter(ConversionLimits.builder().maxDepth(2)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+
+        assertEquals("id\n1\n2\n3\n4\n", truncate.parse2Csv(JSON));
+        assertEquals(ConversionLimits.COLUMNS,
+                assertThrows(LimitExceededException.class, () -> fail.parse2Csv(JSON)).getLimit());
+        assertEquals(JsonCsvConverter.getDefault().parse2Csv(JSON), deep.parse2Csv(JSON));
+        // the nesting depth is never truncated
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> deep.parse2Csv("{\"a\":{\"b\":{\"c\":1}}}"));
+        assertEquals(ConversionLimits.DEPTH, e.getLimit());
+        assertEquals(2, e.getValue());
+    }
+
+    @Test
+    public void outputSizeTest() throws JsonParsingException {
+        // each row is 4 chars, the header/column row is not counted
+        JsonCsvConverter truncate = converter(ConversionLimits.builder().maxOutputSize(9)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+        JsonCsvConverter fail = converter(ConversionLimits.builder().maxOutputSize(9).build());
+
+        assertEquals("id,name\n1,a\n2,b\n", truncate.parse2Csv(JSON));
+        assertEquals("id,name\n1,a\n2,b\n", truncate.parse2Csv(JSON,
+                JsonPathColumns.builder().column("id", "$.id").column("name", "$.name").build()));
+        assertEquals(ConversionLimits.OUTPUT_SIZE,
+                assertThrows(LimitExceededException.class, () -> fail.parse2Csv(JSON)).getLimit());
+    }
+
+    @Test
+    public void streamTest() throws JsonParsingException {
+        String lines = "{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n";
+        JsonCsvConverter truncate = converter(ConversionLimits.builder().maxRows(2)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+        JsonCsvConverter fail = converter(ConversionLimits.builder().maxRows(2).build());
+        StringWriter ndJson = new StringWriter();
+        StringWriter spilled = new StringWriter();
+        truncate.parseNdJson2Csv(new StringReader(lines), ndJson);
+        truncate.parse2Csv(new StringReader(JSON), spilled);
+
+        assertEquals("id\n1\n2\n", ndJson.toString());
+        assertEquals("id,name\n1,a\n2,b\n", spilled.toString());
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> fail.parseNdJson2Csv(new StringReader(lines), new StringWriter()));
+        assertEquals("The conversion exceeds the limit of 2 rows.", e.getMessage());
+        assertEquals(ConversionLimits.ROWS, assertThrows(LimitExceededException.class,
+                () -> fail.parse2Csv(new StringReader(JSON), new StringWriter())).getLimit());
+    }
+
+    @Test
+    public void streamObjectTest() throws JsonParsingException {
+        String object = "{\"data\":" + JSON + ",\"meta\":{\"a\":{\"b\":1}}}";
+        JsonCsvConverter truncate = converter(ConversionLimits.builder().maxRows(2).maxColumns(2)
+                .action(ConversionLimits.Action.TRUNCATE).build());
+        JsonCsvConverter deep = converter(ConversionLimits.builder().maxDepth(2).build());
+        StringWriter truncated = new StringWriter();
+        truncate.parse2Csv(new StringReader(object), truncated);
+
+        // the rows and headers/columns are checked as the streamed rows are produced
+        assertEquals(truncate.parse2Csv(object), truncated.toString());
+        // the nesting depth is checked as the json is read
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> deep.parse2Csv(new StringReader(object), new StringWriter()));
+        assertEquals(ConversionLimits.DEPTH, e.getLimit());
+        assertEquals(2, e.getValue());
+    }
+
+    @Test
+    public void builderTest() {
+        assertThrows(IllegalArgumentException.class, () -> ConversionLimits.builder().maxRows(0));
+        assertThrows(IllegalArgumentException.class, () -> ConversionLimits.builder().maxColumns(0));
+        assertThrows(IllegalArgumentException.class, () -> ConversionLimits.builder().maxDepth(-1));
+        assertThrows(IllegalArgumentException.class, () -> ConversionLimits.builder().maxOutputSize(0));
+        assertThrows(IllegalArgumentException.class, () -> ConversionLimits.builder().action(null));
+    }
+
+    private static JsonCsvConverter converter(ConversionLimits limits) {
+        return JsonCsvConverter.builder().limits(limits).build();
+    }
+}
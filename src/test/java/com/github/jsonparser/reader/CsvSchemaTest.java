@@ -0,0 +1,64 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.jayway.jsonpath.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class CsvSchemaTest {
+
+    private static final String JSON = "[{\"id\":\"7\",\"price\":2.5,\"active\":\"TRUE\",\"address\":{\"city\":\"Pune\"},\"extra\":1}," +
+            "{\"id\":\"x\",\"price\":3,\"active\":false,\"address\":{\"city\":\"Mumbai\"}}]";
+
+    @Test
+    public void strictTest() throws JsonParsingException {
+        CsvSchema schema = CsvSchema.builder()
+                .column("/address/city")
+                .column("id", CsvSchema.Type.NUMBER)
+                .column("/price", CsvSchema.Type.NUMBER, "%.2f")
+                .column("/active", CsvSchema.Type.BOOLEAN)
+                .build();
+        assertEquals("address_city,id,price,active\nPune,7,2.50,true\nMumbai,,3.00,false\n", JsonParser.parse2Csv(JSON, schema));
+    }
+
+    @Test
+    public void lenientTest() throws JsonParsingException {
+        CsvSchema schema = CsvSchema.builder().column("/address/city").strict(false).separator(".").build();
+        assertEquals("address.city,id,price,active,extra\nPune,7,2.5,TRUE,1\nMumbai,x,3,false,\n", JsonParser.parse2Csv(JSON, schema));
+    }
+
+    @Test
+    public void withoutXsdTest() {
+        CsvSchema schema = CsvSchema.builder().column("/id").build();
+        Configuration configuration = null;
+        // a null xsd still resolves to the xsd overload, the schema has an entry point of its own
+        assertEquals(JsonReader.json2Sheet(JSON).size(), JsonReader.json2Sheet(JSON, null, configuration, null).size());
+        assertEquals(3, JsonReader.json2SheetWithSchema(JSON, schema, null, null).size());
+    }
+
+    @Test
+    public void ndJsonTest() throws JsonParsingException {
+        CsvSchema schema = CsvSchema.builder().column("/id", CsvSchema.Type.NUMBER).column("/name").build();
+        StringWriter writer = new StringWriter();
+        JsonParser.parseNdJson2Csv(new StringReader("{\"id\":1,\"name\":\"a\",\"x\":true}\n{\"id\":\"2\"}\n"), schema, writer);
+        assertEquals("id,name\n1,a\n2,\n", writer.toString());
+    }
+
+    @Test
+    public void builderTest() {
+        assertThrows(IllegalArgumentException.class, () -> CsvSchema.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> CsvSchema.builder().column("/a").column("a"));
+        assertThrows(IllegalArgumentException.class, () -> CsvSchema.builder().column("/a", CsvSchema.Type.NUMBER, "%d"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class JsonPathColumnsTest {
+
+    private static final String JSON = "[{\"id\":1,\"address\":{\"city\":\"x\",\"geo\":{\"lat\":1.5}},"
+            + "\"orders\":[{\"id\":10,\"total\":3},{\"id\":11,\"total\":4}],\"tags\":[\"t1\",\"t2\",\"t3\"]},"
+            + "{\"id\":2,\"address\":{\"city\":\"y\"},\"orders\":[],\"tags\":null}]";
+
+    @Test
+    public void columnsTest() throws JsonParsingException {
+        JsonPathColumns columns = JsonPathColumns.builder()
+                .column("id", "$.id")
+                .column("city", "$['address']['city']")
+                .column("$.orders[*].total")
+                .column("firstTag", "$.tags[0]")
+                .column("tags", "$.tags[1:]")
+                .build();
+        assertEquals("id,city,$.orders[*].total,firstTag,tags\n"
+                + "1,x,3,t1,t2\n"
+                + "1,x,4,t1,t3\n"
+                + "2,y,,,\n", JsonParser.parse2Csv(JSON, columns));
+    }
+
+    @Test
+    public void deepScanTest() throws JsonParsingException {
+        JsonPathColumns columns = JsonPathColumns.builder()
+                .column("ids", "$..id")
+                .column("geo", "$.address.geo")
+                .column("lat", "$..lat")
+                .column("address", "$.address.*")
+                .build();
+        assertEquals("ids,geo,lat,address\n"
+                + "1,\"{\"\"lat\"\":1.5}\",1.5,x\n"
+                + "10,\"{\"\"lat\"\":1.5}\",1.5,\"{\"\"lat\"\":1.5}\"\n"
+                + "11,\"{\"\"lat\"\":1.5}\",1.5,\n"
+                + "2,,,y\n", JsonParser.parse2Csv(JSON, columns));
+    }
+
+    @Test
+    public void documentTest() throws JsonParsingException {
+        JsonPathColumns columns = JsonPathColumns.builder()
+                .column("name", "$.name")
+                .column("all", "$")
+                .build();
+        assertEquals("name,all\na,\"{\"\"name\"\":\"\"a\"\"}\"\n", JsonParser.parse2Csv("{\"name\":\"a\"}", columns));
+    }
+
+    @Test
+    public void streamedTest() throws JsonParsingException {
+        JsonPathColumns.Builder builder = JsonPathColumns.builder();
+        for (int i = 0; i < 300; i++) builder.column("c" + i, i % 2 == 0 ? "$.id" : "$..total");
+        JsonPathColumns columns = builder.build();
+        StringWriter writer = new StringWriter();
+        JsonParser.parse2Csv(new StringReader(JSON), columns, writer);
+        assertEquals(JsonParser.parse2Csv(JSON, columns), writer.toString());
+        assertEquals(4, writer.toString().split("\n").length);
+    }
+
+    @Test
+    public void errorTest() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPathColumns.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> JsonPathColumns.builder().column("a.b"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathColumns.builder().column("$.a[-1]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathColumns.builder().column("$.a[?(@.b)]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathColumns.builder().column("$.a[0"));
+        JsonPathColumns columns = JsonPathColumns.builder().column("$.id").build();
+        assertThrows(JsonParsingException.class, () -> JsonParser.parse2Csv("[{\"id\":1", columns));
+    }
+}
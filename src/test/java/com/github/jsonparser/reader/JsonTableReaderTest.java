@@ -0,0 +1,81 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class JsonTableReaderTest {
+
+    private static final String JSON = "[{\"id\":1,\"customer\":{\"name\":\"a\",\"phones\":[\"p1\",\"p2\"]},"
+            + "\"orders\":[{\"total\":3,\"items\":[{\"sku\":\"x\"},{\"sku\":\"y\"}]},{\"total\":4,\"items\":[]}],"
+            + "\"payments\":[{\"amount\":7}]},"
+            + "{\"id\":2,\"customer\":{\"name\":\"b\"},\"orders\":[{\"total\":5,\"note\":null,\"items\":[{\"sku\":\"z\"}]}],"
+            + "\"matrix\":[[1,2],[3]]}]";
+
+    @Test
+    public void tablesTest() throws JsonParsingException {
+        Map<String, String> tables = JsonParser.parse2Tables(JSON);
+
+        assertEquals(Arrays.asList("/", "/customer/phones", "/orders", "/orders/items", "/payments", "/matrix", "/matrix/*"),
+                new ArrayList<>(tables.keySet()));
+        assertEquals("__id,id,customer_name\n1,1,a\n2,2,b\n", tables.get("/"));
+        assertEquals("__id,__parent_id,__index,value\n1,1,0,p1\n2,1,1,p2\n", tables.get("/customer/phones"));
+        assertEquals("__id,__parent_id,__index,total,note\n1,1,0,3,\n2,1,1,4,\n3,2,0,5,\n", tables.get("/orders"));
+        assertEquals("__id,__parent_id,__index,sku\n1,1,0,x\n2,1,1,y\n3,3,0,z\n", tables.get("/orders/items"));
+        assertEquals("__id,__parent_id,__index,amount\n1,1,0,7\n", tables.get("/payments"));
+        assertEquals("__id,__parent_id,__index\n1,2,0\n2,2,1\n", tables.get("/matrix"));
+        assertEquals("__id,__parent_id,__index,value\n1,1,0,1\n2,1,1,2\n3,2,0,3\n", tables.get("/matrix/*"));
+    }
+
+    @Test
+    public void sinkTest() throws JsonParsingException {
+        List<String> opened = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        JsonTableReader.json2Tables(new StringReader("{\"a\":{\"b\":1},\"c\":[true]}"), ".", table -> {
+            opened.add(table);
+            return rows::add;
+        });
+        assertEquals(Arrays.asList("/", "/c"), opened);
+        assertEquals("a.b", rows.get(0)[1]);
+        assertEquals(4, rows.size());
+        assertThrows(JsonParsingException.class, () -> JsonParser.parse2Tables("[{\"a\":[1,"));
+    }
+
+    @Test
+    public void filesTest() throws IOException, JsonParsingException {
+        Path directory = Files.createTempDirectory("tables");
+        Path json = directory.resolve("input.json");
+        try {
+            Files.write(json, JSON.getBytes(StandardCharsets.UTF_8));
+            JsonParser.parse2Tables(json, directory);
+            Map<String, String> tables = JsonParser.parse2Tables(JSON);
+            assertEquals(tables.get("/"), new String(Files.readAllBytes(directory.resolve("root.csv")), StandardCharsets.UTF_8));
+            assertEquals(tables.get("/orders/items"),
+                    new String(Files.readAllBytes(directory.resolve("orders_items.csv")), StandardCharsets.UTF_8));
+            assertEquals(tables.get("/matrix/*"),
+                    new String(Files.readAllBytes(directory.resolve("matrix__.csv")), StandardCharsets.UTF_8));
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+}
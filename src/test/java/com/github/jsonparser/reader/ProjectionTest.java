@@ -0,0 +1,91 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class ProjectionTest {
+
+    private static final String JSON = "[{\"id\":1,\"name\":\"a\",\"address\":{\"city\":\"x\",\"zip\":\"1\",\"secret\":\"s\"},"
+            + "\"orders\":[{\"total\":3,\"item\":\"p\"},{\"total\":4,\"item\":\"q\"}],\"tags\":[\"t1\",\"t2\"]},"
+            + "{\"id\":2,\"name\":\"b\",\"address\":{\"city\":\"y\",\"zip\":\"2\",\"secret\":\"r\"},"
+            + "\"orders\":[{\"total\":5,\"item\":\"s\"}],\"tags\":[\"t3\"]}]";
+
+    @Test
+    public void matchesTest() {
+        assertTrue(Projection.builder().include("$.address.city").build().matches("/address/city"));
+        assertFalse(Projection.builder().include("$.address.city").build().matches("/address/zip"));
+        assertTrue(Projection.builder().include("$['address']['city']").build().matches("/address/city"));
+        assertTrue(Projection.builder().include("$.address").build().matches("/address/zip"));
+        assertTrue(Projection.builder().include("$.address.*").build().matches("/address/zip"));
+        assertTrue(Projection.builder().include("$..secret").build().matches("/address/secret"));
+        assertTrue(Projection.builder().include("/address/*").build().matches("/address/zip"));
+        assertTrue(Projection.builder().include("/**/city").build().matches("/address/city"));
+        assertTrue(Projection.builder().include("address_city").build().matches("/address/city"));
+        assertTrue(Projection.builder().include("address.city").separator(".").build().matches("/address/city"));
+        assertFalse(Projection.builder().include("address_city").build().matches("/address/zip"));
+
+        Projection exclude = Projection.builder().exclude("$..secret").build();
+        assertTrue(exclude.matches("/address/city"));
+        assertFalse(exclude.matches("/address/secret"));
+        Projection both = Projection.builder().include("$.address").exclude("/address/secret").build();
+        assertTrue(both.matches("/address/zip"));
+        assertFalse(both.matches("/address/secret"));
+        assertFalse(both.matches("/id"));
+    }
+
+    @Test
+    public void projectedCsvTest() throws JsonParsingException {
+        Projection projection = Projection.builder()
+                .include("$.id")
+                .include("/address/city")
+                .include("$.orders[*].total")
+                .build();
+        String pruned = "[{\"id\":1,\"address\":{\"city\":\"x\"},\"orders\":[{\"total\":3},{\"total\":4}]},"
+                + "{\"id\":2,\"address\":{\"city\":\"y\"},\"orders\":[{\"total\":5}]}]";
+        assertEquals(JsonParser.parse2Csv(pruned), JsonParser.parse2Csv(JSON, projection));
+
+        Projection exclude = Projection.builder().exclude("$..secret").exclude("$.tags").exclude("orders_item").build();
+        String rest = "[{\"id\":1,\"name\":\"a\",\"address\":{\"city\":\"x\",\"zip\":\"1\"},\"orders\":[{\"total\":3},{\"total\":4}]},"
+                + "{\"id\":2,\"name\":\"b\",\"address\":{\"city\":\"y\",\"zip\":\"2\"},\"orders\":[{\"total\":5}]}]";
+        assertEquals(JsonParser.parse2Csv(rest), JsonParser.parse2Csv(JSON, exclude));
+    }
+
+    @Test
+    public void streamedTest() throws JsonParsingException {
+        for (Projection projection : new Projection[]{
+                Projection.builder().include("$.id").include("$.tags").build(),
+                Projection.builder().include("$..total").include("name").build(),
+                Projection.builder().exclude("/orders/**").build()}) {
+            StringWriter writer = new StringWriter();
+            JsonParser.parse2Csv(new StringReader(JSON), projection, writer);
+            assertEquals(JsonParser.parse2Csv(JSON, projection), writer.toString());
+        }
+    }
+
+    @Test
+    public void withoutXsdTest() {
+        Projection projection = Projection.builder().include("$.id").build();
+        // a null xsd with null providers and executor still resolves to the xsd overload
+        assertEquals(JsonReader.json2Sheet(JSON).size(), JsonReader.json2Sheet(JSON, null, null, null).size());
+        assertEquals("/id", JsonReader.json2SheetWithProjection(JSON, projection, null, null).get(0)[0].toString());
+    }
+
+    @Test
+    public void builderTest() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> Projection.builder().include(""));
+        assertThrows(IllegalArgumentException.class, () -> Projection.builder().include("/address//city"));
+        assertThrows(JsonParsingException.class, () -> JsonParser.parse2Csv(JSON, (Projection) null));
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.jsonparser.reader;
+
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class SchemaCacheTest {
+
+    @Test
+    public void fingerprintTest() {
+        assertEquals(fingerprint("{\"a\":1,\"b\":[\"x\",{\"c\":true}]}"), fingerprint("{\"a\":\"v\",\"b\":[null,{\"c\":2.5}]}"));
+        assertEquals(fingerprint("[{\"a\":1},{\"a\":2},{\"b\":1}]"), fingerprint("[{\"a\":1},{\"b\":2},{\"a\":3}]"));
+        assertNotEquals(fingerprint("{\"a\":1,\"b\":2}"), fingerprint("{\"b\":1,\"a\":2}"));
+        assertNotEquals(fingerprint("{\"a\":[1,2]}"), fingerprint("{\"a\":[1]}"));
+        assertNotEquals(fingerprint("{\"a\":1}"), fingerprint("{\"a\":12345678901234567890}"));
+    }
+
+    @Test
+    public void cacheTest() {
+        SchemaCache cache = new SchemaCache(1);
+        List<Object[]> first = JsonReader.json2Sheet("[{\"id\":1,\"tags\":[\"a\"]}]", null, null, null, cache);
+        List<Object[]> second = JsonReader.json2Sheet("[{\"id\":2,\"tags\":[\"b\"]}]", null, null, null, cache);
+        assertArrayEquals(first.get(0), second.get(0));
+        assertEquals("2", second.get(1)[0].toString());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+
+        JsonReader.json2Sheet("{\"name\":\"x\"}", null, null, null, cache);
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.evictions());
+        assertEquals(1, cache.size());
+    }
+
+    private static String fingerprint(String json) {
+        StringBuilder fingerprint = new StringBuilder();
+        SchemaCache.fingerprint(JsonParser.parseString(json), fingerprint);
+        return fingerprint.toString();
+    }
+}
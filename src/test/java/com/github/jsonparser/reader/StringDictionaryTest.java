@@ -0,0 +1,44 @@
+package com.github.jsonparser.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class StringDictionaryTest {
+
+    private static final String JSON = "[{\"id\":\"a1\",\"type\":\"home\"},{\"id\":\"a2\",\"type\":\"home\"},{\"id\":\"a3\",\"type\":\"work\"}]";
+
+    @Test
+    public void internTest() {
+        List<Object[]> records = new StringDictionary(2).intern(JsonReader.json2Sheet(JSON));
+        assertSame(records.get(1)[1], records.get(2)[1]);
+        assertEquals("work", records.get(3)[1].toString().replace("\"", ""));
+        assertNotSame(records.get(1)[0], records.get(2)[0]);
+    }
+
+    @Test
+    public void spilledTest() throws Exception {
+        List<Object[]> expected = JsonReader.json2Sheet(JSON);
+        List<Object[]> rows = new ArrayList<>();
+        try (SpilledRecords records = JsonStreamReader.json2Sheet(new StringReader(JSON), "/")) {
+            for (Object[] row : records) rows.add(row);
+        }
+        assertEquals(expected.size(), rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertEquals(expected.get(i)[0], rows.get(i)[0]);
+            assertEquals(expected.get(i)[1], rows.get(i)[1]);
+        }
+        assertSame(rows.get(1)[1], rows.get(2)[1]);
+    }
+}
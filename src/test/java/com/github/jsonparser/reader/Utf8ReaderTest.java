@@ -0,0 +1,90 @@
+package com.github.jsonparser.reader;
+
+import com.github.jsonparser.JsonParser;
+import com.github.jsonparser.exception.JsonParsingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class Utf8ReaderTest {
+
+    private static final String TEXT = "{\"name\":\"Z\u00FCrich \u20AC \uD83D\uDE00\",\"id\":1}";
+
+    @Test
+    public void decodeTest() throws IOException {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            int codePoint = random.nextInt(4) == 0 ? random.nextInt(0x80) : random.nextInt(0x10ffff);
+            if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) continue;
+            text.appendCodePoint(codePoint);
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        for (int size : new int[]{1, 2, 3, 7, 1024}) {
+            assertEquals(text.toString(), read(Utf8Reader.of(ByteBuffer.wrap(bytes)), size));
+        }
+    }
+
+    @Test
+    public void malformedTest() throws IOException {
+        byte[] bytes = {'a', (byte) 0xc3, 'b', (byte) 0xff, (byte) 0xe2, (byte) 0x82};
+        assertEquals("a\uFFFDb\uFFFD\uFFFD", read(Utf8Reader.of(ByteBuffer.wrap(bytes)), 16));
+    }
+
+    @Test
+    public void mappedWindowsTest() throws IOException {
+        Path file = Files.createTempFile("utf8", ".json");
+        try {
+            Files.write(file, TEXT.getBytes(StandardCharsets.UTF_8));
+            // the multi-byte sequences are split between the windows
+            for (long window = 1; window < 8; window++) {
+                try (Reader reader = Utf8Reader.map(file, window)) {
+                    assertEquals(TEXT, read(reader, 3));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void bytesTest() throws JsonParsingException {
+        String json = "[{\"id\":1,\"tags\":[\"\u00E4\",\"b\"]},{\"id\":2,\"tags\":[\"c\"]}]";
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        buffer.put(json.getBytes(StandardCharsets.UTF_8)).flip();
+        StringWriter bytes = new StringWriter();
+        StringWriter direct = new StringWriter();
+        StringWriter stream = new StringWriter();
+        JsonParser.parse2Csv(json.getBytes(StandardCharsets.UTF_8), bytes);
+        JsonParser.parse2Csv(buffer, direct);
+        JsonParser.parse2Csv(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), stream);
+
+        assertEquals(JsonParser.parse2Csv(json), bytes.toString());
+        assertEquals(JsonParser.parse2Csv(json), direct.toString());
+        assertEquals(JsonParser.parse2Csv(json), stream.toString());
+        assertEquals(0, buffer.position());
+    }
+
+    private static String read(Reader reader, int size) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] chars = new char[size];
+        int count;
+        while ((count = reader.read(chars, 0, size)) >= 0) text.append(chars, 0, count);
+        return text.toString();
+    }
+}
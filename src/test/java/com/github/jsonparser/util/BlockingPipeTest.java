@@ -0,0 +1,80 @@
+package com.github.jsonparser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+public class BlockingPipeTest {
+
+    @Test
+    public void pipeTest() throws Exception {
+        BlockingPipe pipe = new BlockingPipe(7, 2);
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 31);
+        Thread producer = new Thread(() -> {
+            try (OutputStream out = pipe.output()) {
+                out.write(data, 0, 5000);
+                for (int i = 5000; i < data.length; i++) out.write(data[i]);
+            } catch (IOException e) {
+                pipe.fail(e);
+            }
+        });
+        producer.start();
+        assertArrayEquals(data, readAll(pipe.input()));
+        producer.join();
+    }
+
+    @Test
+    public void failureTest() throws Exception {
+        BlockingPipe failed = new BlockingPipe(4, 1);
+        failed.fail(new IOException("corrupt"));
+        assertThrows(IOException.class, () -> readAll(failed.input()));
+
+        BlockingPipe cancelled = new BlockingPipe(4, 1);
+        cancelled.input().close();
+        assertThrows(IOException.class, () -> cancelled.output().write(new byte[16]));
+        assertEquals(0, cancelled.input().available());
+    }
+
+    @Test
+    public void cancelAfterEndTest() throws Exception {
+        // the consumer cancels the pipe as soon as it has read the end, the producer must not fail
+        for (int i = 0; i < 2000; i++) {
+            BlockingPipe pipe = new BlockingPipe(4, 1);
+            IOException[] failure = new IOException[1];
+            Thread producer = new Thread(() -> {
+                try (OutputStream out = pipe.output()) {
+                    out.write(new byte[]{1, 2, 3, 4, 5});
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            producer.start();
+            assertEquals(5, readAll(pipe.input()).length);
+            pipe.cancel();
+            producer.join();
+            assertNull(failure[0]);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[3];
+        int count;
+        while ((count = in.read(buffer)) >= 0) bytes.write(buffer, 0, count);
+        return bytes.toByteArray();
+    }
+}
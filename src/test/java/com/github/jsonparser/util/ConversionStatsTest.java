@@ -0,0 +1,69 @@
+package com.github.jsonparser.util;
+
+import com.github.jsonparser.JsonCsvConverter;
+import com.github.jsonparser.exception.JsonParsingException;
+import com.github.jsonparser.util.ConversionListener.Phase;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class ConversionStatsTest {
+
+    private static final String JSON = "[{\"id\":1,\"tags\":[\"a\",\"b\"]},{\"id\":2,\"tags\":[\"c\"]}]";
+
+    @Test
+    void jsonStringStats() throws JsonParsingException {
+        List<ConversionStats> stats = new ArrayList<>();
+        JsonCsvConverter converter = JsonCsvConverter.builder().listener(stats::add).build();
+        String csv = converter.parse2Csv(JSON);
+
+        assertEquals(JsonCsvConverter.getDefault().parse2Csv(JSON), csv);
+        assertEquals(1, stats.size());
+        ConversionStats conversion = stats.get(0);
+        assertEquals("parse2Csv", conversion.operation());
+        assertEquals(2, conversion.rows());
+        assertEquals(3, conversion.columns());
+        assertEquals(JSON.length(), conversion.inputSize());
+        assertEquals(csv.length(), conversion.outputSize());
+        for (Phase phase : Phase.values()) assertTrue(conversion.nanos(phase) > 0, phase.name());
+        assertTrue(conversion.allocatedBytes() != 0);
+    }
+
+    @Test
+    void streamedStats() throws JsonParsingException {
+        List<ConversionStats> stats = new ArrayList<>();
+        JsonCsvConverter converter = JsonCsvConverter.builder().listener(stats::add).build();
+        converter.parseNdJson2Csv(new StringReader("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n"), new StringWriter());
+        converter.parse2Csv(new StringReader(JSON), new StringWriter());
+
+        assertEquals(2, stats.size());
+        assertEquals("parseNdJson2Csv", stats.get(0).operation());
+        assertEquals(3, stats.get(0).rows());
+        assertEquals(1, stats.get(0).columns());
+        assertEquals(-1, stats.get(0).inputSize());
+        assertEquals(-1, stats.get(0).outputSize());
+        assertTrue(stats.get(0).nanos(Phase.FLATTEN) > 0);
+        assertEquals(0, stats.get(0).nanos(Phase.WRITE));
+        assertEquals(2, stats.get(1).rows());
+        assertEquals(3, stats.get(1).columns());
+        assertTrue(stats.get(1).nanos(Phase.WRITE) > 0);
+    }
+
+    @Test
+    void noStatsOnFailure() {
+        List<ConversionStats> stats = new ArrayList<>();
+        JsonCsvConverter converter = JsonCsvConverter.builder().listener(stats::add).build();
+        assertThrows(JsonParsingException.class, () -> converter.parse2Csv((String) null, new StringWriter()));
+        assertTrue(stats.isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.jsonparser.writer;
+
+import com.github.jsonparser.exception.JsonParsingException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Ram Alapure
+ * @version 1.0
+ * @since 04/03/2020
+ */
+class CsvWriterTest {
+
+    @Test
+    void write2String() throws JsonParsingException {
+        List<Object[]> records = new ArrayList<>();
+        records.add(new Object[]{"name", "address_city", "age", "active", "note"});
+        records.add(new Object[]{new JsonPrimitive("Rack"), new JsonPrimitive("San Jone, CA"), new JsonPrimitive(24L),
+                new JsonPrimitive(true), new JsonPrimitive("say \"hi\"\nbye")});
+        records.add(new Object[]{null, new JsonPrimitive(""), new JsonPrimitive(new LazilyParsedNumber("25000.00")),
+                new JsonPrimitive(-7), null});
+        assertEquals("name,address_city,age,active,note\n"
+                + "Rack,\"San Jone, CA\",24,true,\"say \"\"hi\"\"\nbye\"\n"
+                + ",,25000.00,-7,\n", CsvWriter.write2String(records));
+    }
+
+    @Test
+    void writeUtf8() throws JsonParsingException, IOException {
+        List<Object[]> records = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            records.add(new Object[]{new JsonPrimitive(i), new JsonPrimitive("caf\u00e9 \u65e5\u672c"), new JsonPrimitive("\ud83d\ude00" + i)});
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvWriter.write(records, out, ",");
+        assertArrayEquals(CsvWriter.write2String(records).getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        out.reset();
+        CsvWriter.write(records, Channels.newChannel(out), ",");
+        assertArrayEquals(CsvWriter.write2String(records).getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        Path file = Files.createTempFile("utf8", ".csv");
+        try {
+            CsvWriter.write2csv(records, file.toString(), ",");
+            assertArrayEquals(CsvWriter.write2String(records).getBytes(Charset.defaultCharset()), Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void write2StringWithDelimiter() throws JsonParsingException {
+        List<Object[]> records = new ArrayList<>();
+        records.add(new Object[]{new JsonPrimitive("a,b"), new JsonPrimitive("c||d"), new JsonPrimitive("e|f")});
+        assertEquals("a,b||\"c||d\"||e|f\n", CsvWriter.write2String(records, "||"));
+    }
+
+}